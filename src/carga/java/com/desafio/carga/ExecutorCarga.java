@@ -0,0 +1,357 @@
+package com.desafio.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga HTTP em malha aberta: as requisições são disparadas na taxa alvo, independente
+ * de quanto a API demora para responder, e a latência é medida a partir do instante em que cada
+ * requisição deveria ter saído (sem omissão coordenada: atrasos do servidor aparecem nos percentis).
+ * A mistura de operações é sorteada com semente fixa, então duas execuções enviam a mesma sequência.
+ *
+ * <pre>
+ * mvn -Pcarga -DskipTests verify -Dcarga.args="--url http://localhost:8080 --taxa 200 --duracao 120"
+ * </pre>
+ *
+ * Opções (todas opcionais):
+ * --url, --taxa (req/s), --duracao e --aquecimento (segundos), --max-pendentes,
+ * --mistura "veiculos-listar=25,veiculo-buscar=25,pneus-listar=10,pneu-buscar=15,pneu-criar=10,montar=10,login=5",
+ * --semente e --saida (arquivo JSON com o resultado).
+ */
+public class ExecutorCarga {
+
+    private static final String MISTURA_PADRAO =
+            "veiculos-listar=25,veiculo-buscar=25,pneus-listar=10,pneu-buscar=15,pneu-criar=10,montar=10,login=5";
+    private static final String SENHA = "carga123";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            // HTTP/1.1 explícito: o upgrade h2c do cliente trava POSTs com corpo no Tomcat
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+
+    private final String url;
+    private final Map<String, String> opcoes;
+    private final Random random;
+    private final List<Long> idsVeiculos = new ArrayList<>();
+    private final List<Long> idsPneus = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> pneusDisponiveis = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+    private String email;
+    private String token;
+
+    private ExecutorCarga(Map<String, String> opcoes) {
+        this.opcoes = opcoes;
+        this.url = opcoes.getOrDefault("url", "http://localhost:8080");
+        this.random = new Random(Long.parseLong(opcoes.getOrDefault("semente", "42")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opcoes.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new ExecutorCarga(opcoes).executar();
+        System.exit(0);
+    }
+
+    private void executar() throws Exception {
+        int taxa = Integer.parseInt(opcoes.getOrDefault("taxa", "100"));
+        int duracao = Integer.parseInt(opcoes.getOrDefault("duracao", "60"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "10"));
+        Semaphore pendentes = new Semaphore(Integer.parseInt(opcoes.getOrDefault("max-pendentes", "2000")));
+        List<Operacao> mistura = lerMistura(opcoes.getOrDefault("mistura", MISTURA_PADRAO));
+
+        preparar();
+        System.out.printf("Carga: %d req/s por %d s (+%d s de aquecimento) em %s, %d veículos e %d pneus conhecidos%n",
+                taxa, duracao, aquecimento, url, idsVeiculos.size(), idsPneus.size());
+
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        mistura.forEach(operacao -> estatisticas.put(operacao.nome, new Estatisticas()));
+        AtomicLong descartadas = new AtomicLong();
+
+        long total = (long) taxa * (duracao + aquecimento);
+        long intervalo = 1_000_000_000L / taxa;
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento * 1_000_000_000L;
+        for (long i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacao operacao = sortear(mistura);
+            if (!pendentes.tryAcquire()) {
+                // Cliente saturado: a requisição não sai, mas conta como falha
+                if (previsto >= inicioMedicao) {
+                    descartadas.incrementAndGet();
+                }
+                continue;
+            }
+            boolean medir = previsto >= inicioMedicao;
+            http.sendAsync(operacao.requisicao(this), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((resposta, erro) -> {
+                        long latencia = System.nanoTime() - previsto;
+                        pendentes.release();
+                        boolean sucesso = erro == null && resposta.statusCode() < 400;
+                        if (sucesso) {
+                            operacao.aoResponder(this, resposta.body());
+                        }
+                        if (medir) {
+                            estatisticas.get(operacao.nome).registrar(latencia, sucesso);
+                        }
+                    });
+        }
+        // Aguarda as respostas pendentes (no máximo 30 s)
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int maximoPendentes = Integer.parseInt(opcoes.getOrDefault("max-pendentes", "2000"));
+        while (pendentes.availablePermits() < maximoPendentes && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+        double segundosMedidos = (System.nanoTime() - inicioMedicao) / 1e9;
+
+        relatar(estatisticas, descartadas.get(), segundosMedidos);
+    }
+
+    /**
+     * Cria o usuário da carga e coleta ids de veículos e pneus já cadastrados (frota gerada).
+     */
+    private void preparar() throws IOException, InterruptedException {
+        email = "carga-" + execucao.toLowerCase() + "@desafio.com";
+        enviar(HttpRequest.newBuilder(URI.create(url + "/api/auth/registrar"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"nome\":\"Carga\",\"email\":\"" + email + "\",\"senha\":\"" + SENHA + "\"}"))
+                .build());
+        token = objectMapper.readTree(enviar(requisicaoLogin())).path("token").asText();
+
+        coletarIds("/api/veiculos?limit=500", idsVeiculos);
+        coletarIds("/api/pneus?limit=500", idsPneus);
+        List<Long> disponiveis = new ArrayList<>();
+        coletarIds("/api/pneus?limit=500&status=DISPONIVEL", disponiveis);
+        pneusDisponiveis.addAll(disponiveis);
+        if (idsVeiculos.isEmpty() || idsPneus.isEmpty()) {
+            throw new IllegalStateException("Sem veículos ou pneus na API: gere a frota com o perfil carga antes");
+        }
+    }
+
+    private void coletarIds(String caminho, List<Long> ids) throws IOException, InterruptedException {
+        for (JsonNode item : objectMapper.readTree(enviar(get(caminho)))) {
+            ids.add(item.path("id").asLong());
+        }
+    }
+
+    private String enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() >= 400) {
+            throw new IllegalStateException(requisicao.uri() + " respondeu " + resposta.statusCode() + ": " + resposta.body());
+        }
+        return resposta.body();
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(url + caminho))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String caminho, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url + caminho))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private HttpRequest requisicaoLogin() {
+        return HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"senha\":\"" + SENHA + "\"}"))
+                .build();
+    }
+
+    private synchronized <T> T qualquer(List<T> itens) {
+        return itens.get(random.nextInt(itens.size()));
+    }
+
+    private synchronized Operacao sortear(List<Operacao> mistura) {
+        int sorteio = random.nextInt(mistura.get(mistura.size() - 1).pesoAcumulado);
+        for (Operacao operacao : mistura) {
+            if (sorteio < operacao.pesoAcumulado) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Mistura vazia");
+    }
+
+    private static List<Operacao> lerMistura(String texto) {
+        List<Operacao> mistura = new ArrayList<>();
+        int acumulado = 0;
+        for (String item : texto.split(",")) {
+            String[] partes = item.trim().split("=");
+            acumulado += Integer.parseInt(partes[1]);
+            mistura.add(new Operacao(partes[0], acumulado));
+        }
+        return mistura;
+    }
+
+    private void relatar(Map<String, Estatisticas> estatisticas, long descartadas, double segundos) throws IOException {
+        System.out.printf("%n%-16s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operação", "total", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ObjectNode resultado = objectMapper.createObjectNode();
+        resultado.put("url", url);
+        resultado.put("segundos", segundos);
+        resultado.put("descartadas", descartadas);
+        ObjectNode porOperacao = resultado.putObject("operacoes");
+        Estatisticas geral = new Estatisticas();
+        for (Map.Entry<String, Estatisticas> entrada : estatisticas.entrySet()) {
+            imprimir(entrada.getKey(), entrada.getValue(), segundos, porOperacao.putObject(entrada.getKey()));
+            geral.somar(entrada.getValue());
+        }
+        imprimir("total", geral, segundos, resultado.putObject("total"));
+        if (descartadas > 0) {
+            System.out.printf("%d requisições não enviadas (mais de %s pendentes)%n",
+                    descartadas, opcoes.getOrDefault("max-pendentes", "2000"));
+        }
+
+        Path saida = Path.of(opcoes.getOrDefault("saida", "target/carga-resultado.json"));
+        Files.createDirectories(saida.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(saida.toFile(), resultado);
+        System.out.println("Resultado salvo em " + saida);
+    }
+
+    private static void imprimir(String nome, Estatisticas estatisticas, double segundos, ObjectNode json) {
+        long[] latencias = estatisticas.ordenadas();
+        double vazao = estatisticas.total / segundos;
+        System.out.printf("%-16s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", nome, estatisticas.total,
+                estatisticas.erros, vazao, ms(percentil(latencias, 50)), ms(percentil(latencias, 90)),
+                ms(percentil(latencias, 99)), ms(percentil(latencias, 99.9)), ms(percentil(latencias, 100)));
+        json.put("total", estatisticas.total);
+        json.put("erros", estatisticas.erros);
+        json.put("vazao", vazao);
+        json.put("p50Ms", ms(percentil(latencias, 50)));
+        json.put("p90Ms", ms(percentil(latencias, 90)));
+        json.put("p99Ms", ms(percentil(latencias, 99)));
+        json.put("p999Ms", ms(percentil(latencias, 99.9)));
+        json.put("maxMs", ms(percentil(latencias, 100)));
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Operação da mistura: monta a requisição e aproveita a resposta (ids de pneus criados).
+     */
+    private static class Operacao {
+
+        private final String nome;
+        private final int pesoAcumulado;
+
+        Operacao(String nome, int pesoAcumulado) {
+            this.nome = nome;
+            this.pesoAcumulado = pesoAcumulado;
+        }
+
+        HttpRequest requisicao(ExecutorCarga carga) {
+            return switch (nome) {
+                case "veiculos-listar" -> carga.get("/api/veiculos?limit=50&after=" + carga.qualquer(carga.idsVeiculos));
+                case "veiculo-buscar" -> carga.get("/api/veiculos/" + carga.qualquer(carga.idsVeiculos));
+                case "pneus-listar" -> carga.get("/api/pneus?limit=50&status=DISPONIVEL");
+                case "pneu-buscar" -> carga.get("/api/pneus/" + carga.qualquer(carga.idsPneus));
+                case "pneu-criar" -> carga.post("/api/pneus", "{\"numeroFogo\":\"LT" + carga.execucao + "-"
+                        + carga.sequencia.incrementAndGet() + "\",\"marca\":\"Michelin\",\"pressaoAtual\":32.0}");
+                case "montar" -> {
+                    // Posição nova a cada montagem: só falha se não houver pneu disponível
+                    Long idPneu = carga.pneusDisponiveis.poll();
+                    yield carga.post("/api/veiculos-pneus", "{\"idVeiculo\":" + carga.qualquer(carga.idsVeiculos)
+                            + ",\"idPneu\":" + (idPneu != null ? idPneu : 0)
+                            + ",\"posicao\":\"L" + carga.sequencia.incrementAndGet() + "\"}");
+                }
+                case "login" -> carga.requisicaoLogin();
+                default -> throw new IllegalArgumentException("Operação desconhecida na mistura: " + nome);
+            };
+        }
+
+        void aoResponder(ExecutorCarga carga, String corpo) {
+            if (nome.equals("pneu-criar")) {
+                try {
+                    carga.pneusDisponiveis.add(carga.objectMapper.readTree(corpo).path("id").asLong());
+                } catch (IOException e) {
+                    // Resposta sem id: o pneu só não entra na fila de montagem
+                }
+            }
+        }
+    }
+
+    /**
+     * Latências (ns) e erros de uma operação.
+     */
+    private static class Estatisticas {
+
+        private long[] latencias = new long[1024];
+        private int total;
+        private int erros;
+
+        synchronized void registrar(long latencia, boolean sucesso) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = latencia;
+            if (!sucesso) {
+                erros++;
+            }
+        }
+
+        synchronized void somar(Estatisticas outras) {
+            for (long latencia : outras.ordenadas()) {
+                registrar(latencia, true);
+            }
+            erros += outras.erros;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, total);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.desafio.dto;
+
+import com.desafio.model.StatusVeiculo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON da resposta de GET /api/veiculos/{id} para um veículo com 20 pneus,
+ * com o ObjectMapper montado como o do Spring Boot (módulos de data/hora registrados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoVeiculoBenchmark {
+
+    private static final int PNEUS = 20;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writerVeiculo;
+    private VeiculoDTO veiculo;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writerVeiculo = objectMapper.writerFor(VeiculoDTO.class);
+
+        LocalDateTime agora = LocalDateTime.now();
+        veiculo = new VeiculoDTO(1L, "BEN1A01", "Volvo", 120_000, StatusVeiculo.ATIVO, agora, agora);
+        List<VeiculoPneuDTO> pneus = new ArrayList<>(PNEUS);
+        for (int i = 0; i < PNEUS; i++) {
+            pneus.add(new VeiculoPneuDTO((long) i, 1L, (long) i, "P" + i, "BENCH-" + i, "Michelin", 110.0, agora, agora));
+        }
+        veiculo.setPneusAplicados(pneus);
+    }
+
+    @Benchmark
+    public byte[] serializarVeiculoComPneus() throws Exception {
+        return objectMapper.writeValueAsBytes(veiculo);
+    }
+
+    @Benchmark
+    public byte[] serializarVeiculoComPneusWriterPronto() throws Exception {
+        return writerVeiculo.writeValueAsBytes(veiculo);
+    }
+}
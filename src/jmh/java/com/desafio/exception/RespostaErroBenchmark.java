@@ -0,0 +1,57 @@
+package com.desafio.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem e serialização das respostas de erro do GlobalExceptionHandler.
+ * A exceção é criada a cada chamada, como acontece em uma requisição rejeitada:
+ * o custo inclui o preenchimento do stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RespostaErroBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] erroDeNegocio() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                handler.handleBusinessException(new BusinessException("Número de fogo já cadastrado: 12345")).getBody());
+    }
+
+    @Benchmark
+    public byte[] recursoNaoEncontrado() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                handler.handleResourceNotFoundException(new ResourceNotFoundException("Pneu", "ID", 42L)).getBody());
+    }
+
+    @Benchmark
+    public byte[] excecaoDeRuntime() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                handler.handleRuntimeException(new IllegalStateException("Falha inesperada")).getBody());
+    }
+}
@@ -0,0 +1,67 @@
+package com.desafio.service;
+
+import com.desafio.dto.PneuDTO;
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.StatusPneu;
+import com.desafio.model.StatusVeiculo;
+import com.desafio.model.Veiculo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidade para DTO usada em todas as respostas de pneus e veículos.
+ * Os serviços são criados sem dependências: a conversão não acessa repositórios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoDTOBenchmark {
+
+    private PneuService pneuService;
+    private VeiculoService veiculoService;
+    private Pneu pneu;
+    private Veiculo veiculo;
+
+    @Setup
+    public void preparar() {
+        pneuService = new PneuService(null, null, null, null, null, null);
+        veiculoService = new VeiculoService(null, null, null, null, null);
+
+        pneu = new Pneu("BENCH-001", "Michelin", 110.0);
+        pneu.setId(1L);
+        pneu.setStatus(StatusPneu.EM_USO);
+        pneu.setCreatedAt(LocalDateTime.now());
+        pneu.setUpdatedAt(LocalDateTime.now());
+
+        veiculo = new Veiculo("BEN1A01", "Volvo", 120_000);
+        veiculo.setId(1L);
+        veiculo.setStatus(StatusVeiculo.ATIVO);
+        veiculo.setCreatedAt(LocalDateTime.now());
+        veiculo.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public PneuDTO converterPneu() {
+        return pneuService.converterParaDTO(pneu);
+    }
+
+    @Benchmark
+    public VeiculoDTO converterVeiculo() {
+        return veiculoService.converterParaDTO(veiculo);
+    }
+}
@@ -0,0 +1,118 @@
+package com.desafio.service;
+
+import com.desafio.model.Usuario;
+import com.desafio.repository.UsuarioRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo por operação da emissão e validação de tokens e do JwtAuthenticationFilter.
+ * O filtro é medido nos dois modos: stateless (authorities do token, versão conferida no cache)
+ * e com carga do usuário pelo UserDetailsService (aqui um mock, sem o custo do banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SEGREDO = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final FilterChain CADEIA_VAZIA = (request, response) -> { };
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private RevogacaoTokenService revogacaoTokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SEGREDO);
+        ReflectionTestUtils.setField(jwtService, "keyId", "principal");
+        ReflectionTestUtils.setField(jwtService, "previousSecrets", "");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        jwtService.inicializarChaves();
+
+        usuario = new Usuario();
+        usuario.setEmail("benchmark@desafio.com");
+        usuario.setNome("Benchmark");
+        usuario.setSenha("senha");
+        token = jwtService.generateToken(usuario);
+
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        UsuarioRepository.EstadoToken estado = mock(UsuarioRepository.EstadoToken.class);
+        when(estado.getVersaoToken()).thenReturn(0);
+        when(estado.getAtivo()).thenReturn(true);
+        when(usuarioRepository.findEstadoTokenByEmail(usuario.getEmail())).thenReturn(Optional.of(estado));
+        revogacaoTokenService = new RevogacaoTokenService(usuarioRepository, Duration.ofMinutes(1), 100);
+        userDetailsService = email -> usuario;
+    }
+
+    /**
+     * Filtro configurado em cada um dos modos.
+     */
+    @State(Scope.Benchmark)
+    public static class Filtro {
+
+        @Param({"true", "false"})
+        private boolean stateless;
+
+        private JwtAuthenticationFilter filtro;
+
+        @Setup
+        public void preparar(JwtBenchmark benchmark) {
+            filtro = new JwtAuthenticationFilter(benchmark.jwtService, benchmark.userDetailsService,
+                    benchmark.revogacaoTokenService);
+            ReflectionTestUtils.setField(filtro, "statelessHabilitado", stateless);
+            ReflectionTestUtils.setField(filtro, "verificarVersao", true);
+        }
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtService.validarEExtrairClaims(token);
+    }
+
+    @Benchmark
+    public Object filtrarRequisicao(Filtro filtro) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/veiculos");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filtro.filtro.doFilter(request, new MockHttpServletResponse(), CADEIA_VAZIA);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
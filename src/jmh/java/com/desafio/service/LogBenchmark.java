@@ -0,0 +1,132 @@
+package com.desafio.service;
+
+import com.desafio.controller.VeiculoController;
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.VeiculoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Listagem paginada de veículos (VeiculoController e VeiculoService reais, repositório em mock)
+ * com o logback-spring.xml e os níveis de log de cada perfil, com quatro threads disputando o
+ * appender como as requisições concorrentes.
+ * <ul>
+ *   <li>dev: sem perfil, com.desafio em DEBUG e console síncrono com pattern;</li>
+ *   <li>prod: perfil prod, com.desafio em INFO e appender JSON assíncrono.</li>
+ * </ul>
+ * A saída do console é descartada: o custo medido é o de formatar e entregar o evento, sem o do terminal.
+ * Os logs da listagem são DEBUG, então no prod são cortados pelo nível antes da fila do AsyncAppender
+ * e nenhum evento é descartado por fila cheia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LogBenchmark {
+
+    private static final String PROD = "prod";
+    private static final String PREFIXO_NIVEL = "logging.level.";
+    private static final int LIMITE = 20;
+
+    @Param({"dev", PROD})
+    private String perfil;
+
+    private LoggingSystem loggingSystem;
+    private PrintStream saidaOriginal;
+    private VeiculoController controller;
+
+    @Setup
+    public void preparar() throws IOException {
+        saidaOriginal = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        configurarLogs();
+
+        // Sem gravação de invocações: o mock é chamado milhões de vezes
+        VeiculoRepository veiculoRepository = mock(VeiculoRepository.class, withSettings().stubOnly());
+        List<Veiculo> pagina = new ArrayList<>();
+        for (long id = 1; id <= LIMITE; id++) {
+            Veiculo veiculo = new Veiculo(String.format("BEN%04d", id), "Volvo", 1000);
+            veiculo.setId(id);
+            pagina.add(veiculo);
+        }
+        // Página sem próxima: a resposta não precisa da requisição atual para o header Link
+        when(veiculoRepository.buscarPagina(anyLong(), any(), any(), any(Limit.class))).thenReturn(pagina);
+
+        VeiculoService veiculoService = new VeiculoService(veiculoRepository, null, null, null, null);
+        controller = new VeiculoController(veiculoService, null, null, null);
+    }
+
+    @TearDown
+    public void encerrar() {
+        loggingSystem.cleanUp();
+        System.setOut(saidaOriginal);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<VeiculoDTO>> listarVeiculos() {
+        return controller.buscarTodosVeiculos(100L, LIMITE, null, null);
+    }
+
+    /**
+     * Inicializa o logback como o Spring Boot faz: logback-spring.xml com o perfil ativo e os
+     * logging.level.* de application.properties, sobrepostos pelos do perfil.
+     */
+    private void configurarLogs() throws IOException {
+        StandardEnvironment ambiente = new StandardEnvironment();
+        MutablePropertySources propriedades = ambiente.getPropertySources();
+        if (PROD.equals(perfil)) {
+            ambiente.setActiveProfiles(PROD);
+            propriedades.addLast(new ResourcePropertySource("classpath:application-prod.properties"));
+        }
+        propriedades.addLast(new ResourcePropertySource("classpath:application.properties"));
+
+        loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(ambiente), "classpath:logback-spring.xml", null);
+
+        propriedades.stream()
+                .filter(ResourcePropertySource.class::isInstance)
+                .flatMap(fonte -> List.of(((ResourcePropertySource) fonte).getPropertyNames()).stream())
+                .filter(nome -> nome.startsWith(PREFIXO_NIVEL))
+                .distinct()
+                .forEach(nome -> loggingSystem.setLogLevel(nome.substring(PREFIXO_NIVEL.length()),
+                        LogLevel.valueOf(ambiente.getProperty(nome).trim().toUpperCase(Locale.ROOT))));
+    }
+}
@@ -1,6 +1,9 @@
 package com.desafio.config;
 
+import com.desafio.constant.ApiConstants;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,6 +12,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Define configurações de CORS, beans customizados e outras configurações.
  */
 @Configuration
+@EnableScheduling
 public class ApplicationConfig implements WebMvcConfigurer {
 
     @Override
@@ -16,6 +20,8 @@ public class ApplicationConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(ApiConstants.NEXT_CURSOR_HEADER, HttpHeaders.LINK, HttpHeaders.RETRY_AFTER, HttpHeaders.ETAG,
+                        ApiConstants.DB_STATEMENTS_HEADER, ApiConstants.DB_TIME_HEADER);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.desafio.config;
+
+import com.desafio.constant.ApiConstants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache com o Caffeine como provedor).
+ * As regiões são criadas aqui, com tamanho e TTL vindos do application.properties, e o
+ * Hibernate recebe o CacheManager pronto (região que não existir faz a inicialização falhar).
+ * Só os veículos são cacheados: pressão e status dos pneus são regravados o tempo todo por UPDATE JDBC
+ * (telemetria, montagem em lote), que o Hibernate não enxerga, e uma leitura concorrente com o UPDATE
+ * poderia devolver ao cache o pneu antigo depois de qualquer remoção.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel(
+            @Value("${cache.segundo-nivel.veiculos.max-size:10000}") long tamanhoVeiculos,
+            @Value("${cache.segundo-nivel.veiculos.ttl:30m}") Duration ttlVeiculos) {
+        // Provedor próprio em vez do singleton de Caching: cada contexto Spring tem as suas regiões
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        criarRegiao(cacheManager, ApiConstants.CACHE_REGION_VEHICLES, tamanhoVeiculos, ttlVeiculos);
+        criarRegiao(cacheManager, ApiConstants.CACHE_REGION_VEHICLE_PLATES, tamanhoVeiculos, ttlVeiculos);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private static void criarRegiao(CacheManager cacheManager, String nome, long tamanhoMaximo, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuracao.setNativeStatisticsEnabled(true);
+        cacheManager.createCache(nome, configuracao);
+    }
+}
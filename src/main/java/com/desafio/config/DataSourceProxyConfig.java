@@ -0,0 +1,35 @@
+package com.desafio.config;
+
+import com.desafio.service.MedicaoComandosBanco;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource em um proxy (datasource-proxy) que repassa cada execução de comando
+ * ao MedicaoComandosBanco. JPA, JdbcTemplate e Flyway usam o mesmo bean, então tudo é contado.
+ * O pool continua acessível por unwrap (métricas do Hikari).
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<MedicaoComandosBanco> medicao) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(medicao.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+package com.desafio.config;
+
+import com.desafio.model.StatusPneu;
+import com.desafio.model.StatusVeiculo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera uma frota sintética para testes de carga (perfil "carga"): veículos, pneus, montagens
+ * e histórico de pressão, gravados com INSERTs em batch JDBC.
+ * A geração é determinística pela semente, então duas execuções com a mesma configuração
+ * produzem os mesmos dados. Os ids são reservados nas sequências em blocos de 50, como o
+ * otimizador pooled-lo do Hibernate faz, e não colidem com os ids gerados depois pela aplicação.
+ * Roda antes da aplicação ficar pronta; se a frota já existir (primeira placa gerada), não faz nada.
+ */
+@Slf4j
+@Component
+@Profile("carga")
+public class GeradorFrota implements ApplicationRunner {
+
+    // Incremento das sequências (allocationSize das entidades)
+    private static final int BLOCO_IDS = 50;
+
+    private static final List<String> MARCAS_VEICULO =
+            List.of("Volvo", "Scania", "Mercedes-Benz", "Volkswagen", "Iveco", "DAF");
+    private static final List<String> MARCAS_PNEU =
+            List.of("Michelin", "Bridgestone", "Goodyear", "Pirelli", "Continental");
+    private static final List<String> POSICOES = List.of(
+            "DE", "DD", "TE1", "TD1", "TEI1", "TDI1", "TE2", "TD2", "TEI2", "TDI2", "EST1", "EST2");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int veiculos;
+    private final int pneus;
+    private final int pneusPorVeiculo;
+    private final int leiturasPorPneu;
+    private final Duration historico;
+    private final long semente;
+    private final int lote;
+
+    public GeradorFrota(
+            JdbcTemplate jdbcTemplate,
+            @Value("${carga.gerador.veiculos:50000}") int veiculos,
+            @Value("${carga.gerador.pneus:1000000}") int pneus,
+            @Value("${carga.gerador.pneus-por-veiculo:10}") int pneusPorVeiculo,
+            @Value("${carga.gerador.leituras-por-pneu:12}") int leiturasPorPneu,
+            @Value("${carga.gerador.historico:30d}") Duration historico,
+            @Value("${carga.gerador.semente:42}") long semente,
+            @Value("${carga.gerador.lote:1000}") int lote) {
+        if (pneusPorVeiculo > POSICOES.size()) {
+            throw new IllegalStateException("carga.gerador.pneus-por-veiculo deve ser no máximo " + POSICOES.size());
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.veiculos = veiculos;
+        this.pneus = pneus;
+        this.pneusPorVeiculo = pneusPorVeiculo;
+        this.leiturasPorPneu = leiturasPorPneu;
+        this.historico = historico;
+        this.semente = semente;
+        this.lote = lote;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (veiculos <= 0) {
+            return;
+        }
+        Integer existentes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicles WHERE placa = ?", Integer.class, placa(0));
+        if (existentes != null && existentes > 0) {
+            log.info("Frota sintética já gerada (placa {} existe), geração ignorada", placa(0));
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        Random random = new Random(semente);
+        LocalDateTime agora = LocalDateTime.now();
+
+        long[] idsVeiculos = gerarVeiculos(random, agora);
+        long[] idsPneus = gerarPneus(random, agora, idsVeiculos.length);
+        int montados = gerarMontagens(idsVeiculos, idsPneus, agora);
+        long leituras = gerarHistorico(random, idsPneus, montados, agora);
+
+        log.info("Frota sintética gerada em {} s: {} veículos, {} pneus, {} montagens, {} leituras de pressão",
+                (System.nanoTime() - inicio) / 1_000_000_000, idsVeiculos.length, idsPneus.length, montados, leituras);
+    }
+
+    private long[] gerarVeiculos(Random random, LocalDateTime agora) {
+        long[] ids = reservarIds("vehicles_seq", veiculos);
+        List<Object[]> linhas = new ArrayList<>(lote);
+        for (int i = 0; i < ids.length; i++) {
+            Timestamp criacao = Timestamp.valueOf(agora.minusDays(random.nextInt(365)));
+            String status = random.nextInt(20) == 0 ? StatusVeiculo.INATIVO.name() : StatusVeiculo.ATIVO.name();
+            linhas.add(new Object[]{ids[i], placa(i), MARCAS_VEICULO.get(random.nextInt(MARCAS_VEICULO.size())),
+                    random.nextInt(800_000), status, criacao, criacao});
+            gravarSeCheio(linhas, "INSERT INTO vehicles (id, placa, marca, quilometragem, status, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", i == ids.length - 1);
+        }
+        log.debug("Veículos gerados: {}", ids.length);
+        return ids;
+    }
+
+    // Os primeiros pneus (até pneus-por-veiculo por veículo) ficam montados; os demais, em estoque
+    private long[] gerarPneus(Random random, LocalDateTime agora, int quantidadeVeiculos) {
+        long[] ids = reservarIds("tires_seq", pneus);
+        long montados = Math.min((long) quantidadeVeiculos * pneusPorVeiculo, ids.length);
+        List<Object[]> linhas = new ArrayList<>(lote);
+        for (int i = 0; i < ids.length; i++) {
+            Timestamp criacao = Timestamp.valueOf(agora.minusDays(random.nextInt(365)));
+            String status = i < montados ? StatusPneu.EM_USO.name() : StatusPneu.DISPONIVEL.name();
+            linhas.add(new Object[]{ids[i], String.format("GF%08d", i), MARCAS_PNEU.get(random.nextInt(MARCAS_PNEU.size())),
+                    pressao(random), status, criacao, criacao});
+            gravarSeCheio(linhas, "INSERT INTO tires (id, numero_fogo, marca, pressao_atual, status, created_at, updated_at, version) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, 0)", i == ids.length - 1);
+        }
+        log.debug("Pneus gerados: {}", ids.length);
+        return ids;
+    }
+
+    private int gerarMontagens(long[] idsVeiculos, long[] idsPneus, LocalDateTime agora) {
+        int montados = (int) Math.min((long) idsVeiculos.length * pneusPorVeiculo, idsPneus.length);
+        long[] ids = reservarIds("vehicle_tires_seq", montados);
+        Timestamp criacao = Timestamp.valueOf(agora);
+        List<Object[]> linhas = new ArrayList<>(lote);
+        for (int i = 0; i < montados; i++) {
+            linhas.add(new Object[]{ids[i], idsVeiculos[i / pneusPorVeiculo], idsPneus[i],
+                    POSICOES.get(i % pneusPorVeiculo), criacao, criacao});
+            gravarSeCheio(linhas, "INSERT INTO vehicle_tires (id, vehicle_id, tire_id, position, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", i == montados - 1);
+        }
+        log.debug("Montagens geradas: {}", montados);
+        return montados;
+    }
+
+    // Leituras dos pneus montados, espaçadas ao longo do período de histórico
+    private long gerarHistorico(Random random, long[] idsPneus, int montados, LocalDateTime agora) {
+        long total = (long) montados * leiturasPorPneu;
+        if (total == 0) {
+            return 0;
+        }
+        long[] ids = reservarIds("tire_pressure_readings_seq", total);
+        long intervaloSegundos = Math.max(1, historico.toSeconds() / leiturasPorPneu);
+        List<Object[]> linhas = new ArrayList<>(lote);
+        int indice = 0;
+        for (int pneu = 0; pneu < montados; pneu++) {
+            for (int leitura = 0; leitura < leiturasPorPneu; leitura++, indice++) {
+                LocalDateTime dataLeitura = agora.minusSeconds(intervaloSegundos * (leiturasPorPneu - leitura)
+                        + random.nextInt((int) Math.min(intervaloSegundos, Integer.MAX_VALUE)));
+                linhas.add(new Object[]{ids[indice], idsPneus[pneu], pressao(random),
+                        Timestamp.valueOf(dataLeitura), Timestamp.valueOf(agora)});
+                gravarSeCheio(linhas, "INSERT INTO tire_pressure_readings (id, tire_id, pressao, read_at, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?)", indice == total - 1);
+            }
+        }
+        log.debug("Leituras de pressão geradas: {}", total);
+        return total;
+    }
+
+    // Placas Mercosul a partir do índice, começando em ZAA0A00 para não colidir com cadastros reais
+    private static String placa(int indice) {
+        int letras = indice / 10_000;
+        return "Z" + (char) ('A' + letras / 26 % 26) + (char) ('A' + letras % 26)
+                + (indice / 1000 % 10) + (char) ('A' + indice / 100 % 10) + String.format("%02d", indice % 100);
+    }
+
+    // Pressão em psi em torno de 32, com alguns pneus abaixo do limite de alerta
+    private static double pressao(Random random) {
+        return Math.round((32.0 + random.nextGaussian() * 1.5) * 10) / 10.0;
+    }
+
+    /**
+     * Reserva ids na sequência: cada nextval devolve o início de um bloco de BLOCO_IDS ids livres.
+     */
+    private long[] reservarIds(String sequencia, long quantidade) {
+        long[] ids = new long[Math.toIntExact(quantidade)];
+        for (int i = 0; i < ids.length; i += BLOCO_IDS) {
+            Long inicioBloco = jdbcTemplate.queryForObject("SELECT nextval('" + sequencia + "')", Long.class);
+            for (int j = 0; j < BLOCO_IDS && i + j < ids.length; j++) {
+                ids[i + j] = inicioBloco + j;
+            }
+        }
+        return ids;
+    }
+
+    private void gravarSeCheio(List<Object[]> linhas, String sql, boolean ultima) {
+        if (linhas.size() >= lote || (ultima && !linhas.isEmpty())) {
+            jdbcTemplate.batchUpdate(sql, linhas);
+            linhas.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.desafio.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas (Micrometer).
+ * As métricas de HTTP, repositórios Spring Data, pool Hikari, JVM e GC vêm da autoconfiguração
+ * do Actuator; aqui fica o aspecto que faz o @Timed dos controllers gerar timers.
+ * Histogramas e buckets de SLO são configurados por nome de métrica no application.properties.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
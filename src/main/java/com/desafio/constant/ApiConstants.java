@@ -26,9 +26,41 @@ public final class ApiConstants {
     public static final double LOW_PRESSURE_THRESHOLD = 30.0;
     public static final String API_VERSION = "1.0.0";
     
+    // Paginação por cursor
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    // Montagem em lote: máximo de pneus por requisição
+    public static final int MAX_BATCH_MOUNT_SIZE = 100;
+    
+    // Telemetria: máximo de leituras por lote
+    public static final int MAX_TELEMETRY_BATCH_SIZE = 1000;
+    
+    // Importação em massa: linhas por transação e máximo de rejeições detalhadas no resumo
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+    public static final int MAX_IMPORT_REJECTIONS_DETAIL = 1000;
+    
+    // Histórico de pressão: janela máxima de consulta e quantidade de leituras por resposta
+    public static final int MAX_HISTORY_WINDOW_DAYS = 31;
+    public static final int DEFAULT_HISTORY_LIMIT = 1000;
+    public static final int MAX_HISTORY_LIMIT = 10000;
+    
+    // Exportação: linhas buscadas por ida ao banco no cursor JDBC
+    public static final String EXPORT_FETCH_SIZE = "1000";
+    
+    // Regiões do cache de segundo nível do Hibernate (entidades e resolução de natural id)
+    public static final String CACHE_REGION_VEHICLES = "veiculos";
+    public static final String CACHE_REGION_VEHICLE_PLATES = "veiculos-placa";
+    
+    // Métricas: timer de cada método dos controllers (tags class e method)
+    public static final String METRIC_CONTROLLER_REQUESTS = "api.requisicoes";
+    
     // Headers
     public static final String CONTENT_TYPE = "application/json";
     public static final String ACCEPT = "application/json";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String DB_STATEMENTS_HEADER = "X-Db-Statements";
+    public static final String DB_TIME_HEADER = "X-Db-Time";
     
     // Construtor privado para evitar instanciação
     private ApiConstants() {
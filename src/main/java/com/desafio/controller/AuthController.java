@@ -1,9 +1,11 @@
 package com.desafio.controller;
 
+import com.desafio.constant.ApiConstants;
 import com.desafio.dto.AuthResponseDTO;
 import com.desafio.dto.LoginRequestDTO;
 import com.desafio.dto.RegistroRequestDTO;
 import com.desafio.service.AuthService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
+@Timed(ApiConstants.METRIC_CONTROLLER_REQUESTS)
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
 public class AuthController {
@@ -31,19 +34,10 @@ public class AuthController {
      */
     @PostMapping(value = "/registrar", consumes = "application/json", produces = "application/json")
     public ResponseEntity<AuthResponseDTO> registrar(@Valid @RequestBody RegistroRequestDTO request) {
-        try {
-            log.info("=== INICIO REGISTRO ===");
-            log.info("Recebendo requisição para registrar usuário: {}", request.getEmail());
-            
-            AuthResponseDTO response = authService.registrar(request);
-            
-            log.info("Usuário registrado com sucesso: {}", request.getEmail());
-            log.info("=== FIM REGISTRO ===");
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            log.error("=== ERRO NO CONTROLLER ===", e);
-            throw e;
-        }
+        // Erros já são logados pelo AuthService
+        log.debug("Recebendo requisição para registrar usuário: {}", request.getEmail());
+        AuthResponseDTO response = authService.registrar(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
     /**
@@ -54,11 +48,9 @@ public class AuthController {
      */
     @PostMapping(value = "/login", consumes = "application/json", produces = "application/json")
     public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
-        log.info("Recebendo requisição de login: {}", request.getEmail());
+        log.debug("Recebendo requisição de login: {}", request.getEmail());
         
         AuthResponseDTO response = authService.login(request);
-        
-        log.info("Login realizado com sucesso: {}", request.getEmail());
         return ResponseEntity.ok(response);
     }
     
@@ -0,0 +1,36 @@
+package com.desafio.controller;
+
+import com.desafio.dto.EstatisticasCacheDTO;
+import com.desafio.service.CacheSegundoNivelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controller com as estatísticas dos caches da aplicação
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class CacheController {
+    
+    private final CacheSegundoNivelService cacheSegundoNivelService;
+    
+    /**
+     * Estatísticas de cada região do cache de segundo nível do Hibernate
+     */
+    @GetMapping("/segundo-nivel")
+    public ResponseEntity<Map<String, EstatisticasCacheDTO>> buscarEstatisticasSegundoNivel() {
+        log.debug("Buscando estatísticas do cache de segundo nível");
+        
+        return ResponseEntity.ok(cacheSegundoNivelService.buscarEstatisticas());
+    }
+}
@@ -0,0 +1,28 @@
+package com.desafio.controller;
+
+import com.desafio.constant.ApiConstants;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Monta ETags fortes a partir da versão de um recurso, sem serializar o corpo.
+ * A versão da API entra no hash para que uma mudança no formato da resposta invalide os ETags antigos.
+ */
+final class ETags {
+    
+    private ETags() {
+    }
+    
+    /**
+     * Cria o ETag de um recurso.
+     * 
+     * @param recurso Tipo do recurso (evita colisão entre recursos com a mesma versão)
+     * @param versao Versão opaca do recurso
+     * @return ETag entre aspas
+     */
+    static String forte(String recurso, String versao) {
+        String chave = ApiConstants.API_VERSION + "|" + recurso + "|" + versao;
+        return '"' + DigestUtils.md5DigestAsHex(chave.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -0,0 +1,73 @@
+package com.desafio.controller;
+
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.service.ExportacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controller para exportar a frota completa em NDJSON ou CSV.
+ * As respostas são escritas de forma incremental enquanto o cursor do banco é lido.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/exportacao")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ExportacaoController {
+    
+    private final ExportacaoService exportacaoService;
+    
+    /**
+     * Exporta todos os veículos
+     */
+    @GetMapping("/veiculos")
+    public ResponseEntity<StreamingResponseBody> exportarVeiculos(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        log.info("Exportando veículos em {}", formatoExportacao);
+        
+        return resposta("veiculos", formatoExportacao,
+            saida -> exportacaoService.exportarVeiculos(formatoExportacao, saida));
+    }
+    
+    /**
+     * Exporta todos os pneus
+     */
+    @GetMapping("/pneus")
+    public ResponseEntity<StreamingResponseBody> exportarPneus(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        log.info("Exportando pneus em {}", formatoExportacao);
+        
+        return resposta("pneus", formatoExportacao,
+            saida -> exportacaoService.exportarPneus(formatoExportacao, saida));
+    }
+    
+    /**
+     * Exporta todas as aplicações de pneus em veículos
+     */
+    @GetMapping("/veiculos-pneus")
+    public ResponseEntity<StreamingResponseBody> exportarVeiculosPneus(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        log.info("Exportando aplicações de pneus em {}", formatoExportacao);
+        
+        return resposta("veiculos-pneus", formatoExportacao,
+            saida -> exportacaoService.exportarVeiculosPneus(formatoExportacao, saida));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> resposta(String nome, FormatoExportacao formato,
+                                                           StreamingResponseBody corpo) {
+        ContentDisposition anexo = ContentDisposition.attachment()
+                .filename(nome + "." + formato.getExtensao())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, anexo.toString())
+                .body(corpo);
+    }
+}
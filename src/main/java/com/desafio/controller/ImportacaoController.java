@@ -0,0 +1,39 @@
+package com.desafio.controller;
+
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.dto.ImportacaoResultadoDTO;
+import com.desafio.service.ImportacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controller para importação em massa.
+ * O corpo da requisição é o próprio arquivo (CSV com cabeçalho ou NDJSON) e é lido em streaming.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/importacao")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ImportacaoController {
+    
+    private final ImportacaoService importacaoService;
+    
+    /**
+     * Importa pneus em massa
+     */
+    @PostMapping("/pneus")
+    public ResponseEntity<ImportacaoResultadoDTO> importarPneus(@RequestParam(defaultValue = "csv") String formato,
+                                                                InputStream corpo) throws IOException {
+        FormatoExportacao formatoImportacao = FormatoExportacao.de(formato);
+        log.info("Importando pneus em {}", formatoImportacao);
+        
+        ImportacaoResultadoDTO resultado = importacaoService.importarPneus(formatoImportacao, corpo);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,39 @@
+package com.desafio.controller;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.PaginaDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Monta respostas paginadas por cursor.
+ * O corpo continua sendo a lista de itens; o próximo cursor vai nos headers.
+ */
+final class PaginacaoHeaders {
+    
+    private PaginacaoHeaders() {
+    }
+    
+    /**
+     * Cria a resposta com os itens da página e, se houver próxima página,
+     * os headers X-Next-Cursor e Link rel="next".
+     * 
+     * @param pagina Página de resultados
+     * @return ResponseEntity com a lista de itens
+     */
+    static <T> ResponseEntity<List<T>> comCursor(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.temProximaPagina()) {
+            String proximaPagina = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", pagina.getProximoCursor())
+                    .build()
+                    .toUriString();
+            resposta.header(ApiConstants.NEXT_CURSOR_HEADER, String.valueOf(pagina.getProximoCursor()))
+                    .header(HttpHeaders.LINK, "<" + proximaPagina + ">; rel=\"next\"");
+        }
+        return resposta.body(pagina.getItens());
+    }
+}
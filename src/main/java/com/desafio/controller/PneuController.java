@@ -1,13 +1,31 @@
 package com.desafio.controller;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.AlertaPressaoDTO;
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.dto.PaginaDTO;
+import com.desafio.dto.RollupPressaoDTO;
 import com.desafio.dto.PneuDTO;
+import com.desafio.dto.ResultadoUpsert;
+import com.desafio.dto.TransicaoAlertaPressaoDTO;
+import com.desafio.model.GranularidadeRollup;
+import com.desafio.model.StatusPneu;
+import com.desafio.service.AlertaPressaoService;
+import com.desafio.service.HistoricoPressaoService;
 import com.desafio.service.PneuService;
+import com.desafio.service.RollupPressaoService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Controller para gerenciar pneus
@@ -15,22 +33,121 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 @RestController
 @RequestMapping("/api/pneus")
+@Timed(ApiConstants.METRIC_CONTROLLER_REQUESTS)
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
 public class PneuController {
     
     private final PneuService pneuService;
+    private final AlertaPressaoService alertaPressaoService;
+    private final HistoricoPressaoService historicoPressaoService;
+    private final RollupPressaoService rollupPressaoService;
+    
+    /**
+     * Lista os pneus paginados por cursor.
+     * O cursor da próxima página vem no header X-Next-Cursor e no Link rel="next".
+     */
+    @GetMapping
+    public ResponseEntity<List<PneuDTO>> buscarTodosPneus(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) StatusPneu status,
+            @RequestParam(required = false) String marca) {
+        log.debug("Listando pneus após o cursor: {}", after);
+        
+        PaginaDTO<PneuDTO> pagina = pneuService.buscarPneusPaginados(after, limit, status, marca);
+        return PaginacaoHeaders.comCursor(pagina);
+    }
+    
+    /**
+     * Busca um pneu pelo ID.
+     * Responde 304 quando o If-None-Match ainda vale, sem carregar o pneu.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PneuDTO> buscarPneuPorId(@PathVariable Long id, WebRequest request) {
+        log.debug("Buscando pneu ID: {}", id);
+        
+        String etag = ETags.forte("pneu", pneuService.buscarVersaoPneu(id));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        return ResponseEntity.ok().eTag(etag).body(pneuService.buscarPneuPorId(id));
+    }
     
     /**
      * Cria um novo pneu
      */
     @PostMapping
     public ResponseEntity<PneuDTO> criarPneu(@Valid @RequestBody PneuDTO pneuDTO) {
-        log.info("Criando pneu com número de fogo: {}", pneuDTO.getNumeroFogo());
+        log.debug("Criando pneu com número de fogo: {}", pneuDTO.getNumeroFogo());
         
         PneuDTO novoPneu = pneuService.criarPneu(pneuDTO);
         
-        log.info("Pneu criado! ID: {}", novoPneu.getId());
+        log.debug("Pneu criado! ID: {}", novoPneu.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(novoPneu);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Cria ou atualiza o pneu pelo número de fogo (201 se criou, 200 se já existia).
+     * Idempotente: reenviar o mesmo pneu não duplica nem falha.
+     */
+    @PutMapping("/numero-fogo/{numeroFogo}")
+    public ResponseEntity<PneuDTO> salvarPneuPorNumeroFogo(@PathVariable String numeroFogo,
+                                                           @Valid @RequestBody PneuDTO pneuDTO) {
+        log.debug("Gravando pneu com número de fogo: {}", numeroFogo);
+        
+        ResultadoUpsert<PneuDTO> resultado = pneuService.salvarPneuPorNumeroFogo(numeroFogo, pneuDTO);
+        return ResponseEntity.status(resultado.criado() ? HttpStatus.CREATED : HttpStatus.OK).body(resultado.dados());
+    }
+    
+    /**
+     * Pneus em alarme de pressão baixa (limite definido pelas regras de alerta)
+     */
+    @GetMapping("/pressao-baixa")
+    public ResponseEntity<List<AlertaPressaoDTO>> buscarPneusComPressaoBaixa() {
+        return ResponseEntity.ok(pneuService.buscarPneusComPressaoBaixa());
+    }
+    
+    /**
+     * Entradas e saídas de alarme de pressão baixa de um pneu, da mais recente para a mais antiga
+     */
+    @GetMapping("/{id}/alertas-pressao")
+    public ResponseEntity<List<TransicaoAlertaPressaoDTO>> buscarTransicoesAlerta(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_PAGE_SIZE) int limit) {
+        log.debug("Buscando transições de alerta de pressão do pneu ID: {}", id);
+        
+        return ResponseEntity.ok(alertaPressaoService.buscarTransicoes(id, limit));
+    }
+    
+    /**
+     * Histórico de pressão de um pneu em uma janela de tempo (padrão: últimas 24 horas)
+     */
+    @GetMapping("/{id}/historico-pressao")
+    public ResponseEntity<List<LeituraPressaoDTO>> buscarHistoricoPressao(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_HISTORY_LIMIT) int limit) {
+        log.debug("Buscando histórico de pressão do pneu ID: {}", id);
+        
+        List<LeituraPressaoDTO> historico = historicoPressaoService.buscarHistorico(id, inicio, fim, limit);
+        return ResponseEntity.ok(historico);
+    }
+    
+    /**
+     * Pressão agregada (mínima, média e máxima) de um pneu por bucket de tempo
+     */
+    @GetMapping("/{id}/pressao-agregada")
+    public ResponseEntity<List<RollupPressaoDTO>> buscarPressaoAgregada(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "HORA") GranularidadeRollup granularidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        log.debug("Buscando pressão agregada por {} do pneu ID: {}", granularidade, id);
+        
+        List<RollupPressaoDTO> agregados = rollupPressaoService.buscarPorPneu(id, granularidade, inicio, fim);
+        return ResponseEntity.ok(agregados);
+    }
+}
@@ -0,0 +1,62 @@
+package com.desafio.controller;
+
+import com.desafio.dto.RegraAlertaPressaoDTO;
+import com.desafio.service.RegraAlertaPressaoService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller para as regras de alerta de pressão baixa
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/regras-alerta-pressao")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class RegraAlertaPressaoController {
+    
+    private final RegraAlertaPressaoService regraAlertaPressaoService;
+    
+    /**
+     * Lista as regras cadastradas
+     */
+    @GetMapping
+    public ResponseEntity<List<RegraAlertaPressaoDTO>> buscarTodas() {
+        return ResponseEntity.ok(regraAlertaPressaoService.buscarTodas());
+    }
+    
+    /**
+     * Cria uma regra (marca, veículo e posição opcionais)
+     */
+    @PostMapping
+    public ResponseEntity<RegraAlertaPressaoDTO> criarRegra(@Valid @RequestBody RegraAlertaPressaoDTO regraDTO) {
+        log.info("Criando regra de alerta de pressão com limite {} PSI", regraDTO.getLimiteMinimo());
+        
+        RegraAlertaPressaoDTO novaRegra = regraAlertaPressaoService.criarRegra(regraDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(novaRegra);
+    }
+    
+    /**
+     * Atualiza uma regra
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<RegraAlertaPressaoDTO> atualizarRegra(@PathVariable Long id,
+                                                                @Valid @RequestBody RegraAlertaPressaoDTO regraDTO) {
+        return ResponseEntity.ok(regraAlertaPressaoService.atualizarRegra(id, regraDTO));
+    }
+    
+    /**
+     * Remove uma regra
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletarRegra(@PathVariable Long id) {
+        regraAlertaPressaoService.deletarRegra(id);
+        return ResponseEntity.noContent().build();
+    }
+}
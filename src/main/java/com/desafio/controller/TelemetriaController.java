@@ -0,0 +1,35 @@
+package com.desafio.controller;
+
+import com.desafio.dto.LoteTelemetriaDTO;
+import com.desafio.service.TelemetriaService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller para recebimento de telemetria de pressão dos pneus.
+ * As leituras são aceitas de forma assíncrona (202) e gravadas em lote pelo TelemetriaService.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/telemetria")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class TelemetriaController {
+    
+    private final TelemetriaService telemetriaService;
+    
+    /**
+     * Recebe um lote de leituras de pressão
+     */
+    @PostMapping("/pressao")
+    public ResponseEntity<Map<String, Integer>> receberLeituras(@Valid @RequestBody LoteTelemetriaDTO lote) {
+        int aceitas = telemetriaService.receber(lote.getLeituras());
+        log.debug("Lote de telemetria aceito: {} leituras", aceitas);
+        return ResponseEntity.accepted().body(Map.of("aceitas", aceitas));
+    }
+}
@@ -28,7 +28,7 @@ public class TestController {
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> test() {
-        log.info("Recebendo requisição de teste da API");
+        log.debug("Recebendo requisição de teste da API");
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "API de Veículos e Pneus está funcionando!");
@@ -46,7 +46,7 @@ public class TestController {
      */
     @GetMapping("/simple")
     public ResponseEntity<Map<String, Object>> testSimple() {
-        log.info("Testando endpoint simples");
+        log.debug("Testando endpoint simples");
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Endpoint simples funcionando");
@@ -1,14 +1,31 @@
 package com.desafio.controller;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.EstatisticasCacheDTO;
+import com.desafio.dto.PaginaDTO;
+import com.desafio.dto.ResultadoUpsert;
+import com.desafio.dto.RollupPressaoDTO;
 import com.desafio.dto.VeiculoDTO;
+import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.model.GranularidadeRollup;
+import com.desafio.model.StatusVeiculo;
+import com.desafio.service.EventosVeiculoService;
+import com.desafio.service.RollupPressaoService;
+import com.desafio.service.VeiculoCacheService;
 import com.desafio.service.VeiculoService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,32 +34,65 @@ import java.util.List;
 @Slf4j
 @RestController
 @RequestMapping("/api/veiculos")
+@Timed(ApiConstants.METRIC_CONTROLLER_REQUESTS)
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
 public class VeiculoController {
     
     private final VeiculoService veiculoService;
+    private final RollupPressaoService rollupPressaoService;
+    private final EventosVeiculoService eventosVeiculoService;
+    private final VeiculoCacheService veiculoCacheService;
     
     /**
-     * Lista todos os veículos (sem pneus)
+     * Lista os veículos (sem pneus) paginados por cursor.
+     * O cursor da próxima página vem no header X-Next-Cursor e no Link rel="next".
      */
     @GetMapping
-    public ResponseEntity<List<VeiculoDTO>> buscarTodosVeiculos() {
-        log.info("Listando todos os veículos");
+    public ResponseEntity<List<VeiculoDTO>> buscarTodosVeiculos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) StatusVeiculo status,
+            @RequestParam(required = false) String marca) {
+        log.debug("Listando veículos após o cursor: {}", after);
         
-        List<VeiculoDTO> veiculos = veiculoService.buscarTodosVeiculos();
-        return ResponseEntity.ok(veiculos);
+        PaginaDTO<VeiculoDTO> pagina = veiculoService.buscarVeiculosPaginados(after, limit, status, marca);
+        return PaginacaoHeaders.comCursor(pagina);
     }
     
     /**
-     * Busca um veículo específico com seus pneus
+     * Assina as alterações dos pneus de um veículo (Server-Sent Events).
+     * Envia o veículo completo ao conectar e depois os eventos "pneu", "pneu-removido" e "resync".
+     */
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinarEventos(@PathVariable Long id) {
+        log.debug("Assinatura de eventos do veículo ID: {}", id);
+        
+        try {
+            return ResponseEntity.ok(eventosVeiculoService.assinar(id));
+        } catch (ResourceNotFoundException e) {
+            // Clientes SSE aceitam só text/event-stream: o corpo JSON de erro do handler global não seria aceito
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Busca um veículo específico com seus pneus.
+     * Responde 304 quando o If-None-Match ainda vale, sem montar nem serializar o veículo.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<VeiculoDTO> buscarVeiculoComPneusPorId(@PathVariable Long id) {
-        log.info("Buscando veículo com pneus ID: {}", id);
+    public ResponseEntity<VeiculoDTO> buscarVeiculoComPneusPorId(@PathVariable Long id, WebRequest request) {
+        log.debug("Buscando veículo com pneus ID: {}", id);
         
-        VeiculoDTO veiculo = veiculoService.buscarVeiculoComPneusPorId(id);
-        return ResponseEntity.ok(veiculo);
+        // A versão é lida antes do corpo: se mudar entre as duas leituras, o próximo GET apenas baixa de novo
+        String versao = veiculoService.buscarVersaoVeiculoComPneus(id);
+        String etag = ETags.forte("veiculo", versao);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        VeiculoDTO veiculo = veiculoService.buscarVeiculoComPneusPorId(id, versao);
+        return ResponseEntity.ok().eTag(etag).body(veiculo);
     }
     
     /**
@@ -50,11 +100,48 @@ public class VeiculoController {
      */
     @PostMapping
     public ResponseEntity<VeiculoDTO> criarVeiculo(@Valid @RequestBody VeiculoDTO veiculoDTO) {
-        log.info("Criando veículo com placa: {}", veiculoDTO.getPlaca());
+        log.debug("Criando veículo com placa: {}", veiculoDTO.getPlaca());
         
         VeiculoDTO novoVeiculo = veiculoService.criarVeiculo(veiculoDTO);
         
-        log.info("Veículo criado! ID: {}", novoVeiculo.getId());
+        log.debug("Veículo criado! ID: {}", novoVeiculo.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(novoVeiculo);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Cria ou atualiza o veículo pela placa (201 se criou, 200 se já existia).
+     * Idempotente: reenviar o mesmo veículo não duplica nem falha.
+     */
+    @PutMapping("/placa/{placa}")
+    public ResponseEntity<VeiculoDTO> salvarVeiculoPorPlaca(@PathVariable String placa,
+                                                            @Valid @RequestBody VeiculoDTO veiculoDTO) {
+        log.debug("Gravando veículo com placa: {}", placa);
+        
+        ResultadoUpsert<VeiculoDTO> resultado = veiculoService.salvarVeiculoPorPlaca(placa, veiculoDTO);
+        return ResponseEntity.status(resultado.criado() ? HttpStatus.CREATED : HttpStatus.OK).body(resultado.dados());
+    }
+    
+    /**
+     * Pressão agregada (mínima, média e máxima) dos pneus montados no veículo por bucket de tempo
+     */
+    @GetMapping("/{id}/pressao-agregada")
+    public ResponseEntity<List<RollupPressaoDTO>> buscarPressaoAgregada(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "HORA") GranularidadeRollup granularidade,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        log.debug("Buscando pressão agregada por {} do veículo ID: {}", granularidade, id);
+        
+        List<RollupPressaoDTO> agregados = rollupPressaoService.buscarPorVeiculo(id, granularidade, inicio, fim);
+        return ResponseEntity.ok(agregados);
+    }
+    
+    /**
+     * Estatísticas do cache de veículos com pneus (taxa de acerto, cargas e tamanho)
+     */
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<EstatisticasCacheDTO> buscarEstatisticasCache() {
+        return ResponseEntity.ok(EstatisticasCacheDTO.de(veiculoCacheService.getEstatisticas(),
+                veiculoCacheService.getRecargasPorVersao(), veiculoCacheService.getTamanho()));
+    }
+}
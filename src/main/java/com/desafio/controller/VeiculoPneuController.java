@@ -1,7 +1,11 @@
 package com.desafio.controller;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.MontagemLoteDTO;
+import com.desafio.dto.MontagemLoteResultadoDTO;
 import com.desafio.dto.VeiculoPneuDTO;
 import com.desafio.service.VeiculoPneuService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/veiculos-pneus")
+@Timed(ApiConstants.METRIC_CONTROLLER_REQUESTS)
 @CrossOrigin(origins = "*")
 public class VeiculoPneuController {
     
@@ -30,6 +35,19 @@ public class VeiculoPneuController {
         return ResponseEntity.status(HttpStatus.CREATED).body(aplicacao);
     }
     
+    /**
+     * Monta vários pneus em um veículo de uma só vez (eixo ou jogo completo).
+     * Cada item é validado individualmente e o resultado indica quais foram montados.
+     * 
+     * @param montagem Veículo e lista de pares (pneu, posição)
+     * @return Resultado por item
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<MontagemLoteResultadoDTO> montarPneusEmLote(@Valid @RequestBody MontagemLoteDTO montagem) {
+        MontagemLoteResultadoDTO resultado = veiculoPneuService.montarPneusEmLote(montagem);
+        return ResponseEntity.ok(resultado);
+    }
+    
     /**
      * 6. Endpoint para desvincular um pneu em um veículo
      * Este endpoint deve desvincular um pneu com um veículo.
@@ -0,0 +1,64 @@
+package com.desafio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pneu em alarme de pressão baixa, com o limite que disparou o alarme.
+ */
+public class AlertaPressaoDTO {
+    
+    private Long idPneu;
+    private String numeroFogo;
+    private String marca;
+    private Double pressaoAtual;
+    private Double limiteMinimo;
+    private Long idRegra;
+    private Long idVeiculo;
+    private String posicao;
+    private LocalDateTime emAlarmeDesde;
+    
+    // Construtor padrão
+    public AlertaPressaoDTO() {}
+    
+    // Construtor com parâmetros
+    public AlertaPressaoDTO(Long idPneu, String numeroFogo, String marca, Double pressaoAtual, Double limiteMinimo,
+                            Long idRegra, Long idVeiculo, String posicao, LocalDateTime emAlarmeDesde) {
+        this.idPneu = idPneu;
+        this.numeroFogo = numeroFogo;
+        this.marca = marca;
+        this.pressaoAtual = pressaoAtual;
+        this.limiteMinimo = limiteMinimo;
+        this.idRegra = idRegra;
+        this.idVeiculo = idVeiculo;
+        this.posicao = posicao;
+        this.emAlarmeDesde = emAlarmeDesde;
+    }
+    
+    // Getters e Setters
+    public Long getIdPneu() { return idPneu; }
+    public void setIdPneu(Long idPneu) { this.idPneu = idPneu; }
+    
+    public String getNumeroFogo() { return numeroFogo; }
+    public void setNumeroFogo(String numeroFogo) { this.numeroFogo = numeroFogo; }
+    
+    public String getMarca() { return marca; }
+    public void setMarca(String marca) { this.marca = marca; }
+    
+    public Double getPressaoAtual() { return pressaoAtual; }
+    public void setPressaoAtual(Double pressaoAtual) { this.pressaoAtual = pressaoAtual; }
+    
+    public Double getLimiteMinimo() { return limiteMinimo; }
+    public void setLimiteMinimo(Double limiteMinimo) { this.limiteMinimo = limiteMinimo; }
+    
+    public Long getIdRegra() { return idRegra; }
+    public void setIdRegra(Long idRegra) { this.idRegra = idRegra; }
+    
+    public Long getIdVeiculo() { return idVeiculo; }
+    public void setIdVeiculo(Long idVeiculo) { this.idVeiculo = idVeiculo; }
+    
+    public String getPosicao() { return posicao; }
+    public void setPosicao(String posicao) { this.posicao = posicao; }
+    
+    public LocalDateTime getEmAlarmeDesde() { return emAlarmeDesde; }
+    public void setEmAlarmeDesde(LocalDateTime emAlarmeDesde) { this.emAlarmeDesde = emAlarmeDesde; }
+}
@@ -0,0 +1,59 @@
+package com.desafio.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Estatísticas de um cache em memória: acertos, faltas, cargas e tamanho atual.
+ */
+public class EstatisticasCacheDTO {
+    
+    private long acertos;
+    private long faltas;
+    private double taxaAcerto;
+    private long cargas;
+    private double tempoMedioCargaMs;
+    private long recargasPorVersao;
+    private long remocoes;
+    private long tamanho;
+    
+    // Construtor padrão
+    public EstatisticasCacheDTO() {}
+    
+    public static EstatisticasCacheDTO de(CacheStats estatisticas, long recargasPorVersao, long tamanho) {
+        EstatisticasCacheDTO dto = new EstatisticasCacheDTO();
+        dto.acertos = estatisticas.hitCount();
+        dto.faltas = estatisticas.missCount();
+        dto.taxaAcerto = estatisticas.hitRate();
+        dto.cargas = estatisticas.loadCount();
+        dto.tempoMedioCargaMs = estatisticas.averageLoadPenalty() / 1_000_000.0;
+        dto.recargasPorVersao = recargasPorVersao;
+        dto.remocoes = estatisticas.evictionCount();
+        dto.tamanho = tamanho;
+        return dto;
+    }
+    
+    // Getters e Setters
+    public long getAcertos() { return acertos; }
+    public void setAcertos(long acertos) { this.acertos = acertos; }
+    
+    public long getFaltas() { return faltas; }
+    public void setFaltas(long faltas) { this.faltas = faltas; }
+    
+    public double getTaxaAcerto() { return taxaAcerto; }
+    public void setTaxaAcerto(double taxaAcerto) { this.taxaAcerto = taxaAcerto; }
+    
+    public long getCargas() { return cargas; }
+    public void setCargas(long cargas) { this.cargas = cargas; }
+    
+    public double getTempoMedioCargaMs() { return tempoMedioCargaMs; }
+    public void setTempoMedioCargaMs(double tempoMedioCargaMs) { this.tempoMedioCargaMs = tempoMedioCargaMs; }
+    
+    public long getRecargasPorVersao() { return recargasPorVersao; }
+    public void setRecargasPorVersao(long recargasPorVersao) { this.recargasPorVersao = recargasPorVersao; }
+    
+    public long getRemocoes() { return remocoes; }
+    public void setRemocoes(long remocoes) { this.remocoes = remocoes; }
+    
+    public long getTamanho() { return tamanho; }
+    public void setTamanho(long tamanho) { this.tamanho = tamanho; }
+}
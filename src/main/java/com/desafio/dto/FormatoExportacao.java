@@ -0,0 +1,43 @@
+package com.desafio.dto;
+
+import com.desafio.exception.BusinessException;
+
+/**
+ * Formatos de arquivo aceitos na exportação e na importação em massa.
+ */
+public enum FormatoExportacao {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+    
+    private final String contentType;
+    private final String extensao;
+    
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getExtensao() {
+        return extensao;
+    }
+    
+    /**
+     * Converte o parâmetro da requisição (case-insensitive) no formato.
+     * 
+     * @param valor Nome do formato
+     * @return Formato correspondente
+     * @throws BusinessException se o formato não for suportado
+     */
+    public static FormatoExportacao de(String valor) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new BusinessException("Formato de exportação não suportado: " + valor);
+    }
+}
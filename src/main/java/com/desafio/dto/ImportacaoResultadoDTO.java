@@ -0,0 +1,48 @@
+package com.desafio.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma importação em massa.
+ * A lista de rejeições é limitada; os contadores sempre refletem o total.
+ */
+public class ImportacaoResultadoDTO {
+    
+    private long linhasLidas;
+    private long importados;
+    private long rejeitados;
+    private boolean rejeicoesTruncadas;
+    private List<LinhaRejeitadaDTO> rejeicoes = new ArrayList<>();
+    
+    // Construtor padrão
+    public ImportacaoResultadoDTO() {}
+    
+    /**
+     * Registra uma linha rejeitada, guardando o detalhe só até o limite informado.
+     */
+    public void rejeitar(long linha, String motivo, int maximoDetalhado) {
+        rejeitados++;
+        if (rejeicoes.size() < maximoDetalhado) {
+            rejeicoes.add(new LinhaRejeitadaDTO(linha, motivo));
+        } else {
+            rejeicoesTruncadas = true;
+        }
+    }
+    
+    // Getters e Setters
+    public long getLinhasLidas() { return linhasLidas; }
+    public void setLinhasLidas(long linhasLidas) { this.linhasLidas = linhasLidas; }
+    
+    public long getImportados() { return importados; }
+    public void setImportados(long importados) { this.importados = importados; }
+    
+    public long getRejeitados() { return rejeitados; }
+    public void setRejeitados(long rejeitados) { this.rejeitados = rejeitados; }
+    
+    public boolean isRejeicoesTruncadas() { return rejeicoesTruncadas; }
+    public void setRejeicoesTruncadas(boolean rejeicoesTruncadas) { this.rejeicoesTruncadas = rejeicoesTruncadas; }
+    
+    public List<LinhaRejeitadaDTO> getRejeicoes() { return rejeicoes; }
+    public void setRejeicoes(List<LinhaRejeitadaDTO> rejeicoes) { this.rejeicoes = rejeicoes; }
+}
@@ -0,0 +1,29 @@
+package com.desafio.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class ItemMontagemDTO {
+    
+    @NotNull(message = "ID do pneu é obrigatório")
+    private Long idPneu;
+    
+    @NotBlank(message = "Posição é obrigatória")
+    private String posicao;
+    
+    // Construtor padrão
+    public ItemMontagemDTO() {}
+    
+    // Construtor com parâmetros
+    public ItemMontagemDTO(Long idPneu, String posicao) {
+        this.idPneu = idPneu;
+        this.posicao = posicao;
+    }
+    
+    // Getters e Setters
+    public Long getIdPneu() { return idPneu; }
+    public void setIdPneu(Long idPneu) { this.idPneu = idPneu; }
+    
+    public String getPosicao() { return posicao; }
+    public void setPosicao(String posicao) { this.posicao = posicao; }
+}
@@ -0,0 +1,61 @@
+package com.desafio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Leitura de pressão enviada pelos sensores (TPMS).
+ * O pneu é identificado pelo ID ou pelo número de fogo.
+ */
+public class LeituraPressaoDTO {
+    
+    private Long idPneu;
+    
+    private String numeroFogo;
+    
+    @NotNull(message = "Pressão é obrigatória")
+    @Positive(message = "Pressão deve ser positiva")
+    private Double pressao;
+    
+    // Momento da leitura no sensor; se ausente ou no futuro, vale o momento do recebimento
+    private LocalDateTime dataLeitura;
+    
+    // Construtor padrão
+    public LeituraPressaoDTO() {}
+    
+    // Construtor para leituras do histórico (sempre identificadas pelo ID)
+    public LeituraPressaoDTO(Long idPneu, Double pressao, LocalDateTime dataLeitura) {
+        this(idPneu, null, pressao, dataLeitura);
+    }
+    
+    // Construtor com parâmetros
+    public LeituraPressaoDTO(Long idPneu, String numeroFogo, Double pressao, LocalDateTime dataLeitura) {
+        this.idPneu = idPneu;
+        this.numeroFogo = numeroFogo;
+        this.pressao = pressao;
+        this.dataLeitura = dataLeitura;
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Informe o ID do pneu ou o número de fogo")
+    public boolean isPneuIdentificado() {
+        return idPneu != null || (numeroFogo != null && !numeroFogo.isBlank());
+    }
+    
+    // Getters e Setters
+    public Long getIdPneu() { return idPneu; }
+    public void setIdPneu(Long idPneu) { this.idPneu = idPneu; }
+    
+    public String getNumeroFogo() { return numeroFogo; }
+    public void setNumeroFogo(String numeroFogo) { this.numeroFogo = numeroFogo; }
+    
+    public Double getPressao() { return pressao; }
+    public void setPressao(Double pressao) { this.pressao = pressao; }
+    
+    public LocalDateTime getDataLeitura() { return dataLeitura; }
+    public void setDataLeitura(LocalDateTime dataLeitura) { this.dataLeitura = dataLeitura; }
+}
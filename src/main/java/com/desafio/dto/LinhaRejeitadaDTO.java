@@ -0,0 +1,26 @@
+package com.desafio.dto;
+
+/**
+ * Linha rejeitada em uma importação, com o número da linha no arquivo e o motivo.
+ */
+public class LinhaRejeitadaDTO {
+    
+    private long linha;
+    private String motivo;
+    
+    // Construtor padrão
+    public LinhaRejeitadaDTO() {}
+    
+    // Construtor com parâmetros
+    public LinhaRejeitadaDTO(long linha, String motivo) {
+        this.linha = linha;
+        this.motivo = motivo;
+    }
+    
+    // Getters e Setters
+    public long getLinha() { return linha; }
+    public void setLinha(long linha) { this.linha = linha; }
+    
+    public String getMotivo() { return motivo; }
+    public void setMotivo(String motivo) { this.motivo = motivo; }
+}
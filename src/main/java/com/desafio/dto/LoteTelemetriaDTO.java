@@ -0,0 +1,31 @@
+package com.desafio.dto;
+
+import com.desafio.constant.ApiConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Lote de leituras de pressão enviado de uma só vez.
+ */
+public class LoteTelemetriaDTO {
+    
+    @NotEmpty(message = "Informe ao menos uma leitura")
+    @Size(max = ApiConstants.MAX_TELEMETRY_BATCH_SIZE, message = "O lote deve ter no máximo " + ApiConstants.MAX_TELEMETRY_BATCH_SIZE + " leituras")
+    @Valid
+    private List<LeituraPressaoDTO> leituras;
+    
+    // Construtor padrão
+    public LoteTelemetriaDTO() {}
+    
+    // Construtor com parâmetros
+    public LoteTelemetriaDTO(List<LeituraPressaoDTO> leituras) {
+        this.leituras = leituras;
+    }
+    
+    // Getters e Setters
+    public List<LeituraPressaoDTO> getLeituras() { return leituras; }
+    public void setLeituras(List<LeituraPressaoDTO> leituras) { this.leituras = leituras; }
+}
@@ -0,0 +1,36 @@
+package com.desafio.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Requisição para montar vários pneus em um veículo de uma só vez.
+ */
+public class MontagemLoteDTO {
+    
+    @NotNull(message = "ID do veículo é obrigatório")
+    private Long idVeiculo;
+    
+    @NotEmpty(message = "Informe ao menos um pneu")
+    @Valid
+    private List<ItemMontagemDTO> itens;
+    
+    // Construtor padrão
+    public MontagemLoteDTO() {}
+    
+    // Construtor com parâmetros
+    public MontagemLoteDTO(Long idVeiculo, List<ItemMontagemDTO> itens) {
+        this.idVeiculo = idVeiculo;
+        this.itens = itens;
+    }
+    
+    // Getters e Setters
+    public Long getIdVeiculo() { return idVeiculo; }
+    public void setIdVeiculo(Long idVeiculo) { this.idVeiculo = idVeiculo; }
+    
+    public List<ItemMontagemDTO> getItens() { return itens; }
+    public void setItens(List<ItemMontagemDTO> itens) { this.itens = itens; }
+}
@@ -0,0 +1,38 @@
+package com.desafio.dto;
+
+import java.util.List;
+
+/**
+ * Resposta da montagem em lote, com um resultado por item na ordem da requisição.
+ */
+public class MontagemLoteResultadoDTO {
+    
+    private Long idVeiculo;
+    private long montados;
+    private long rejeitados;
+    private List<ResultadoMontagemDTO> resultados;
+    
+    // Construtor padrão
+    public MontagemLoteResultadoDTO() {}
+    
+    // Construtor com parâmetros
+    public MontagemLoteResultadoDTO(Long idVeiculo, List<ResultadoMontagemDTO> resultados) {
+        this.idVeiculo = idVeiculo;
+        this.resultados = resultados;
+        this.montados = resultados.stream().filter(ResultadoMontagemDTO::isMontado).count();
+        this.rejeitados = resultados.size() - montados;
+    }
+    
+    // Getters e Setters
+    public Long getIdVeiculo() { return idVeiculo; }
+    public void setIdVeiculo(Long idVeiculo) { this.idVeiculo = idVeiculo; }
+    
+    public long getMontados() { return montados; }
+    public void setMontados(long montados) { this.montados = montados; }
+    
+    public long getRejeitados() { return rejeitados; }
+    public void setRejeitados(long rejeitados) { this.rejeitados = rejeitados; }
+    
+    public List<ResultadoMontagemDTO> getResultados() { return resultados; }
+    public void setResultados(List<ResultadoMontagemDTO> resultados) { this.resultados = resultados; }
+}
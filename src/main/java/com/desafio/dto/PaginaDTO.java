@@ -0,0 +1,43 @@
+package com.desafio.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (keyset no id).
+ * O próximo cursor é o id do último item, ou null quando não há mais páginas.
+ */
+public class PaginaDTO<T> {
+
+    private final List<T> itens;
+    private final Long proximoCursor;
+
+    public PaginaDTO(List<T> itens, Long proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou um item a mais que o limite.
+     * O item extra só indica que existe próxima página e é descartado.
+     * 
+     * @param resultados Resultados da consulta (até limite + 1 itens)
+     * @param limite Tamanho da página
+     * @param extrairId Função que obtém o id (cursor) de um resultado
+     * @param conversor Função de conversão para o DTO
+     * @return Página com no máximo {@code limite} itens
+     */
+    public static <E, T> PaginaDTO<T> deResultados(List<E> resultados, int limite,
+                                                   Function<E, Long> extrairId, Function<E, T> conversor) {
+        boolean temMais = resultados.size() > limite;
+        List<E> pagina = temMais ? resultados.subList(0, limite) : resultados;
+        Long proximoCursor = temMais ? extrairId.apply(pagina.get(pagina.size() - 1)) : null;
+        return new PaginaDTO<>(pagina.stream().map(conversor).toList(), proximoCursor);
+    }
+    
+    // Getters
+    public List<T> getItens() { return itens; }
+    public Long getProximoCursor() { return proximoCursor; }
+
+    public boolean temProximaPagina() { return proximoCursor != null; }
+}
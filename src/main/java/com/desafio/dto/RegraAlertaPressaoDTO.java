@@ -0,0 +1,64 @@
+package com.desafio.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * Regra de alerta de pressão baixa.
+ * Marca, veículo e posição são opcionais; a regra mais específica que casar com o pneu define o limite.
+ */
+public class RegraAlertaPressaoDTO {
+    
+    private Long id;
+    
+    @Size(max = 100, message = "Marca deve ter no máximo 100 caracteres")
+    private String marca;
+    
+    private Long idVeiculo;
+    
+    @Size(max = 20, message = "Posição deve ter no máximo 20 caracteres")
+    private String posicao;
+    
+    @NotNull(message = "Limite mínimo é obrigatório")
+    @Positive(message = "Limite mínimo deve ser positivo")
+    private Double limiteMinimo;
+    
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+    
+    // Construtor padrão
+    public RegraAlertaPressaoDTO() {}
+    
+    // Construtor com parâmetros
+    public RegraAlertaPressaoDTO(String marca, Long idVeiculo, String posicao, Double limiteMinimo) {
+        this.marca = marca;
+        this.idVeiculo = idVeiculo;
+        this.posicao = posicao;
+        this.limiteMinimo = limiteMinimo;
+    }
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getMarca() { return marca; }
+    public void setMarca(String marca) { this.marca = marca; }
+    
+    public Long getIdVeiculo() { return idVeiculo; }
+    public void setIdVeiculo(Long idVeiculo) { this.idVeiculo = idVeiculo; }
+    
+    public String getPosicao() { return posicao; }
+    public void setPosicao(String posicao) { this.posicao = posicao; }
+    
+    public Double getLimiteMinimo() { return limiteMinimo; }
+    public void setLimiteMinimo(Double limiteMinimo) { this.limiteMinimo = limiteMinimo; }
+    
+    public LocalDateTime getDataCriacao() { return dataCriacao; }
+    public void setDataCriacao(LocalDateTime dataCriacao) { this.dataCriacao = dataCriacao; }
+    
+    public LocalDateTime getDataAtualizacao() { return dataAtualizacao; }
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) { this.dataAtualizacao = dataAtualizacao; }
+}
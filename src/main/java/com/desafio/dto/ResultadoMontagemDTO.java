@@ -0,0 +1,50 @@
+package com.desafio.dto;
+
+/**
+ * Resultado de um item da montagem em lote: a aplicação criada ou o motivo da rejeição.
+ */
+public class ResultadoMontagemDTO {
+    
+    private Long idPneu;
+    private String posicao;
+    private boolean montado;
+    private String motivo;
+    private VeiculoPneuDTO aplicacao;
+    
+    // Construtor padrão
+    public ResultadoMontagemDTO() {}
+    
+    public static ResultadoMontagemDTO montado(VeiculoPneuDTO aplicacao) {
+        ResultadoMontagemDTO resultado = new ResultadoMontagemDTO();
+        resultado.idPneu = aplicacao.getIdPneu();
+        resultado.posicao = aplicacao.getPosicao();
+        resultado.montado = true;
+        resultado.aplicacao = aplicacao;
+        return resultado;
+    }
+    
+    public static ResultadoMontagemDTO rejeitado(ItemMontagemDTO item, String motivo) {
+        ResultadoMontagemDTO resultado = new ResultadoMontagemDTO();
+        resultado.idPneu = item.getIdPneu();
+        resultado.posicao = item.getPosicao();
+        resultado.montado = false;
+        resultado.motivo = motivo;
+        return resultado;
+    }
+    
+    // Getters e Setters
+    public Long getIdPneu() { return idPneu; }
+    public void setIdPneu(Long idPneu) { this.idPneu = idPneu; }
+    
+    public String getPosicao() { return posicao; }
+    public void setPosicao(String posicao) { this.posicao = posicao; }
+    
+    public boolean isMontado() { return montado; }
+    public void setMontado(boolean montado) { this.montado = montado; }
+    
+    public String getMotivo() { return motivo; }
+    public void setMotivo(String motivo) { this.motivo = motivo; }
+    
+    public VeiculoPneuDTO getAplicacao() { return aplicacao; }
+    public void setAplicacao(VeiculoPneuDTO aplicacao) { this.aplicacao = aplicacao; }
+}
@@ -0,0 +1,10 @@
+package com.desafio.dto;
+
+/**
+ * Resultado de um upsert: o registro gravado e se ele foi criado (201) ou atualizado (200).
+ *
+ * @param dados Registro gravado
+ * @param criado true se o registro não existia
+ */
+public record ResultadoUpsert<T>(T dados, boolean criado) {
+}
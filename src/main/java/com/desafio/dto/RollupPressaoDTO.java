@@ -0,0 +1,43 @@
+package com.desafio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pressão agregada em um bucket de tempo: quantidade de leituras, mínima, média e máxima.
+ */
+public class RollupPressaoDTO {
+    
+    private LocalDateTime inicioBucket;
+    private Long leituras;
+    private Double minimo;
+    private Double media;
+    private Double maximo;
+    
+    // Construtor padrão
+    public RollupPressaoDTO() {}
+    
+    // Construtor usado pelas consultas (a média é calculada a partir da soma)
+    public RollupPressaoDTO(LocalDateTime inicioBucket, Long leituras, Double soma, Double minimo, Double maximo) {
+        this.inicioBucket = inicioBucket;
+        this.leituras = leituras;
+        this.minimo = minimo;
+        this.media = leituras != null && leituras > 0 ? soma / leituras : null;
+        this.maximo = maximo;
+    }
+    
+    // Getters e Setters
+    public LocalDateTime getInicioBucket() { return inicioBucket; }
+    public void setInicioBucket(LocalDateTime inicioBucket) { this.inicioBucket = inicioBucket; }
+    
+    public Long getLeituras() { return leituras; }
+    public void setLeituras(Long leituras) { this.leituras = leituras; }
+    
+    public Double getMinimo() { return minimo; }
+    public void setMinimo(Double minimo) { this.minimo = minimo; }
+    
+    public Double getMedia() { return media; }
+    public void setMedia(Double media) { this.media = media; }
+    
+    public Double getMaximo() { return maximo; }
+    public void setMaximo(Double maximo) { this.maximo = maximo; }
+}
@@ -0,0 +1,46 @@
+package com.desafio.dto;
+
+import com.desafio.model.TipoTransicaoAlerta;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada ou saída de um pneu do alarme de pressão baixa.
+ */
+public class TransicaoAlertaPressaoDTO {
+    
+    private TipoTransicaoAlerta tipo;
+    private Double pressao;
+    private Double limiteMinimo;
+    private Long idRegra;
+    private LocalDateTime dataTransicao;
+    
+    // Construtor padrão
+    public TransicaoAlertaPressaoDTO() {}
+    
+    // Construtor com parâmetros
+    public TransicaoAlertaPressaoDTO(TipoTransicaoAlerta tipo, Double pressao, Double limiteMinimo,
+                                     Long idRegra, LocalDateTime dataTransicao) {
+        this.tipo = tipo;
+        this.pressao = pressao;
+        this.limiteMinimo = limiteMinimo;
+        this.idRegra = idRegra;
+        this.dataTransicao = dataTransicao;
+    }
+    
+    // Getters e Setters
+    public TipoTransicaoAlerta getTipo() { return tipo; }
+    public void setTipo(TipoTransicaoAlerta tipo) { this.tipo = tipo; }
+    
+    public Double getPressao() { return pressao; }
+    public void setPressao(Double pressao) { this.pressao = pressao; }
+    
+    public Double getLimiteMinimo() { return limiteMinimo; }
+    public void setLimiteMinimo(Double limiteMinimo) { this.limiteMinimo = limiteMinimo; }
+    
+    public Long getIdRegra() { return idRegra; }
+    public void setIdRegra(Long idRegra) { this.idRegra = idRegra; }
+    
+    public LocalDateTime getDataTransicao() { return dataTransicao; }
+    public void setDataTransicao(LocalDateTime dataTransicao) { this.dataTransicao = dataTransicao; }
+}
@@ -0,0 +1,12 @@
+package com.desafio.event;
+
+/**
+ * Publicado quando um pneu é retirado de um veículo.
+ * Leva o veículo e a posição porque, depois do commit, o vínculo já não existe no banco.
+ *
+ * @param idVeiculo Veículo de onde o pneu saiu
+ * @param idPneu Pneu retirado
+ * @param posicao Posição que ficou livre
+ */
+public record PneuDesvinculadoEvent(Long idVeiculo, Long idPneu, String posicao) {
+}
@@ -0,0 +1,27 @@
+package com.desafio.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Publicado quando pressão, marca ou vínculo de pneus mudam (ou pneus são criados ou removidos).
+ * Os ouvintes reagem depois do commit e releem o estado atual do banco.
+ * Eles rodam na thread de quem alterou, que ainda segura a conexão da requisição: pedir outra conexão
+ * ali esgota o pool sob carga, então as consultas ao banco ficam em uma thread própria do ouvinte.
+ *
+ * @param idsPneus Pneus afetados
+ */
+public record PneusAlteradosEvent(Set<Long> idsPneus) {
+    
+    public PneusAlteradosEvent {
+        idsPneus = Set.copyOf(idsPneus);
+    }
+    
+    public static PneusAlteradosEvent de(Long idPneu) {
+        return new PneusAlteradosEvent(Set.of(idPneu));
+    }
+    
+    public static PneusAlteradosEvent de(Collection<Long> idsPneus) {
+        return new PneusAlteradosEvent(Set.copyOf(idsPneus));
+    }
+}
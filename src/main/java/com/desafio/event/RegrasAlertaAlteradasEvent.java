@@ -0,0 +1,7 @@
+package com.desafio.event;
+
+/**
+ * Publicado quando uma regra de alerta de pressão é criada, alterada ou removida.
+ */
+public record RegrasAlertaAlteradasEvent() {
+}
@@ -0,0 +1,9 @@
+package com.desafio.event;
+
+/**
+ * Publicado quando os dados de um veículo são alterados ou o veículo é removido.
+ *
+ * @param idVeiculo Veículo alterado
+ */
+public record VeiculoAlteradoEvent(Long idVeiculo) {
+}
@@ -0,0 +1,19 @@
+package com.desafio.exception;
+
+/**
+ * Exceção lançada quando uma fila de processamento está cheia.
+ * Indica ao cliente que deve reenviar depois do tempo informado (429).
+ */
+public class FilaCheiaException extends RuntimeException {
+    
+    private final long retryAfterSegundos;
+    
+    public FilaCheiaException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+    
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
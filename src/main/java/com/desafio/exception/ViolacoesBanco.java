@@ -0,0 +1,53 @@
+package com.desafio.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Identifica violações de constraint vindas do banco.
+ * O SQLState 23505 (unique_violation) é o mesmo no PostgreSQL e no H2.
+ */
+public final class ViolacoesBanco {
+    
+    private static final String UNIQUE_VIOLATION = "23505";
+    
+    /**
+     * Verifica se a exceção foi causada por uma constraint UNIQUE.
+     * 
+     * @param ex Exceção traduzida pelo Spring
+     * @return true se algum SQLException da cadeia tiver o SQLState 23505
+     */
+    public static boolean isViolacaoUnicidade(DataIntegrityViolationException ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Verifica se a exceção foi causada por uma constraint UNIQUE específica.
+     * O nome é procurado na mensagem do banco, que o PostgreSQL e o H2 incluem (o H2 em maiúsculas).
+     * 
+     * @param ex Exceção traduzida pelo Spring
+     * @param constraint Nome da constraint
+     * @return true se for violação de unicidade dessa constraint
+     */
+    public static boolean isViolacaoUnicidade(DataIntegrityViolationException ex, String constraint) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                String mensagem = sqlException.getMessage();
+                return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(constraint.toLowerCase(Locale.ROOT));
+            }
+        }
+        return false;
+    }
+    
+    // Construtor privado para evitar instanciação
+    private ViolacoesBanco() {
+        throw new UnsupportedOperationException("Esta classe não pode ser instanciada");
+    }
+}
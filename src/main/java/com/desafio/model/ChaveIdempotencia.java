@@ -0,0 +1,56 @@
+package com.desafio.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key recebida em uma requisição de escrita e a resposta guardada para ela.
+ * Gravada e lida com JDBC pelo ArmazenamentoIdempotenciaBanco; a entidade só descreve a tabela.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class ChaveIdempotencia {
+    
+    // Usuário e chave informada pelo cliente
+    @Id
+    @Column(length = 400)
+    private String chave;
+    
+    // SHA-256 do método, URI e corpo da requisição original
+    @Column(nullable = false, length = 64)
+    private String impressao;
+    
+    // Null enquanto a requisição original está em processamento
+    private Integer status;
+    
+    @Column(length = 2000)
+    private String headers;
+    
+    @Column(length = 1048576)
+    private byte[] corpo;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Construtor padrão
+    public ChaveIdempotencia() {}
+    
+    // Getters
+    public String getChave() { return chave; }
+    
+    public String getImpressao() { return impressao; }
+    
+    public Integer getStatus() { return status; }
+    
+    public String getHeaders() { return headers; }
+    
+    public byte[] getCorpo() { return corpo; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
@@ -0,0 +1,33 @@
+package com.desafio.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum GranularidadeRollup {
+    MINUTO(ChronoUnit.MINUTES, Duration.ofDays(1)),
+    HORA(ChronoUnit.HOURS, Duration.ofDays(31)),
+    DIA(ChronoUnit.DAYS, Duration.ofDays(366));
+    
+    private final ChronoUnit unidade;
+    private final Duration janelaMaxima;
+    
+    GranularidadeRollup(ChronoUnit unidade, Duration janelaMaxima) {
+        this.unidade = unidade;
+        this.janelaMaxima = janelaMaxima;
+    }
+    
+    /**
+     * Início do bucket ao qual o instante pertence.
+     */
+    public LocalDateTime inicioDoBucket(LocalDateTime instante) {
+        return instante.truncatedTo(unidade);
+    }
+    
+    /**
+     * Maior janela aceita em uma consulta, para limitar a quantidade de buckets retornados.
+     */
+    public Duration getJanelaMaxima() {
+        return janelaMaxima;
+    }
+}
@@ -0,0 +1,57 @@
+package com.desafio.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Leitura histórica de pressão de um pneu.
+ * Registro somente de inserção: a tabela é particionada por read_at no PostgreSQL.
+ */
+@Entity
+@Immutable
+@Table(name = "tire_pressure_readings")
+public class LeituraPressao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tire_pressure_readings_seq")
+    @SequenceGenerator(name = "tire_pressure_readings_seq", sequenceName = "tire_pressure_readings_seq", allocationSize = 50)
+    private Long id;
+    
+    // Apenas o id: o histórico é lido por pneu e não precisa carregar a entidade Pneu
+    @Column(name = "tire_id", nullable = false)
+    private Long idPneu;
+    
+    @Column(nullable = false)
+    private Double pressao;
+    
+    @Column(name = "read_at", nullable = false)
+    private LocalDateTime dataLeitura;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Construtor padrão
+    public LeituraPressao() {}
+    
+    // Construtor com parâmetros
+    public LeituraPressao(Long idPneu, Double pressao, LocalDateTime dataLeitura) {
+        this.idPneu = idPneu;
+        this.pressao = pressao;
+        this.dataLeitura = dataLeitura;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public Long getIdPneu() { return idPneu; }
+    
+    public Double getPressao() { return pressao; }
+    
+    public LocalDateTime getDataLeitura() { return dataLeitura; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -15,7 +15,8 @@ import java.util.List;
 public class Pneu {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tires_seq")
+    @SequenceGenerator(name = "tires_seq", sequenceName = "tires_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Número de fogo é obrigatório")
@@ -31,6 +32,10 @@ public class Pneu {
     @Column(name = "pressao_atual", nullable = false)
     private Double pressaoAtual;
     
+    // Data da leitura que definiu a pressão atual (telemetria ou atualização manual)
+    @Column(name = "last_read_at")
+    private LocalDateTime dataUltimaLeitura;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StatusPneu status = StatusPneu.DISPONIVEL;
@@ -43,6 +48,11 @@ public class Pneu {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Lock otimista: montagens e alterações concorrentes do mesmo pneu não se sobrescrevem
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "pneu", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<VeiculoPneu> veiculoPneus;
     
@@ -69,6 +79,12 @@ public class Pneu {
     public Double getPressaoAtual() { return pressaoAtual; }
     public void setPressaoAtual(Double pressaoAtual) { this.pressaoAtual = pressaoAtual; }
     
+    public LocalDateTime getDataUltimaLeitura() { return dataUltimaLeitura; }
+    public void setDataUltimaLeitura(LocalDateTime dataUltimaLeitura) { this.dataUltimaLeitura = dataUltimaLeitura; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public StatusPneu getStatus() { return status; }
     public void setStatus(StatusPneu status) { this.status = status; }
     
@@ -0,0 +1,89 @@
+package com.desafio.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Regra de alerta de pressão baixa.
+ * Marca, veículo e posição são filtros opcionais: nulo vale para qualquer valor.
+ */
+@Entity
+@Table(name = "tire_pressure_alert_rules")
+public class RegraAlertaPressao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tire_pressure_alert_rules_seq")
+    @SequenceGenerator(name = "tire_pressure_alert_rules_seq", sequenceName = "tire_pressure_alert_rules_seq", allocationSize = 50)
+    private Long id;
+    
+    private String marca;
+    
+    // Apenas o id: a regra é avaliada em memória junto com o vínculo do pneu
+    @Column(name = "vehicle_id")
+    private Long idVeiculo;
+    
+    @Column(name = "position")
+    private String posicao;
+    
+    @Column(name = "limite_minimo", nullable = false)
+    private Double limiteMinimo;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Construtor padrão
+    public RegraAlertaPressao() {}
+    
+    /**
+     * Verifica se a regra se aplica a um pneu com a marca e o vínculo informados.
+     * 
+     * @param marcaPneu Marca do pneu
+     * @param idVeiculoPneu Veículo onde o pneu está montado (null se não estiver)
+     * @param posicaoPneu Posição no veículo (null se não estiver montado)
+     * @return true se todos os filtros preenchidos da regra casarem
+     */
+    public boolean aplicaA(String marcaPneu, Long idVeiculoPneu, String posicaoPneu) {
+        return (marca == null || marca.equalsIgnoreCase(marcaPneu))
+            && (idVeiculo == null || idVeiculo.equals(idVeiculoPneu))
+            && (posicao == null || posicao.equals(posicaoPneu));
+    }
+    
+    /**
+     * Quanto mais filtros, mais específica a regra; veículo pesa mais que posição, que pesa mais que marca.
+     * 
+     * @return Peso da especificidade
+     */
+    public int getEspecificidade() {
+        return (idVeiculo != null ? 4 : 0) + (posicao != null ? 2 : 0) + (marca != null ? 1 : 0);
+    }
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getMarca() { return marca; }
+    public void setMarca(String marca) { this.marca = marca; }
+    
+    public Long getIdVeiculo() { return idVeiculo; }
+    public void setIdVeiculo(Long idVeiculo) { this.idVeiculo = idVeiculo; }
+    
+    public String getPosicao() { return posicao; }
+    public void setPosicao(String posicao) { this.posicao = posicao; }
+    
+    public Double getLimiteMinimo() { return limiteMinimo; }
+    public void setLimiteMinimo(Double limiteMinimo) { this.limiteMinimo = limiteMinimo; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,99 @@
+package com.desafio.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Agregado de pressão de um pneu em um bucket de tempo (minuto, hora ou dia).
+ * Guarda soma e quantidade para que a média possa ser combinada entre buckets e pneus.
+ * Mantido pelo RollupPressaoService via MERGE; o Hibernate só lê.
+ */
+@Entity
+@Immutable
+@Table(name = "tire_pressure_rollups")
+@IdClass(RollupPressao.Chave.class)
+public class RollupPressao {
+    
+    @Id
+    @Column(name = "tire_id")
+    private Long idPneu;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private GranularidadeRollup granularidade;
+    
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime inicioBucket;
+    
+    @Column(nullable = false)
+    private Long leituras;
+    
+    @Column(nullable = false)
+    private Double soma;
+    
+    @Column(nullable = false)
+    private Double minimo;
+    
+    @Column(nullable = false)
+    private Double maximo;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Construtor padrão
+    public RollupPressao() {}
+    
+    // Getters
+    public Long getIdPneu() { return idPneu; }
+    
+    public GranularidadeRollup getGranularidade() { return granularidade; }
+    
+    public LocalDateTime getInicioBucket() { return inicioBucket; }
+    
+    public Long getLeituras() { return leituras; }
+    
+    public Double getSoma() { return soma; }
+    
+    public Double getMinimo() { return minimo; }
+    
+    public Double getMaximo() { return maximo; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    
+    /**
+     * Chave composta: pneu, granularidade e início do bucket.
+     */
+    public static class Chave implements Serializable {
+        private Long idPneu;
+        private GranularidadeRollup granularidade;
+        private LocalDateTime inicioBucket;
+        
+        public Chave() {}
+        
+        public Chave(Long idPneu, GranularidadeRollup granularidade, LocalDateTime inicioBucket) {
+            this.idPneu = idPneu;
+            this.granularidade = granularidade;
+            this.inicioBucket = inicioBucket;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave chave)) return false;
+            return Objects.equals(idPneu, chave.idPneu)
+                && granularidade == chave.granularidade
+                && Objects.equals(inicioBucket, chave.inicioBucket);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(idPneu, granularidade, inicioBucket);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.desafio.model;
+
+/**
+ * Transição de estado de alarme de pressão de um pneu.
+ */
+public enum TipoTransicaoAlerta {
+    ENTRADA,
+    SAIDA
+}
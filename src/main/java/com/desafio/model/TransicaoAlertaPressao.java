@@ -0,0 +1,69 @@
+package com.desafio.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de entrada ou saída de um pneu do alarme de pressão baixa.
+ */
+@Entity
+@Immutable
+@Table(name = "tire_pressure_alert_transitions")
+public class TransicaoAlertaPressao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tire_pressure_alert_transitions_seq")
+    @SequenceGenerator(name = "tire_pressure_alert_transitions_seq", sequenceName = "tire_pressure_alert_transitions_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "tire_id", nullable = false)
+    private Long idPneu;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TipoTransicaoAlerta tipo;
+    
+    @Column(nullable = false)
+    private Double pressao;
+    
+    @Column(name = "limite_minimo", nullable = false)
+    private Double limiteMinimo;
+    
+    // Null quando valeu o limite padrão
+    @Column(name = "rule_id")
+    private Long idRegra;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Construtor padrão
+    public TransicaoAlertaPressao() {}
+    
+    // Construtor com parâmetros
+    public TransicaoAlertaPressao(Long idPneu, TipoTransicaoAlerta tipo, Double pressao, Double limiteMinimo, Long idRegra) {
+        this.idPneu = idPneu;
+        this.tipo = tipo;
+        this.pressao = pressao;
+        this.limiteMinimo = limiteMinimo;
+        this.idRegra = idRegra;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public Long getIdPneu() { return idPneu; }
+    
+    public TipoTransicaoAlerta getTipo() { return tipo; }
+    
+    public Double getPressao() { return pressao; }
+    
+    public Double getLimiteMinimo() { return limiteMinimo; }
+    
+    public Long getIdRegra() { return idRegra; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
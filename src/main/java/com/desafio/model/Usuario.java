@@ -24,7 +24,8 @@ import java.util.List;
 public class Usuario implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false, length = 100)
@@ -40,6 +41,15 @@ public class Usuario implements UserDetails {
     @Column(nullable = false)
     private Role role = Role.USER;
     
+    /**
+     * Versão dos tokens do usuário. Incrementar invalida todos os tokens já emitidos.
+     */
+    @Column(name = "versao_token", nullable = false)
+    private Integer versaoToken = 0;
+    
+    @Column(nullable = false)
+    private Boolean ativo = true;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -89,7 +99,7 @@ public class Usuario implements UserDetails {
     
     @Override
     public boolean isEnabled() {
-        return true;
+        return Boolean.TRUE.equals(ativo);
     }
     
     public enum Role {
@@ -1,11 +1,16 @@
 package com.desafio.model;
 
+import com.desafio.constant.ApiConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,14 +18,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "vehicles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ApiConstants.CACHE_REGION_VEHICLES)
+@NaturalIdCache(region = ApiConstants.CACHE_REGION_VEHICLE_PLATES)
 public class Veiculo {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_seq")
+    @SequenceGenerator(name = "vehicles_seq", sequenceName = "vehicles_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Placa é obrigatória")
     @Pattern(regexp = "[A-Z]{3}[0-9][0-9A-Z][0-9]{2}", message = "Placa deve estar no formato Mercosul (ABC1D23)")
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String placa;
     
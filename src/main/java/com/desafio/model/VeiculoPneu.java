@@ -9,12 +9,14 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "vehicle_tires", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"vehicle_id", "position"})
+    @UniqueConstraint(columnNames = {"vehicle_id", "position"}),
+    @UniqueConstraint(name = "uk_vehicle_tires_tire", columnNames = {"tire_id"})
 })
 public class VeiculoPneu {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_tires_seq")
+    @SequenceGenerator(name = "vehicle_tires_seq", sequenceName = "vehicle_tires_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,25 @@
+package com.desafio.repository;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.model.LeituraPressao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LeituraPressaoRepository extends JpaRepository<LeituraPressao, Long> {
+    
+    // Histórico de um pneu em uma janela [inicio, fim); o filtro em read_at restringe as partições lidas
+    @Query("SELECT new com.desafio.dto.LeituraPressaoDTO(l.idPneu, l.pressao, l.dataLeitura) " +
+           "FROM LeituraPressao l WHERE l.idPneu = :idPneu " +
+           "AND l.dataLeitura >= :inicio AND l.dataLeitura < :fim ORDER BY l.dataLeitura")
+    List<LeituraPressaoDTO> buscarHistorico(@Param("idPneu") Long idPneu,
+                                            @Param("inicio") LocalDateTime inicio,
+                                            @Param("fim") LocalDateTime fim,
+                                            Limit limit);
+}
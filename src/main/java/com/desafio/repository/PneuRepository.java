@@ -1,12 +1,26 @@
 package com.desafio.repository;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.PneuDTO;
 import com.desafio.model.Pneu;
 import com.desafio.model.StatusPneu;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PneuRepository extends JpaRepository<Pneu, Long> {
@@ -17,6 +31,19 @@ public interface PneuRepository extends JpaRepository<Pneu, Long> {
     // Verificar se existe pneu com este número de fogo
     boolean existsByNumeroFogo(String numeroFogo);
     
+    // Pneu travado (SELECT ... FOR UPDATE) para a troca de status na montagem e na desmontagem
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pneu p WHERE p.id = :id")
+    Optional<Pneu> findByIdParaAtualizacao(@Param("id") Long id);
+    
+    // Versão do pneu (ETag) sem carregar a entidade
+    @Query("SELECT COALESCE(p.updatedAt, p.createdAt) FROM Pneu p WHERE p.id = :id")
+    Optional<LocalDateTime> buscarVersao(@Param("id") Long id);
+    
+    // Quais dos números de fogo informados já estão cadastrados (validação da importação em massa)
+    @Query("SELECT p.numeroFogo FROM Pneu p WHERE p.numeroFogo IN :numerosFogo")
+    Set<String> findNumerosFogoExistentes(@Param("numerosFogo") Collection<String> numerosFogo);
+    
     // Buscar pneus por marca
     List<Pneu> findByMarcaContainingIgnoreCase(String marca);
     
@@ -31,4 +58,47 @@ public interface PneuRepository extends JpaRepository<Pneu, Long> {
     
     // Buscar pneus com pressão entre X e Y
     List<Pneu> findByPressaoAtualBetween(Double pressaoMinima, Double pressaoMaxima);
-} 
\ No newline at end of file
+    
+    // Página de pneus após o cursor (keyset em id), com filtros opcionais; marca chega escapada para o LIKE
+    @Query("SELECT p FROM Pneu p WHERE p.id > :after " +
+           "AND (:status IS NULL OR p.status = :status) " +
+           "AND (:marca IS NULL OR LOWER(p.marca) LIKE LOWER(CONCAT('%', :marca, '%')) ESCAPE '\\') " +
+           "ORDER BY p.id")
+    List<Pneu> buscarPagina(@Param("after") Long after,
+                            @Param("status") StatusPneu status,
+                            @Param("marca") String marca,
+                            Limit limit);
+    
+    // Dados que as regras de alerta usam (marca e vínculo atual) dos pneus informados
+    @Query("SELECT p.id AS id, p.numeroFogo AS numeroFogo, p.marca AS marca, p.pressaoAtual AS pressaoAtual, " +
+           "vp.veiculo.id AS idVeiculo, vp.position AS posicao " +
+           "FROM Pneu p LEFT JOIN VeiculoPneu vp ON vp.pneu = p WHERE p.id IN :ids")
+    List<ContextoAlerta> buscarContextoAlerta(@Param("ids") Collection<Long> ids);
+    
+    // Mesmos dados, para os pneus abaixo de uma pressão (carga inicial do índice de alarmes)
+    @Query("SELECT p.id AS id, p.numeroFogo AS numeroFogo, p.marca AS marca, p.pressaoAtual AS pressaoAtual, " +
+           "vp.veiculo.id AS idVeiculo, vp.position AS posicao " +
+           "FROM Pneu p LEFT JOIN VeiculoPneu vp ON vp.pneu = p WHERE p.pressaoAtual < :pressao")
+    List<ContextoAlerta> buscarContextoAlertaAbaixoDe(@Param("pressao") Double pressao);
+    
+    // Todos os pneus como DTO, lidos por cursor (exige transação aberta e fechamento do Stream)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApiConstants.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.desafio.dto.PneuDTO(p.id, p.numeroFogo, p.marca, p.pressaoAtual, " +
+           "p.status, p.createdAt, p.updatedAt) FROM Pneu p ORDER BY p.id")
+    Stream<PneuDTO> streamTodosParaExportacao();
+    
+    /**
+     * Projeção com o que a avaliação de alertas de pressão precisa de um pneu.
+     */
+    interface ContextoAlerta {
+        Long getId();
+        String getNumeroFogo();
+        String getMarca();
+        Double getPressaoAtual();
+        Long getIdVeiculo();
+        String getPosicao();
+    }
+}
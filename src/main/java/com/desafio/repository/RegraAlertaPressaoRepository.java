@@ -0,0 +1,17 @@
+package com.desafio.repository;
+
+import com.desafio.model.RegraAlertaPressao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RegraAlertaPressaoRepository extends JpaRepository<RegraAlertaPressao, Long> {
+    
+    // Todas as regras em ordem de cadastro (desempate entre regras igualmente específicas)
+    List<RegraAlertaPressao> findAllByOrderById();
+    
+    // Verificar se já existe regra com o mesmo escopo (campos nulos comparados com IS NULL)
+    boolean existsByMarcaIgnoreCaseAndIdVeiculoAndPosicao(String marca, Long idVeiculo, String posicao);
+}
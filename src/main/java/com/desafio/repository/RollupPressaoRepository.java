@@ -0,0 +1,35 @@
+package com.desafio.repository;
+
+import com.desafio.dto.RollupPressaoDTO;
+import com.desafio.model.GranularidadeRollup;
+import com.desafio.model.RollupPressao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RollupPressaoRepository extends JpaRepository<RollupPressao, RollupPressao.Chave> {
+    
+    // Buckets de um pneu na janela [inicio, fim)
+    @Query("SELECT new com.desafio.dto.RollupPressaoDTO(r.inicioBucket, r.leituras, r.soma, r.minimo, r.maximo) " +
+           "FROM RollupPressao r WHERE r.idPneu = :idPneu AND r.granularidade = :granularidade " +
+           "AND r.inicioBucket >= :inicio AND r.inicioBucket < :fim ORDER BY r.inicioBucket")
+    List<RollupPressaoDTO> buscarPorPneu(@Param("idPneu") Long idPneu,
+                                         @Param("granularidade") GranularidadeRollup granularidade,
+                                         @Param("inicio") LocalDateTime inicio,
+                                         @Param("fim") LocalDateTime fim);
+    
+    // Buckets combinados dos pneus montados atualmente no veículo
+    @Query("SELECT new com.desafio.dto.RollupPressaoDTO(r.inicioBucket, SUM(r.leituras), SUM(r.soma), MIN(r.minimo), MAX(r.maximo)) " +
+           "FROM RollupPressao r, VeiculoPneu vp WHERE vp.pneu.id = r.idPneu AND vp.veiculo.id = :idVeiculo " +
+           "AND r.granularidade = :granularidade AND r.inicioBucket >= :inicio AND r.inicioBucket < :fim " +
+           "GROUP BY r.inicioBucket ORDER BY r.inicioBucket")
+    List<RollupPressaoDTO> buscarPorVeiculo(@Param("idVeiculo") Long idVeiculo,
+                                            @Param("granularidade") GranularidadeRollup granularidade,
+                                            @Param("inicio") LocalDateTime inicio,
+                                            @Param("fim") LocalDateTime fim);
+}
@@ -0,0 +1,26 @@
+package com.desafio.repository;
+
+import com.desafio.dto.TransicaoAlertaPressaoDTO;
+import com.desafio.model.TransicaoAlertaPressao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TransicaoAlertaPressaoRepository extends JpaRepository<TransicaoAlertaPressao, Long> {
+    
+    // Transições mais recentes de um pneu
+    @Query("SELECT new com.desafio.dto.TransicaoAlertaPressaoDTO(t.tipo, t.pressao, t.limiteMinimo, t.idRegra, t.createdAt) " +
+           "FROM TransicaoAlertaPressao t WHERE t.idPneu = :idPneu ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransicaoAlertaPressaoDTO> buscarPorPneu(@Param("idPneu") Long idPneu, Limit limit);
+    
+    // Entradas em alarme que são a última transição do pneu (alarmes ainda abertos)
+    @Query("SELECT t FROM TransicaoAlertaPressao t WHERE t.tipo = com.desafio.model.TipoTransicaoAlerta.ENTRADA " +
+           "AND NOT EXISTS (SELECT 1 FROM TransicaoAlertaPressao p WHERE p.idPneu = t.idPneu " +
+           "AND (p.createdAt > t.createdAt OR (p.createdAt = t.createdAt AND p.id > t.id)))")
+    List<TransicaoAlertaPressao> buscarAlarmesAbertos();
+}
@@ -27,4 +27,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @return true se o email já existe, false caso contrário
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Busca apenas a versão de token e o status do usuário, sem carregar a entidade.
+     * 
+     * @param email Email do usuário
+     * @return Optional com o estado do usuário
+     */
+    Optional<EstadoToken> findEstadoTokenByEmail(String email);
+    
+    /**
+     * Projeção com os dados necessários para validar um token sem carregar o usuário.
+     */
+    interface EstadoToken {
+        Integer getVersaoToken();
+        Boolean getAtivo();
+    }
 } 
\ No newline at end of file
@@ -1,11 +1,21 @@
 package com.desafio.repository;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.VeiculoPneuDTO;
 import com.desafio.model.VeiculoPneu;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface VeiculoPneuRepository extends JpaRepository<VeiculoPneu, Long> {
@@ -30,4 +40,48 @@ public interface VeiculoPneuRepository extends JpaRepository<VeiculoPneu, Long>
     
     // Buscar aplicações por posição (útil para estatísticas)
     List<VeiculoPneu> findByPosition(String position);
+    
+    // Verificar se um veículo tem pneus aplicados
+    boolean existsByVeiculoId(Long veiculoId);
+    
+    // Posições já ocupadas em um veículo (validação da montagem em lote)
+    @Query("SELECT vp.position FROM VeiculoPneu vp WHERE vp.veiculo.id = :veiculoId")
+    Set<String> findPosicoesOcupadas(@Param("veiculoId") Long veiculoId);
+    
+    // Quais dos pneus informados já estão aplicados em algum veículo
+    @Query("SELECT vp.pneu.id FROM VeiculoPneu vp WHERE vp.pneu.id IN :pneuIds")
+    Set<Long> findPneuIdsAplicados(@Param("pneuIds") Collection<Long> pneuIds);
+    
+    // Projeções direto em DTO: os dados do pneu vêm no mesmo SELECT (sem carregar as associações LAZY uma a uma)
+    @Query("SELECT new com.desafio.dto.VeiculoPneuDTO(vp.id, vp.veiculo.id, p.id, vp.position, " +
+           "p.numeroFogo, p.marca, p.pressaoAtual, vp.createdAt, vp.updatedAt) " +
+           "FROM VeiculoPneu vp JOIN vp.pneu p WHERE vp.veiculo.id = :veiculoId ORDER BY vp.id")
+    List<VeiculoPneuDTO> findDTOsByVeiculoId(@Param("veiculoId") Long veiculoId);
+    
+    @Query("SELECT new com.desafio.dto.VeiculoPneuDTO(vp.id, vp.veiculo.id, p.id, vp.position, " +
+           "p.numeroFogo, p.marca, p.pressaoAtual, vp.createdAt, vp.updatedAt) " +
+           "FROM VeiculoPneu vp JOIN vp.pneu p WHERE vp.veiculo.id = :veiculoId AND vp.position = :position")
+    Optional<VeiculoPneuDTO> findDTOByVeiculoIdAndPosition(@Param("veiculoId") Long veiculoId,
+                                                           @Param("position") String position);
+    
+    @Query("SELECT new com.desafio.dto.VeiculoPneuDTO(vp.id, vp.veiculo.id, p.id, vp.position, " +
+           "p.numeroFogo, p.marca, p.pressaoAtual, vp.createdAt, vp.updatedAt) " +
+           "FROM VeiculoPneu vp JOIN vp.pneu p WHERE p.id = :pneuId")
+    List<VeiculoPneuDTO> findDTOsByPneuId(@Param("pneuId") Long pneuId);
+    
+    // Aplicações atuais de um conjunto de pneus (eventos de alteração para os assinantes dos veículos)
+    @Query("SELECT new com.desafio.dto.VeiculoPneuDTO(vp.id, vp.veiculo.id, p.id, vp.position, " +
+           "p.numeroFogo, p.marca, p.pressaoAtual, vp.createdAt, vp.updatedAt) " +
+           "FROM VeiculoPneu vp JOIN vp.pneu p WHERE p.id IN :pneuIds")
+    List<VeiculoPneuDTO> findDTOsByPneuIds(@Param("pneuIds") Collection<Long> pneuIds);
+    
+    // Todas as aplicações com os dados do pneu, lidas por cursor (exige transação aberta e fechamento do Stream)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApiConstants.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.desafio.dto.VeiculoPneuDTO(vp.id, vp.veiculo.id, p.id, vp.position, " +
+           "p.numeroFogo, p.marca, p.pressaoAtual, vp.createdAt, vp.updatedAt) " +
+           "FROM VeiculoPneu vp JOIN vp.pneu p ORDER BY vp.id")
+    Stream<VeiculoPneuDTO> streamTodosParaExportacao();
 } 
\ No newline at end of file
@@ -1,21 +1,25 @@
 package com.desafio.repository;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.VeiculoDTO;
 import com.desafio.model.Veiculo;
 import com.desafio.model.StatusVeiculo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
-    
-    // Buscar veículo por placa
-    Optional<Veiculo> findByPlaca(String placa);
-    
-    // Verificar se existe veículo com esta placa
-    boolean existsByPlaca(String placa);
+public interface VeiculoRepository extends JpaRepository<Veiculo, Long>, VeiculoRepositoryCustom {
     
     // Buscar veículos por marca
     List<Veiculo> findByMarcaContainingIgnoreCase(String marca);
@@ -28,4 +32,48 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
     
     // Buscar veículos com quilometragem maior que X
     List<Veiculo> findByQuilometragemGreaterThan(Integer quilometragem);
-} 
\ No newline at end of file
+    
+    // Página de veículos após o cursor (keyset em id), com filtros opcionais; marca chega escapada para o LIKE
+    @Query("SELECT v FROM Veiculo v WHERE v.id > :after " +
+           "AND (:status IS NULL OR v.status = :status) " +
+           "AND (:marca IS NULL OR LOWER(v.marca) LIKE LOWER(CONCAT('%', :marca, '%')) ESCAPE '\\') " +
+           "ORDER BY v.id")
+    List<Veiculo> buscarPagina(@Param("after") Long after,
+                               @Param("status") StatusVeiculo status,
+                               @Param("marca") String marca,
+                               Limit limit);
+    
+    // Versão do veículo com os pneus montados (ETag) em uma consulta, sem carregar entidades
+    // A quantidade e a soma dos ids das aplicações mudam quando um pneu é desmontado
+    @Query("SELECT COALESCE(v.updatedAt, v.createdAt) AS atualizacaoVeiculo, COUNT(vp.id) AS aplicacoes, " +
+           "COALESCE(SUM(vp.id), 0) AS somaIdsAplicacoes, MAX(vp.updatedAt) AS atualizacaoAplicacoes, " +
+           "MAX(p.updatedAt) AS atualizacaoPneus " +
+           "FROM Veiculo v LEFT JOIN VeiculoPneu vp ON vp.veiculo = v LEFT JOIN vp.pneu p " +
+           "WHERE v.id = :id GROUP BY v.id, v.updatedAt, v.createdAt")
+    Optional<VersaoVeiculo> buscarVersaoComPneus(@Param("id") Long id);
+    
+    // Todos os veículos como DTO, lidos por cursor (exige transação aberta e fechamento do Stream)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApiConstants.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.desafio.dto.VeiculoDTO(v.id, v.placa, v.marca, v.quilometragem, " +
+           "v.status, v.createdAt, v.updatedAt) FROM Veiculo v ORDER BY v.id")
+    Stream<VeiculoDTO> streamTodosParaExportacao();
+    
+    /**
+     * Projeção com as datas de alteração do veículo e dos pneus montados.
+     */
+    interface VersaoVeiculo {
+        LocalDateTime getAtualizacaoVeiculo();
+        Long getAplicacoes();
+        Long getSomaIdsAplicacoes();
+        LocalDateTime getAtualizacaoAplicacoes();
+        LocalDateTime getAtualizacaoPneus();
+        
+        default String getVersao() {
+            return getAtualizacaoVeiculo() + "|" + getAplicacoes() + "|" + getSomaIdsAplicacoes() + "|"
+                + getAtualizacaoAplicacoes() + "|" + getAtualizacaoPneus();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.desafio.repository;
+
+import com.desafio.model.Veiculo;
+
+import java.util.Optional;
+
+/**
+ * Buscas por placa resolvidas pelo natural id, passando pelo cache de segundo nível.
+ */
+public interface VeiculoRepositoryCustom {
+    
+    // Buscar veículo por placa
+    Optional<Veiculo> findByPlaca(String placa);
+    
+    // Verificar se existe veículo com esta placa
+    boolean existsByPlaca(String placa);
+}
@@ -0,0 +1,30 @@
+package com.desafio.repository;
+
+import com.desafio.model.Veiculo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * A placa é o natural id do veículo: placas já resolvidas vêm do cache (placa → id → entidade)
+ * sem consultar o banco. Placas inexistentes não ficam em cache e sempre consultam.
+ */
+@Transactional(readOnly = true)
+class VeiculoRepositoryCustomImpl implements VeiculoRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<Veiculo> findByPlaca(String placa) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Veiculo.class).loadOptional(placa);
+    }
+    
+    @Override
+    public boolean existsByPlaca(String placa) {
+        return findByPlaca(placa).isPresent();
+    }
+}
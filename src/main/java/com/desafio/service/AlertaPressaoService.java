@@ -0,0 +1,385 @@
+package com.desafio.service;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.AlertaPressaoDTO;
+import com.desafio.dto.TransicaoAlertaPressaoDTO;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.event.RegrasAlertaAlteradasEvent;
+import com.desafio.exception.BusinessException;
+import com.desafio.model.RegraAlertaPressao;
+import com.desafio.model.TipoTransicaoAlerta;
+import com.desafio.model.TransicaoAlertaPressao;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.PneuRepository.ContextoAlerta;
+import com.desafio.repository.RegraAlertaPressaoRepository;
+import com.desafio.repository.TransicaoAlertaPressaoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de alertas de pressão baixa.
+ * Mantém em memória o índice dos pneus em alarme, então a listagem custa O(alertas) e não varre a tabela.
+ * Cada alteração de pneu é reavaliada depois do commit, só para os pneus afetados, contra a regra
+ * mais específica que casar (marca, veículo, posição) ou o limite padrão; entradas e saídas
+ * de alarme são gravadas como transições.
+ * Reavaliações e reconstruções rodam em uma única thread própria, em ordem e sem lock: quem alterou
+ * os pneus só enfileira os IDs. Na inicialização o índice parte da última transição gravada de cada
+ * pneu, então reiniciar (ou subir outra instância) não registra de novo quem já estava em alarme.
+ * O índice é atualizado logo depois do commit, não nele: a listagem feita dentro da transação que
+ * alterou os pneus avalia esses pneus na hora, sem gravar transições.
+ */
+@Slf4j
+@Service
+public class AlertaPressaoService {
+
+    // Tamanho máximo da lista IN em cada consulta de reavaliação
+    private static final int PNEUS_POR_CONSULTA = 1000;
+
+    private static final Comparator<RegraAlertaPressao> MAIS_ESPECIFICA_PRIMEIRO =
+            Comparator.comparingInt(RegraAlertaPressao::getEspecificidade).reversed()
+                    .thenComparing(RegraAlertaPressao::getId);
+
+    private static final RegraAlertaPressao REGRA_PADRAO = new RegraAlertaPressao();
+
+    static {
+        REGRA_PADRAO.setLimiteMinimo(ApiConstants.LOW_PRESSURE_THRESHOLD);
+    }
+
+    private final PneuRepository pneuRepository;
+    private final RegraAlertaPressaoRepository regraRepository;
+    private final TransicaoAlertaPressaoRepository transicaoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Chave do conjunto de pneus alterados na transação corrente (TransactionSynchronizationManager)
+    private final Object chaveAlteradosNaTransacao = new Object();
+
+    private final Map<Long, AlertaPressaoDTO> emAlarme = new ConcurrentHashMap<>();
+    private volatile List<RegraAlertaPressao> regras = List.of();
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reavaliacaoAgendada = new AtomicBoolean();
+    private final AtomicBoolean reconstrucaoAgendada = new AtomicBoolean();
+    // Tarefas enfileiradas ou em execução na thread de alertas
+    private final AtomicInteger tarefas = new AtomicInteger();
+    private final ExecutorService executor;
+    // Até a carga inicial os eventos só acumulam pneus: ela relê as regras e reavalia todos os pendentes
+    private volatile boolean inicializado;
+
+    public AlertaPressaoService(PneuRepository pneuRepository,
+                                RegraAlertaPressaoRepository regraRepository,
+                                TransicaoAlertaPressaoRepository transicaoRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.pneuRepository = pneuRepository;
+        this.regraRepository = regraRepository;
+        this.transicaoRepository = transicaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "alertas-pressao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pneus atualmente em alarme, da menor para a maior pressão.
+     * Pneus alterados na transação corrente ainda não estão no índice e são avaliados na hora,
+     * então quem lista dentro da transação que os alterou enxerga o próprio estado.
+     *
+     * @return Lista lida do índice em memória
+     */
+    public List<AlertaPressaoDTO> listarAlertas() {
+        Set<Long> alterados = alteradosNaTransacao();
+        List<AlertaPressaoDTO> alertas;
+        if (alterados == null) {
+            alertas = new ArrayList<>(emAlarme.values());
+        } else {
+            Map<Long, AlertaPressaoDTO> estados = new HashMap<>(emAlarme);
+            sobreporAlterados(estados, alterados);
+            alertas = new ArrayList<>(estados.values());
+        }
+        alertas.sort(Comparator.comparing(AlertaPressaoDTO::getPressaoAtual)
+                .thenComparing(AlertaPressaoDTO::getIdPneu));
+        return alertas;
+    }
+
+    /**
+     * Transições de alarme mais recentes de um pneu.
+     *
+     * @param idPneu ID do pneu
+     * @param limit Quantidade máxima de transições
+     * @return Transições da mais recente para a mais antiga
+     * @throws BusinessException se o limite estiver fora do intervalo permitido
+     */
+    public List<TransicaoAlertaPressaoDTO> buscarTransicoes(Long idPneu, int limit) {
+        Paginacao.validarLimite(limit);
+        return transactionTemplate.execute(status -> transicaoRepository.buscarPorPneu(idPneu, Limit.of(limit)));
+    }
+
+    /**
+     * Quantidade de reavaliações ainda não concluídas.
+     *
+     * @return Pneus aguardando reavaliação mais tarefas enfileiradas ou em execução
+     */
+    public int getPendentes() {
+        return pendentes.size() + tarefas.get();
+    }
+
+    /**
+     * Registra os pneus alterados na transação corrente até ela terminar, para a listagem feita
+     * na mesma transação. O índice só é atualizado por {@link #aoAlterarPneus} depois do commit.
+     */
+    @EventListener
+    public void registrarAlteracaoNaTransacao(PneusAlteradosEvent evento) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Set<Long> alterados = alteradosNaTransacao();
+        if (alterados == null) {
+            alterados = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(chaveAlteradosNaTransacao, alterados);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(chaveAlteradosNaTransacao);
+                }
+            });
+        }
+        alterados.addAll(evento.idsPneus());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPneus(PneusAlteradosEvent evento) {
+        pendentes.addAll(evento.idsPneus());
+        if (inicializado && reavaliacaoAgendada.compareAndSet(false, true)) {
+            executar(this::reavaliarPendentes);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarRegras(RegrasAlertaAlteradasEvent evento) {
+        if (inicializado && reconstrucaoAgendada.compareAndSet(false, true)) {
+            executar(() -> {
+                reconstrucaoAgendada.set(false);
+                reconstruir(Map.of());
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        executar(() -> {
+            // Eventos a partir daqui agendam tarefas, que rodam depois desta
+            inicializado = true;
+            Map<Long, LocalDateTime> alarmesAbertos = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> transicaoRepository.buscarAlarmesAbertos()
+                    .forEach(transicao -> alarmesAbertos.put(transicao.getIdPneu(), transicao.getCreatedAt())));
+            reconstruir(alarmesAbertos);
+            reavaliarPendentes();
+            log.info("Índice de alertas de pressão carregado: {} regras, {} pneus em alarme", regras.size(), emAlarme.size());
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private void executar(Runnable tarefa) {
+        tarefas.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    tarefa.run();
+                } finally {
+                    tarefas.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Só acontece no encerramento da aplicação
+            tarefas.decrementAndGet();
+            log.debug("Reavaliação de alertas de pressão ignorada: serviço encerrado");
+        }
+    }
+
+    // Pneus enfileirados depois de a tarefa desmarcar a flag agendam outra tarefa
+    private void reavaliarPendentes() {
+        reavaliacaoAgendada.set(false);
+        List<Long> lote = new ArrayList<>(pendentes);
+        pendentes.removeAll(lote);
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ContextoAlerta> contextos = new ArrayList<>(lote.size());
+                carregarContextos(lote, contextos);
+                aplicar(lote, contextos, Map.of());
+            });
+        } catch (RuntimeException e) {
+            // O índice fica como estava; a próxima alteração desses pneus corrige o estado
+            log.error("Falha ao reavaliar alertas de pressão de {} pneus", lote.size(), e);
+        }
+    }
+
+    /**
+     * Recarrega as regras e reavalia todos os pneus que podem estar em alarme.
+     * Só os pneus abaixo do maior limite configurado são lidos, além dos que já estão em alarme.
+     *
+     * @param alarmesAbertos Pneus em alarme segundo as transições gravadas, com a data de entrada;
+     *                       vale para os que ainda não estão no índice
+     */
+    private void reconstruir(Map<Long, LocalDateTime> alarmesAbertos) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<RegraAlertaPressao> novasRegras = new ArrayList<>(regraRepository.findAllByOrderById());
+                novasRegras.sort(MAIS_ESPECIFICA_PRIMEIRO);
+                regras = List.copyOf(novasRegras);
+
+                double maiorLimite = regras.stream()
+                        .mapToDouble(RegraAlertaPressao::getLimiteMinimo)
+                        .reduce(ApiConstants.LOW_PRESSURE_THRESHOLD, Math::max);
+                List<ContextoAlerta> contextos = new ArrayList<>(pneuRepository.buscarContextoAlertaAbaixoDe(maiorLimite));
+
+                // Pneus em alarme que subiram acima de todos os limites precisam ser lidos para registrar a saída
+                Set<Long> avaliados = new HashSet<>();
+                contextos.forEach(contexto -> avaliados.add(contexto.getId()));
+                Set<Long> emAlarmeAntes = new HashSet<>(emAlarme.keySet());
+                emAlarmeAntes.addAll(alarmesAbertos.keySet());
+                List<Long> restantes = emAlarmeAntes.stream().filter(id -> !avaliados.contains(id)).toList();
+                carregarContextos(restantes, contextos);
+
+                Set<Long> ids = new HashSet<>(avaliados);
+                ids.addAll(restantes);
+                aplicar(ids, contextos, alarmesAbertos);
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o índice de alertas de pressão", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> alteradosNaTransacao() {
+        return (Set<Long>) TransactionSynchronizationManager.getResource(chaveAlteradosNaTransacao);
+    }
+
+    // Reavalia os pneus alterados na transação corrente sobre uma cópia do índice, sem gravar transições
+    private void sobreporAlterados(Map<Long, AlertaPressaoDTO> estados, Set<Long> alterados) {
+        List<ContextoAlerta> contextos = new ArrayList<>(alterados.size());
+        carregarContextos(new ArrayList<>(alterados), contextos);
+        Map<Long, ContextoAlerta> porPneu = new HashMap<>();
+        contextos.forEach(contexto -> porPneu.putIfAbsent(contexto.getId(), contexto));
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (Long idPneu : alterados) {
+            ContextoAlerta contexto = porPneu.get(idPneu);
+            AlertaPressaoDTO novo = null;
+            if (contexto != null) {
+                LocalDateTime emAlarmeDesde = emAlarmeDesde(idPneu, Map.of());
+                novo = avaliar(contexto, regraDe(contexto), emAlarmeDesde != null ? emAlarmeDesde : agora);
+            }
+            if (novo != null) {
+                estados.put(idPneu, novo);
+            } else {
+                estados.remove(idPneu);
+            }
+        }
+    }
+
+    private void carregarContextos(List<Long> ids, List<ContextoAlerta> destino) {
+        for (int inicio = 0; inicio < ids.size(); inicio += PNEUS_POR_CONSULTA) {
+            destino.addAll(pneuRepository.buscarContextoAlerta(
+                    ids.subList(inicio, Math.min(ids.size(), inicio + PNEUS_POR_CONSULTA))));
+        }
+    }
+
+    /**
+     * Compara o novo estado de cada pneu com o índice, grava as transições e só então atualiza o índice.
+     * Pneus que não vieram na consulta foram removidos e saem do índice sem transição.
+     * Quem continua em alarme mantém a data de entrada, mas com pressão e limite atualizados.
+     */
+    private void aplicar(Collection<Long> idsPneus, List<ContextoAlerta> contextos, Map<Long, LocalDateTime> alarmesAbertos) {
+        // Pneu vinculado a mais de um veículo (dado legado) é avaliado pelo primeiro vínculo
+        Map<Long, ContextoAlerta> porPneu = new HashMap<>();
+        contextos.forEach(contexto -> porPneu.putIfAbsent(contexto.getId(), contexto));
+
+        LocalDateTime agora = LocalDateTime.now();
+        Map<Long, AlertaPressaoDTO> novosEstados = new HashMap<>();
+        List<TransicaoAlertaPressao> transicoes = new ArrayList<>();
+        for (ContextoAlerta contexto : porPneu.values()) {
+            RegraAlertaPressao regra = regraDe(contexto);
+            LocalDateTime emAlarmeDesde = emAlarmeDesde(contexto.getId(), alarmesAbertos);
+            AlertaPressaoDTO novo = avaliar(contexto, regra, emAlarmeDesde != null ? emAlarmeDesde : agora);
+            if ((emAlarmeDesde == null) != (novo == null)) {
+                transicoes.add(new TransicaoAlertaPressao(contexto.getId(),
+                        novo != null ? TipoTransicaoAlerta.ENTRADA : TipoTransicaoAlerta.SAIDA,
+                        contexto.getPressaoAtual(), regra.getLimiteMinimo(), regra.getId()));
+            }
+            if (novo != null) {
+                novosEstados.put(contexto.getId(), novo);
+            }
+        }
+        transicaoRepository.saveAll(transicoes);
+
+        for (Long idPneu : idsPneus) {
+            AlertaPressaoDTO novo = novosEstados.get(idPneu);
+            if (novo != null) {
+                emAlarme.put(idPneu, novo);
+            } else {
+                emAlarme.remove(idPneu);
+            }
+        }
+        if (!transicoes.isEmpty() && log.isDebugEnabled()) {
+            log.debug("Alertas de pressão: {} transições registradas, {} pneus em alarme", transicoes.size(), emAlarme.size());
+        }
+    }
+
+    // Data de entrada no alarme antes desta avaliação, ou null se o pneu não estava em alarme
+    private LocalDateTime emAlarmeDesde(Long idPneu, Map<Long, LocalDateTime> alarmesAbertos) {
+        AlertaPressaoDTO atual = emAlarme.get(idPneu);
+        return atual != null ? atual.getEmAlarmeDesde() : alarmesAbertos.get(idPneu);
+    }
+
+    // Devolve o alerta do pneu, ou null se a pressão estiver dentro do limite
+    private AlertaPressaoDTO avaliar(ContextoAlerta contexto, RegraAlertaPressao regra, LocalDateTime desde) {
+        if (contexto.getPressaoAtual() == null || contexto.getPressaoAtual() >= regra.getLimiteMinimo()) {
+            return null;
+        }
+        return new AlertaPressaoDTO(contexto.getId(), contexto.getNumeroFogo(), contexto.getMarca(),
+                contexto.getPressaoAtual(), regra.getLimiteMinimo(), regra.getId(),
+                contexto.getIdVeiculo(), contexto.getPosicao(), desde);
+    }
+
+    // Regra mais específica que casa com o pneu; sem regra, o limite padrão (id nulo)
+    private RegraAlertaPressao regraDe(ContextoAlerta contexto) {
+        for (RegraAlertaPressao regra : regras) {
+            if (regra.aplicaA(contexto.getMarca(), contexto.getIdVeiculo(), contexto.getPosicao())) {
+                return regra;
+            }
+        }
+        return REGRA_PADRAO;
+    }
+}
@@ -0,0 +1,51 @@
+package com.desafio.service;
+
+import java.util.Map;
+
+/**
+ * Onde o IdempotenciaFilter guarda as Idempotency-Keys recebidas e as respostas produzidas.
+ * Implementações: em memória (padrão) e em banco, escolhidas por idempotencia.armazenamento.
+ */
+public interface ArmazenamentoIdempotencia {
+
+    /**
+     * Reserva a chave para uma requisição nova.
+     *
+     * @param chave Chave já com o escopo do usuário
+     * @param impressao Impressão digital da requisição
+     * @return null se a chave foi reservada agora; senão o registro existente
+     */
+    Registro reservar(String chave, String impressao);
+
+    /**
+     * Guarda a resposta da requisição que reservou a chave.
+     *
+     * @param chave Chave reservada
+     * @param impressao Impressão digital da requisição
+     * @param resposta Resposta a devolver nas repetições
+     */
+    void concluir(String chave, String impressao, Resposta resposta);
+
+    /**
+     * Libera a chave sem guardar resposta (falha no servidor), permitindo uma nova tentativa.
+     *
+     * @param chave Chave reservada
+     */
+    void liberar(String chave);
+
+    /**
+     * Requisição registrada para uma chave; resposta null enquanto ainda está em processamento.
+     */
+    record Registro(String impressao, Resposta resposta) {
+
+        public boolean isEmProcessamento() {
+            return resposta == null;
+        }
+    }
+
+    /**
+     * Status, headers relevantes e corpo de uma resposta guardada.
+     */
+    record Resposta(int status, Map<String, String> headers, byte[] corpo) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.desafio.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Idempotency-Keys na tabela idempotency_keys, compartilhadas entre as instâncias da aplicação.
+ * A reserva é um INSERT ... ON CONFLICT DO NOTHING: só uma requisição ganha a chave.
+ * Reservas sem resposta há mais que o tempo máximo de processamento (instância que caiu no meio
+ * da requisição) são consideradas abandonadas e podem ser reservadas de novo.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "idempotencia.armazenamento", havingValue = "banco")
+public class ArmazenamentoIdempotenciaBanco implements ArmazenamentoIdempotencia {
+
+    private static final Duration PROCESSAMENTO_MAXIMO = Duration.ofMinutes(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+
+    public ArmazenamentoIdempotenciaBanco(JdbcTemplate jdbcTemplate, @Value("${idempotencia.ttl:24h}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Registro reservar(String chave, String impressao) {
+        LocalDateTime agora = LocalDateTime.now();
+        // Remove a chave se expirou ou foi abandonada, para a reserva abaixo poder acontecer
+        jdbcTemplate.update(
+            "DELETE FROM idempotency_keys WHERE chave = ? AND (expires_at < ? OR (status IS NULL AND created_at < ?))",
+            chave, Timestamp.valueOf(agora), Timestamp.valueOf(agora.minus(PROCESSAMENTO_MAXIMO)));
+
+        int inseridas = jdbcTemplate.update(
+            "INSERT INTO idempotency_keys (chave, impressao, created_at, expires_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING",
+            chave, impressao, Timestamp.valueOf(agora), Timestamp.valueOf(agora.plus(ttl)));
+        if (inseridas == 1) {
+            return null;
+        }
+
+        List<Registro> existentes = jdbcTemplate.query(
+            "SELECT impressao, status, headers, corpo FROM idempotency_keys WHERE chave = ?",
+            (rs, linha) -> {
+                int status = rs.getInt("status");
+                Resposta resposta = rs.wasNull()
+                        ? null
+                        : new Resposta(status, lerHeaders(rs.getString("headers")), rs.getBytes("corpo"));
+                return new Registro(rs.getString("impressao"), resposta);
+            },
+            chave);
+        // Liberada entre o INSERT e o SELECT: trata como em processamento, o cliente tenta de novo
+        return existentes.isEmpty() ? new Registro(impressao, null) : existentes.get(0);
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, Resposta resposta) {
+        jdbcTemplate.update(
+            "UPDATE idempotency_keys SET status = ?, headers = ?, corpo = ? WHERE chave = ? AND impressao = ?",
+            resposta.status(), escreverHeaders(resposta.headers()), resposta.corpo(), chave, impressao);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE chave = ? AND status IS NULL", chave);
+    }
+
+    /**
+     * Remove as chaves expiradas.
+     */
+    @Scheduled(cron = "${idempotencia.limpeza-cron:0 15 * * * *}")
+    public void removerExpiradas() {
+        int removidas = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        log.debug("Idempotency-Keys expiradas removidas: {}", removidas);
+    }
+
+    // Headers gravados como linhas "Nome: valor"
+    private static String escreverHeaders(Map<String, String> headers) {
+        StringBuilder texto = new StringBuilder();
+        headers.forEach((nome, valor) -> texto.append(nome).append(": ").append(valor).append('\n'));
+        return texto.toString();
+    }
+
+    private static Map<String, String> lerHeaders(String texto) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (texto != null) {
+            for (String linha : texto.split("\n")) {
+                int separador = linha.indexOf(": ");
+                if (separador > 0) {
+                    headers.put(linha.substring(0, separador), linha.substring(separador + 2));
+                }
+            }
+        }
+        return headers;
+    }
+}
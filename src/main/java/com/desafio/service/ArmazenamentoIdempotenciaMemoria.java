@@ -0,0 +1,44 @@
+package com.desafio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Keys em memória, limitadas em quantidade e removidas após o TTL.
+ * Vale para uma instância só; com várias instâncias atrás de um balanceador use o armazenamento em banco.
+ */
+@Service
+@ConditionalOnProperty(name = "idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class ArmazenamentoIdempotenciaMemoria implements ArmazenamentoIdempotencia {
+
+    private final Cache<String, Registro> registros;
+
+    public ArmazenamentoIdempotenciaMemoria(
+            @Value("${idempotencia.max-chaves:100000}") long maximoChaves,
+            @Value("${idempotencia.ttl:24h}") Duration ttl) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Registro reservar(String chave, String impressao) {
+        return registros.asMap().putIfAbsent(chave, new Registro(impressao, null));
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, Resposta resposta) {
+        registros.put(chave, new Registro(impressao, resposta));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        registros.invalidate(chave);
+    }
+}
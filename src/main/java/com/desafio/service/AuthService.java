@@ -25,6 +25,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final CustomUserDetailsService userDetailsService;
+    private final RevogacaoTokenService revogacaoTokenService;
     
     /**
      * Registra um novo usuário no sistema.
@@ -34,36 +36,36 @@ public class AuthService {
      */
     public AuthResponseDTO registrar(RegistroRequestDTO request) {
         try {
-            log.info("Tentando registrar usuário com email: {}", request.getEmail());
+            log.debug("Registrando usuário com email: {}", request.getEmail());
             
             // Verificar se o email já existe
-            log.info("Verificando se email já existe...");
             if (usuarioRepository.existsByEmail(request.getEmail())) {
                 log.warn("Email já existe: {}", request.getEmail());
                 throw new BusinessException("Email já está cadastrado no sistema");
             }
             
             // Criar novo usuário
-            log.info("Criando novo usuário...");
             Usuario usuario = new Usuario();
             usuario.setNome(request.getNome());
             usuario.setEmail(request.getEmail());
             
-            log.info("Codificando senha...");
             usuario.setSenha(passwordEncoder.encode(request.getSenha()));
             usuario.setRole(Usuario.Role.USER);
             
             // Salvar no banco
-            log.info("Salvando usuário no banco...");
             Usuario savedUsuario = usuarioRepository.save(usuario);
-            log.info("Usuário registrado com sucesso. ID: {}", savedUsuario.getId());
+            log.debug("Usuário registrado com sucesso. ID: {}", savedUsuario.getId());
+            
+            // Descartar estados em cache anteriores ao cadastro
+            invalidarCaches(savedUsuario.getEmail());
             
             // Gerar token JWT
-            log.info("Gerando token JWT...");
             String token = jwtService.generateToken(savedUsuario);
-            log.info("Token JWT gerado com sucesso");
             
             return new AuthResponseDTO(token, savedUsuario.getEmail(), savedUsuario.getNome(), savedUsuario.getRole().name());
+        } catch (BusinessException e) {
+            // Erro de validação: o warn acima basta, sem stack trace
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao registrar usuário: ", e);
             throw e;
@@ -77,7 +79,7 @@ public class AuthService {
      * @return Resposta com token JWT
      */
     public AuthResponseDTO login(LoginRequestDTO request) {
-        log.info("Tentando autenticar usuário com email: {}", request.getEmail());
+        log.debug("Autenticando usuário com email: {}", request.getEmail());
         
         // Autenticar com Spring Security
         authenticationManager.authenticate(
@@ -91,8 +93,18 @@ public class AuthService {
         // Gerar token JWT
         String token = jwtService.generateToken(usuario);
         
-        log.info("Usuário autenticado com sucesso. ID: {}", usuario.getId());
+        log.debug("Usuário autenticado com sucesso. ID: {}", usuario.getId());
         
         return new AuthResponseDTO(token, usuario.getEmail(), usuario.getNome(), usuario.getRole().name());
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Remove o usuário dos caches de autenticação após criação ou alteração.
+     * 
+     * @param email Email do usuário
+     */
+    private void invalidarCaches(String email) {
+        userDetailsService.invalidar(email);
+        revogacaoTokenService.invalidar(email);
+    }
+}
@@ -0,0 +1,38 @@
+package com.desafio.service;
+
+import com.desafio.dto.EstatisticasCacheDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas do cache de segundo nível do Hibernate.
+ */
+@Service
+public class CacheSegundoNivelService {
+
+    private final CacheManager cacheManager;
+
+    public CacheSegundoNivelService(@Qualifier("cacheManagerSegundoNivel") CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Estatísticas de cada região (acertos, faltas, remoções e tamanho).
+     *
+     * @return Estatísticas por nome de região, em ordem alfabética
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, EstatisticasCacheDTO> buscarEstatisticas() {
+        Map<String, EstatisticasCacheDTO> estatisticas = new TreeMap<>();
+        for (String regiao : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(regiao).unwrap(Cache.class);
+            estatisticas.put(regiao, EstatisticasCacheDTO.de(cache.stats(), 0, cache.estimatedSize()));
+        }
+        return estatisticas;
+    }
+}
@@ -0,0 +1,165 @@
+package com.desafio.service;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.service.MedicaoComandosBanco.Medicao;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede os comandos SQL e o tempo de JDBC de cada requisição (inclusive dos outros filtros).
+ * Sempre registra as métricas db.requisicao.comandos e db.requisicao.tempo por método e URI;
+ * fora de produção devolve também os headers X-Db-Statements e X-Db-Time (tempo em ms), gravados
+ * antes do corpo da resposta. Acima do orçamento de comandos por requisição loga um aviso ou,
+ * nos testes, falha a requisição, para um N+1 novo aparecer antes de chegar em produção.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ComandosBancoFilter extends OncePerRequestFilter {
+
+    private static final String URI_DESCONHECIDA = "UNKNOWN";
+
+    private final MedicaoComandosBanco medicaoComandosBanco;
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final int maximoComandos;
+    private final boolean falharAcimaDoOrcamento;
+
+    public ComandosBancoFilter(MedicaoComandosBanco medicaoComandosBanco, MeterRegistry meterRegistry,
+                               @Value("${instrumentacao.db.headers:false}") boolean headers,
+                               @Value("${instrumentacao.db.max-comandos:0}") int maximoComandos,
+                               @Value("${instrumentacao.db.falhar-acima-do-orcamento:false}") boolean falharAcimaDoOrcamento) {
+        this.medicaoComandosBanco = medicaoComandosBanco;
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.maximoComandos = maximoComandos;
+        this.falharAcimaDoOrcamento = falharAcimaDoOrcamento;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Medicao medicao = medicaoComandosBanco.iniciar();
+        RespostaComMedicao respostaComMedicao = headers ? new RespostaComMedicao(response, medicao) : null;
+        try {
+            filterChain.doFilter(request, respostaComMedicao != null ? respostaComMedicao : response);
+        } finally {
+            medicaoComandosBanco.encerrar();
+            if (respostaComMedicao != null) {
+                // Respostas sem corpo: os headers ainda não foram gravados
+                respostaComMedicao.escreverHeaders();
+            }
+        }
+
+        // Requisições assíncronas (SSE, exportação) continuam em outra thread, sem medição
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        String uri = uri(request);
+        registrarMetricas(request.getMethod(), uri, medicao);
+        if (maximoComandos > 0 && medicao.getComandos() > maximoComandos) {
+            String mensagem = String.format("%s %s executou %d comandos SQL, acima do orçamento de %d",
+                    request.getMethod(), uri, medicao.getComandos(), maximoComandos);
+            if (falharAcimaDoOrcamento) {
+                throw new IllegalStateException(mensagem);
+            }
+            log.warn(mensagem);
+        }
+    }
+
+    private void registrarMetricas(String metodo, String uri, Medicao medicao) {
+        DistributionSummary.builder("db.requisicao.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tags("method", metodo, "uri", uri)
+                .register(meterRegistry)
+                .record(medicao.getComandos());
+        Timer.builder("db.requisicao.tempo")
+                .description("Tempo de JDBC por requisição")
+                .tags("method", metodo, "uri", uri)
+                .register(meterRegistry)
+                .record(medicao.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Padrão do endpoint (/api/veiculos/{id}), não a URI da requisição, para não multiplicar as séries
+    private static String uri(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : URI_DESCONHECIDA;
+    }
+
+    /**
+     * Grava os headers da medição quando o corpo começa a ser escrito, antes do commit da resposta.
+     */
+    private static class RespostaComMedicao extends HttpServletResponseWrapper {
+
+        private final Medicao medicao;
+        private boolean headersEscritos;
+
+        RespostaComMedicao(HttpServletResponse response, Medicao medicao) {
+            super(response);
+            this.medicao = medicao;
+        }
+
+        void escreverHeaders() {
+            if (headersEscritos || isCommitted()) {
+                return;
+            }
+            headersEscritos = true;
+            setHeader(ApiConstants.DB_STATEMENTS_HEADER, Integer.toString(medicao.getComandos()));
+            setHeader(ApiConstants.DB_TIME_HEADER, String.format(Locale.ROOT, "%.3f", medicao.getNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escreverHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escreverHeaders();
+            super.sendError(sc);
+        }
+    }
+}
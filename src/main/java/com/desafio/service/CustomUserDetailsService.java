@@ -1,32 +1,90 @@
 package com.desafio.service;
 
+import com.desafio.model.Usuario;
 import com.desafio.repository.UsuarioRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 /**
  * Serviço personalizado para carregar detalhes do usuário.
  * Implementa UserDetailsService para integração com Spring Security.
+ * Os usuários ficam em um cache limitado por tamanho e tempo, evitando
+ * consultar o banco a cada requisição autenticada. Acertos, faltas, remoções e tamanho do cache
+ * são publicados no Actuator como métricas cache.* com cache="usuarios".
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
-    
+public class CustomUserDetailsService implements UserDetailsService, MeterBinder {
+
     private final UsuarioRepository usuarioRepository;
-    
+    private final Cache<String, Usuario> cache;
+
+    public CustomUserDetailsService(
+            UsuarioRepository usuarioRepository,
+            @Value("${usuarios.cache.max-size:10000}") long tamanhoMaximo,
+            @Value("${usuarios.cache.ttl:5m}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Carregando usuário por email: {}", email);
-        
-        return usuarioRepository.findByEmail(email)
-            .orElseThrow(() -> {
-                log.warn("Usuário não encontrado com email: {}", email);
-                return new UsernameNotFoundException("Usuário não encontrado com email: " + email);
-            });
+
+        // Usuários inexistentes não são guardados (o loader devolve null)
+        Usuario usuario = cache.get(email, chave -> usuarioRepository.findByEmail(chave).orElse(null));
+        if (usuario == null) {
+            log.warn("Usuário não encontrado com email: {}", email);
+            throw new UsernameNotFoundException("Usuário não encontrado com email: " + email);
+        }
+        return usuario;
+    }
+
+    /**
+     * Remove o usuário do cache. Deve ser chamado sempre que um usuário for criado ou alterado.
+     *
+     * @param email Email do usuário
+     */
+    public void invalidar(String email) {
+        cache.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "usuarios");
+    }
+
+    /**
+     * Estatísticas do cache (acertos, faltas e remoções) para dimensionamento.
+     *
+     * @return Estatísticas acumuladas desde a inicialização
+     */
+    public CacheStats getEstatisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Quantidade aproximada de usuários em cache.
+     *
+     * @return Número de entradas
+     */
+    public long getTamanho() {
+        return cache.estimatedSize();
     }
-} 
\ No newline at end of file
+}
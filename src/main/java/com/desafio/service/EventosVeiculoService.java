@@ -0,0 +1,313 @@
+package com.desafio.service;
+
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.event.PneuDesvinculadoEvent;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.repository.VeiculoPneuRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envio de alterações dos pneus de um veículo por Server-Sent Events.
+ * Cada cliente assina um veículo e recebe primeiro o veículo completo e depois só o que mudar:
+ * pneu atualizado (pressão, montagem) ou pneu retirado.
+ * Os eventos de cada cliente ficam em um buffer limitado, com uma entrada por pneu, então um cliente
+ * lento só recebe o estado mais recente de cada pneu; se o buffer estourar, os pendentes são trocados
+ * por um único evento "resync", que pede ao cliente para recarregar o veículo.
+ * O envio roda em um pool próprio: um cliente lento nunca segura quem publicou a alteração.
+ * A consulta dos pneus alterados também sai da thread de quem alterou (ver {@link PneusAlteradosEvent}):
+ * uma única thread de consulta junta os pneus pendentes e faz uma leitura por rodada, em transação própria.
+ */
+@Slf4j
+@Service
+public class EventosVeiculoService {
+
+    static final String EVENTO_VEICULO = "veiculo";
+    static final String EVENTO_PNEU = "pneu";
+    static final String EVENTO_PNEU_REMOVIDO = "pneu-removido";
+    static final String EVENTO_RESYNC = "resync";
+
+    // Tarefas aguardando a thread de consulta (no máximo uma consulta pendente, o resto são remoções)
+    private static final int TAREFAS_PENDENTES = 1024;
+    // Tamanho máximo da lista IN em cada consulta
+    private static final int PNEUS_POR_CONSULTA = 1000;
+
+    private final VeiculoService veiculoService;
+    private final VeiculoPneuRepository veiculoPneuRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor consultas;
+    private final long timeoutMs;
+    private final int tamanhoBuffer;
+
+    private final Map<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final Set<Long> pneusPendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean consultaAgendada = new AtomicBoolean();
+
+    public EventosVeiculoService(
+            VeiculoService veiculoService,
+            VeiculoPneuRepository veiculoPneuRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${eventos.veiculo.timeout:30m}") Duration timeout,
+            @Value("${eventos.veiculo.buffer-por-cliente:256}") int tamanhoBuffer,
+            @Value("${eventos.veiculo.threads:4}") int threads) {
+        this.veiculoService = veiculoService;
+        this.veiculoPneuRepository = veiculoPneuRepository;
+        // Usado só na thread de consulta, que nunca tem transação aberta: cada rodada abre a sua
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.timeoutMs = timeout.toMillis();
+        this.tamanhoBuffer = tamanhoBuffer;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-veiculo-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Uma thread só: consultas e remoções são publicadas na ordem em que chegaram
+        this.consultas = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(TAREFAS_PENDENTES), tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-veiculo-consulta");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Abre a assinatura dos eventos de um veículo.
+     * O primeiro evento é o veículo completo com os pneus, para o cliente não depender de um GET separado.
+     *
+     * @param idVeiculo ID do veículo
+     * @return Emitter SSE da assinatura
+     * @throws com.desafio.exception.ResourceNotFoundException se o veículo não existir
+     */
+    public SseEmitter assinar(Long idVeiculo) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(idVeiculo, emitter);
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        // Registrar antes de ler o veículo: o estado inicial nunca é mais antigo que um evento perdido
+        assinantes.compute(idVeiculo, (id, doVeiculo) -> {
+            Set<Assinante> atualizados = doVeiculo != null ? doVeiculo : ConcurrentHashMap.newKeySet();
+            atualizados.add(assinante);
+            return atualizados;
+        });
+        try {
+            VeiculoDTO veiculo = veiculoService.buscarVeiculoComPneusPorId(idVeiculo);
+            assinante.enfileirar(EVENTO_VEICULO, EVENTO_VEICULO, veiculo);
+        } catch (RuntimeException e) {
+            remover(assinante);
+            throw e;
+        }
+        log.debug("Nova assinatura de eventos do veículo ID: {}", idVeiculo);
+        return emitter;
+    }
+
+    /**
+     * Quantidade de clientes conectados, em todos os veículos.
+     *
+     * @return Número de assinaturas abertas
+     */
+    public int getAssinantes() {
+        return assinantes.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPneus(PneusAlteradosEvent evento) {
+        // Sem ninguém conectado não há o que consultar
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        pneusPendentes.addAll(evento.idsPneus());
+        agendarConsulta();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoDesvincularPneu(PneuDesvinculadoEvent evento) {
+        if (!assinantes.containsKey(evento.idVeiculo())) {
+            return;
+        }
+        // Pela thread de consulta: uma consulta lida antes da desmontagem não chega depois da remoção
+        try {
+            consultas.execute(() -> publicar(evento.idVeiculo(), chavePneu(evento.idPneu()), EVENTO_PNEU_REMOVIDO,
+                    new VeiculoPneuDTO(evento.idVeiculo(), evento.idPneu(), evento.posicao())));
+        } catch (RejectedExecutionException e) {
+            publicar(evento.idVeiculo(), EVENTO_RESYNC, EVENTO_RESYNC, evento.idVeiculo());
+        }
+    }
+
+    /**
+     * Envia um comentário SSE para todos os clientes.
+     * Mantém a conexão viva em proxies com timeout de inatividade e detecta clientes que já saíram.
+     */
+    @Scheduled(fixedRateString = "${eventos.veiculo.heartbeat-intervalo-ms:15000}",
+               initialDelayString = "${eventos.veiculo.heartbeat-intervalo-ms:15000}")
+    public void enviarHeartbeat() {
+        assinantes.values().forEach(doVeiculo -> doVeiculo.forEach(Assinante::heartbeat));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        assinantes.values().forEach(doVeiculo -> doVeiculo.forEach(assinante -> assinante.emitter.complete()));
+        consultas.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void agendarConsulta() {
+        if (consultaAgendada.compareAndSet(false, true)) {
+            try {
+                consultas.execute(this::consultarPendentes);
+            } catch (RejectedExecutionException e) {
+                // Fila cheia de remoções: os pneus ficam pendentes para o próximo evento
+                consultaAgendada.set(false);
+                log.warn("Consulta de eventos de pneus adiada: {} tarefas pendentes", consultas.getQueue().size());
+            }
+        }
+    }
+
+    // Lê de uma vez os vínculos de todos os pneus pendentes e publica o estado atual de cada um
+    private void consultarPendentes() {
+        consultaAgendada.set(false);
+        List<Long> idsPneus = new ArrayList<>(pneusPendentes);
+        pneusPendentes.removeAll(idsPneus);
+        if (idsPneus.isEmpty()) {
+            return;
+        }
+        try {
+            List<VeiculoPneuDTO> aplicacoes = transactionTemplate.execute(status -> {
+                List<VeiculoPneuDTO> lidas = new ArrayList<>();
+                for (int inicio = 0; inicio < idsPneus.size(); inicio += PNEUS_POR_CONSULTA) {
+                    lidas.addAll(veiculoPneuRepository.findDTOsByPneuIds(
+                            idsPneus.subList(inicio, Math.min(idsPneus.size(), inicio + PNEUS_POR_CONSULTA))));
+                }
+                return lidas;
+            });
+            for (VeiculoPneuDTO aplicacao : aplicacoes) {
+                publicar(aplicacao.getIdVeiculo(), chavePneu(aplicacao.getIdPneu()), EVENTO_PNEU, aplicacao);
+            }
+        } catch (RuntimeException e) {
+            // Os clientes desses pneus ficam com o último estado enviado até a próxima alteração
+            log.error("Falha ao consultar {} pneus alterados para os eventos", idsPneus.size(), e);
+        }
+    }
+
+    private void publicar(Long idVeiculo, String chave, String nome, Object dados) {
+        Set<Assinante> doVeiculo = assinantes.get(idVeiculo);
+        if (doVeiculo != null) {
+            doVeiculo.forEach(assinante -> assinante.enfileirar(chave, nome, dados));
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinantes.computeIfPresent(assinante.idVeiculo, (id, doVeiculo) -> {
+            doVeiculo.remove(assinante);
+            return doVeiculo.isEmpty() ? null : doVeiculo;
+        });
+    }
+
+    private static String chavePneu(Long idPneu) {
+        return "pneu:" + idPneu;
+    }
+
+    private record EventoPendente(String nome, Object dados) {
+    }
+
+    /**
+     * Cliente conectado: buffer de eventos pendentes (um por chave) e o envio em andamento.
+     */
+    private final class Assinante {
+
+        private final Long idVeiculo;
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, EventoPendente> pendentes = new LinkedHashMap<>();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private boolean heartbeatPendente;
+
+        Assinante(Long idVeiculo, SseEmitter emitter) {
+            this.idVeiculo = idVeiculo;
+            this.emitter = emitter;
+        }
+
+        void enfileirar(String chave, String nome, Object dados) {
+            synchronized (this) {
+                // Chave já pendente: substitui o valor e mantém a posição (conflação)
+                pendentes.put(chave, new EventoPendente(nome, dados));
+                if (pendentes.size() > tamanhoBuffer) {
+                    pendentes.clear();
+                    pendentes.put(EVENTO_RESYNC, new EventoPendente(EVENTO_RESYNC, idVeiculo));
+                }
+            }
+            agendarEnvio();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatPendente = true;
+            }
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                executor.execute(this::enviarPendentes);
+            }
+        }
+
+        private void enviarPendentes() {
+            try {
+                while (true) {
+                    List<EventoPendente> lote;
+                    boolean enviarHeartbeat;
+                    synchronized (this) {
+                        if (pendentes.isEmpty() && !heartbeatPendente) {
+                            enviando.set(false);
+                            return;
+                        }
+                        lote = new ArrayList<>(pendentes.values());
+                        pendentes.clear();
+                        enviarHeartbeat = heartbeatPendente && lote.isEmpty();
+                        heartbeatPendente = false;
+                    }
+                    for (EventoPendente evento : lote) {
+                        emitter.send(SseEmitter.event().name(evento.nome()).data(evento.dados()));
+                    }
+                    if (enviarHeartbeat) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já encerrado
+                log.debug("Encerrando assinatura do veículo ID {}: {}", idVeiculo, e.getMessage());
+                remover(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
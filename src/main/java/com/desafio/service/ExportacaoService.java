@@ -0,0 +1,197 @@
+package com.desafio.service;
+
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.dto.PneuDTO;
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoPneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação da frota completa.
+ * As linhas são lidas por cursor JDBC (fetch size fixo) e escritas direto na saída,
+ * uma a uma, então o consumo de memória não depende do tamanho das tabelas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportacaoService {
+
+    /** Quantidade de linhas escritas entre cada flush da saída. */
+    private static final int LINHAS_POR_FLUSH = 1000;
+
+    private static final List<Coluna<VeiculoDTO>> COLUNAS_VEICULO = List.of(
+        new Coluna<>("id", VeiculoDTO::getId),
+        new Coluna<>("placa", VeiculoDTO::getPlaca),
+        new Coluna<>("marca", VeiculoDTO::getMarca),
+        new Coluna<>("quilometragem", VeiculoDTO::getQuilometragem),
+        new Coluna<>("status", VeiculoDTO::getStatus),
+        new Coluna<>("dataCriacao", VeiculoDTO::getDataCriacao),
+        new Coluna<>("dataAtualizacao", VeiculoDTO::getDataAtualizacao)
+    );
+
+    private static final List<Coluna<PneuDTO>> COLUNAS_PNEU = List.of(
+        new Coluna<>("id", PneuDTO::getId),
+        new Coluna<>("numeroFogo", PneuDTO::getNumeroFogo),
+        new Coluna<>("marca", PneuDTO::getMarca),
+        new Coluna<>("pressaoAtual", PneuDTO::getPressaoAtual),
+        new Coluna<>("status", PneuDTO::getStatus),
+        new Coluna<>("dataCriacao", PneuDTO::getDataCriacao),
+        new Coluna<>("dataAtualizacao", PneuDTO::getDataAtualizacao)
+    );
+
+    private static final List<Coluna<VeiculoPneuDTO>> COLUNAS_VEICULO_PNEU = List.of(
+        new Coluna<>("id", VeiculoPneuDTO::getId),
+        new Coluna<>("idVeiculo", VeiculoPneuDTO::getIdVeiculo),
+        new Coluna<>("idPneu", VeiculoPneuDTO::getIdPneu),
+        new Coluna<>("posicao", VeiculoPneuDTO::getPosicao),
+        new Coluna<>("numeroFogo", VeiculoPneuDTO::getNumeroFogo),
+        new Coluna<>("marcaPneu", VeiculoPneuDTO::getMarcaPneu),
+        new Coluna<>("pressaoAtual", VeiculoPneuDTO::getPressaoAtual),
+        new Coluna<>("dataCriacao", VeiculoPneuDTO::getDataCriacao),
+        new Coluna<>("dataAtualizacao", VeiculoPneuDTO::getDataAtualizacao)
+    );
+
+    private final VeiculoRepository veiculoRepository;
+    private final PneuRepository pneuRepository;
+    private final VeiculoPneuRepository veiculoPneuRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exporta todos os veículos.
+     *
+     * @param formato Formato de saída
+     * @param saida Stream de saída da resposta
+     * @return Quantidade de linhas exportadas
+     */
+    public long exportarVeiculos(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<VeiculoDTO> veiculos = veiculoRepository.streamTodosParaExportacao()) {
+            return exportar(veiculos, formato, COLUNAS_VEICULO, saida);
+        }
+    }
+
+    /**
+     * Exporta todos os pneus.
+     *
+     * @param formato Formato de saída
+     * @param saida Stream de saída da resposta
+     * @return Quantidade de linhas exportadas
+     */
+    public long exportarPneus(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<PneuDTO> pneus = pneuRepository.streamTodosParaExportacao()) {
+            return exportar(pneus, formato, COLUNAS_PNEU, saida);
+        }
+    }
+
+    /**
+     * Exporta todas as aplicações de pneus em veículos.
+     *
+     * @param formato Formato de saída
+     * @param saida Stream de saída da resposta
+     * @return Quantidade de linhas exportadas
+     */
+    public long exportarVeiculosPneus(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try (Stream<VeiculoPneuDTO> aplicacoes = veiculoPneuRepository.streamTodosParaExportacao()) {
+            return exportar(aplicacoes, formato, COLUNAS_VEICULO_PNEU, saida);
+        }
+    }
+
+    private <T> long exportar(Stream<T> linhas, FormatoExportacao formato, List<Coluna<T>> colunas,
+                              OutputStream saida) throws IOException {
+        long total = formato == FormatoExportacao.CSV
+            ? escreverCsv(linhas.iterator(), colunas, saida)
+            : escreverNdjson(linhas.iterator(), saida);
+        log.info("Exportação {} concluída: {} linhas", formato, total);
+        return total;
+    }
+
+    /**
+     * Escreve um objeto JSON por linha.
+     * Sem FLUSH_AFTER_WRITE_VALUE (ligado por padrão), que faria um flush da resposta a cada linha.
+     */
+    private <T> long escreverNdjson(Iterator<T> linhas, OutputStream saida) throws IOException {
+        long total = 0;
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.setRootValueSeparator(null);
+        while (linhas.hasNext()) {
+            escritor.writeValue(gerador, linhas.next());
+            gerador.writeRaw('\n');
+            if (++total % LINHAS_POR_FLUSH == 0) {
+                gerador.flush();
+            }
+        }
+        gerador.flush();
+        return total;
+    }
+
+    /**
+     * Escreve um cabeçalho e uma linha CSV (RFC 4180) por registro.
+     */
+    private <T> long escreverCsv(Iterator<T> linhas, List<Coluna<T>> colunas, OutputStream saida) throws IOException {
+        long total = 0;
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escreverLinhaCsv(escritor, colunas, Coluna::nome);
+        while (linhas.hasNext()) {
+            T linha = linhas.next();
+            escreverLinhaCsv(escritor, colunas, coluna -> coluna.valor(linha));
+            if (++total % LINHAS_POR_FLUSH == 0) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private <T> void escreverLinhaCsv(Writer escritor, List<Coluna<T>> colunas,
+                                      Function<Coluna<T>, String> valor) throws IOException {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(escaparCsv(valor.apply(colunas.get(i))));
+        }
+        escritor.write("\r\n");
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Coluna do CSV: nome do cabeçalho e como extrair o valor do DTO.
+     */
+    private record Coluna<T>(String nome, Function<T, Object> extrator) {
+        String valor(T linha) {
+            Object valor = extrator.apply(linha);
+            return valor != null ? valor.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.desafio.service;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.repository.LeituraPressaoRepository;
+import com.desafio.repository.PneuRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Serviço do histórico de leituras de pressão.
+ * As leituras são apenas inseridas (batch JDBC) e consultadas por pneu e janela de tempo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HistoricoPressaoService {
+    
+    private final LeituraPressaoRepository leituraPressaoRepository;
+    private final PneuRepository pneuRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupPressaoService rollupPressaoService;
+    
+    /**
+     * Registra leituras no histórico em um único batch.
+     * Leituras de pneus inexistentes são ignoradas pelo próprio INSERT ... SELECT.
+     * Após o commit as leituras gravadas também alimentam os agregados de pressão.
+     * 
+     * @param leituras Leituras identificadas pelo ID do pneu e com data de leitura
+     */
+    public void registrar(Collection<LeituraPressaoDTO> leituras) {
+        if (leituras.isEmpty()) {
+            return;
+        }
+        List<LeituraPressaoDTO> enviadas = new ArrayList<>(leituras);
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int[][] resultados = jdbcTemplate.batchUpdate(
+            "INSERT INTO tire_pressure_readings (id, tire_id, pressao, read_at, created_at) " +
+            "SELECT nextval('tire_pressure_readings_seq'), t.id, ?, ?, ? FROM tires t WHERE t.id = ?",
+            enviadas, enviadas.size(), (ps, leitura) -> {
+                ps.setDouble(1, leitura.getPressao());
+                ps.setTimestamp(2, Timestamp.valueOf(leitura.getDataLeitura()));
+                ps.setTimestamp(3, agora);
+                ps.setLong(4, leitura.getIdPneu());
+            });
+        // Leituras cujo INSERT ... SELECT gravou uma linha (0 linhas: pneu inexistente ou removido)
+        List<LeituraPressaoDTO> gravadas = ResultadosBatch.afetados(enviadas, resultados);
+        log.debug("{} leituras registradas no histórico de pressão", gravadas.size());
+        if (gravadas.isEmpty()) {
+            return;
+        }
+        
+        // Os agregados só recebem as leituras que de fato foram gravadas
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rollupPressaoService.acumular(gravadas);
+                }
+            });
+        } else {
+            rollupPressaoService.acumular(gravadas);
+        }
+    }
+    
+    /**
+     * Busca o histórico de pressão de um pneu em ordem cronológica.
+     * Sem janela informada, retorna as últimas 24 horas.
+     * 
+     * @param idPneu ID do pneu
+     * @param inicio Início da janela (inclusive)
+     * @param fim Fim da janela (exclusive)
+     * @param limit Máximo de leituras retornadas
+     * @return Leituras da janela
+     * @throws ResourceNotFoundException se o pneu não existir
+     * @throws BusinessException se a janela ou o limite forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public List<LeituraPressaoDTO> buscarHistorico(Long idPneu, LocalDateTime inicio, LocalDateTime fim, int limit) {
+        if (!pneuRepository.existsById(idPneu)) {
+            throw new ResourceNotFoundException("Pneu", "ID", idPneu);
+        }
+        if (limit < 1 || limit > ApiConstants.MAX_HISTORY_LIMIT) {
+            throw new BusinessException("O limite deve estar entre 1 e " + ApiConstants.MAX_HISTORY_LIMIT);
+        }
+        
+        LocalDateTime fimJanela = fim != null ? fim : LocalDateTime.now();
+        LocalDateTime inicioJanela = inicio != null ? inicio : fimJanela.minusDays(1);
+        if (!inicioJanela.isBefore(fimJanela)) {
+            throw new BusinessException("O início da janela deve ser anterior ao fim");
+        }
+        if (Duration.between(inicioJanela, fimJanela).toDays() > ApiConstants.MAX_HISTORY_WINDOW_DAYS) {
+            throw new BusinessException("A janela deve ter no máximo " + ApiConstants.MAX_HISTORY_WINDOW_DAYS + " dias");
+        }
+        
+        return leituraPressaoRepository.buscarHistorico(idPneu, inicioJanela, fimJanela, Limit.of(limit));
+    }
+}
@@ -0,0 +1,268 @@
+package com.desafio.service;
+
+import com.desafio.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filtro do header Idempotency-Key nas requisições de escrita (POST, PUT, PATCH e DELETE em /api).
+ * A primeira requisição com uma chave é processada normalmente e a resposta (2xx ou 4xx) é guardada;
+ * as repetições com a mesma chave e o mesmo conteúdo recebem a resposta guardada, sem chegar aos
+ * controllers e serviços, com o header Idempotent-Replayed. Respostas 5xx, 409 e 429 liberam a chave.
+ * A chave vale por usuário autenticado (por isso o filtro roda depois da cadeia do Spring Security,
+ * onde o JwtAuthenticationFilter autentica); requisições sem o header não são afetadas.
+ * A importação em massa fica de fora: o arquivo é lido em streaming e não cabe no buffer da impressão
+ * digital, e a própria importação rejeita números de fogo já cadastrados, então repeti-la não duplica pneus.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_CHAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final Set<String> METODOS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> CAMINHOS_IGNORADOS = List.of("/api/auth/", "/api/importacao/");
+    private static final List<String> HEADERS_GUARDADOS =
+            List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION, HttpHeaders.ETAG);
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoMaximoCorpo;
+
+    public IdempotenciaFilter(ArmazenamentoIdempotencia armazenamento, ObjectMapper objectMapper,
+                              @Value("${idempotencia.max-corpo:1MB}") DataSize tamanhoMaximoCorpo) {
+        this.armazenamento = armazenamento;
+        this.objectMapper = objectMapper;
+        this.tamanhoMaximoCorpo = (int) tamanhoMaximoCorpo.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getHeader(HEADER_CHAVE) == null
+                || !METODOS.contains(request.getMethod())
+                || !caminho.startsWith("/api/")
+                || CAMINHOS_IGNORADOS.stream().anyMatch(caminho::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String chaveInformada = request.getHeader(HEADER_CHAVE).trim();
+        if (chaveInformada.isEmpty() || chaveInformada.length() > TAMANHO_MAXIMO_CHAVE) {
+            escreverErro(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        // O corpo é lido antes para a impressão digital e entregue de novo ao controller
+        byte[] corpo = request.getInputStream().readNBytes(tamanhoMaximoCorpo + 1);
+        if (corpo.length > tamanhoMaximoCorpo) {
+            escreverErro(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requisições com Idempotency-Key aceitam corpo de até " + tamanhoMaximoCorpo + " bytes");
+            return;
+        }
+
+        String chave = escopo() + ":" + chaveInformada;
+        String impressao = impressao(request, corpo);
+        ArmazenamentoIdempotencia.Registro existente = armazenamento.reservar(chave, impressao);
+        if (existente != null) {
+            responderRepeticao(response, existente, impressao);
+            return;
+        }
+
+        ContentCachingResponseWrapper respostaEmCache = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            filterChain.doFilter(new CorpoLidoRequest(request, corpo), respostaEmCache);
+            if (isArmazenavel(respostaEmCache.getStatus()) && !request.isAsyncStarted()) {
+                armazenamento.concluir(chave, impressao, new ArmazenamentoIdempotencia.Resposta(
+                        respostaEmCache.getStatus(), headersGuardados(respostaEmCache),
+                        respostaEmCache.getContentAsByteArray()));
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                armazenamento.liberar(chave);
+            }
+            respostaEmCache.copyBodyToResponse();
+        }
+    }
+
+    // Conflitos e fila cheia são transitórios: a repetição deve ser processada de novo
+    private static boolean isArmazenavel(int status) {
+        return status < 500 && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void responderRepeticao(HttpServletResponse response, ArmazenamentoIdempotencia.Registro existente,
+                                    String impressao) throws IOException {
+        if (!existente.impressao().equals(impressao)) {
+            escreverErro(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key já utilizada em uma requisição diferente");
+            return;
+        }
+        if (existente.isEmProcessamento()) {
+            escreverErro(response, HttpStatus.CONFLICT,
+                    "A requisição com esta Idempotency-Key ainda está em processamento");
+            return;
+        }
+
+        ArmazenamentoIdempotencia.Resposta resposta = existente.resposta();
+        log.debug("Resposta repetida para Idempotency-Key (status {})", resposta.status());
+        response.setStatus(resposta.status());
+        resposta.headers().forEach(response::setHeader);
+        response.setHeader(HEADER_REPETIDA, "true");
+        response.setContentLength(resposta.corpo().length);
+        response.getOutputStream().write(resposta.corpo());
+    }
+
+    private void escreverErro(HttpServletResponse response, HttpStatus status, String mensagem) throws IOException {
+        ErrorResponse erro = new ErrorResponse(status.value(), status.getReasonPhrase(), mensagem, LocalDateTime.now());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    // Chaves de usuários diferentes não se misturam
+    private static String escopo() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken) ? autenticacao.getName() : "anonimo";
+    }
+
+    // SHA-256 do método, URI, query e corpo
+    private static String impressao(HttpServletRequest request, byte[] corpo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update((request.getMethod() + " " + request.getRequestURI() + "?"
+                    + (request.getQueryString() != null ? request.getQueryString() : "") + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest(corpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static Map<String, String> headersGuardados(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String nome : HEADERS_GUARDADOS) {
+            String valor = response.getHeader(nome);
+            if (valor != null) {
+                headers.put(nome, valor);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Requisição com o corpo já lido em memória.
+     */
+    private static class CorpoLidoRequest extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLidoRequest(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // O corpo já está todo em memória: os dados estão disponíveis de imediato
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
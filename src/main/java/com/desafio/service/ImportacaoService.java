@@ -0,0 +1,316 @@
+package com.desafio.service;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.dto.ImportacaoResultadoDTO;
+import com.desafio.dto.PneuDTO;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.ViolacoesBanco;
+import com.desafio.model.Pneu;
+import com.desafio.model.StatusPneu;
+import com.desafio.repository.PneuRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de importação em massa de pneus (CSV ou NDJSON).
+ * O arquivo é lido linha a linha e processado em blocos: cada bloco valida a unicidade
+ * do número de fogo com uma única consulta e grava em batch na sua própria transação,
+ * então a memória usada não depende do tamanho do arquivo.
+ */
+@Slf4j
+@Service
+public class ImportacaoService {
+    
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("numeroFogo", "marca", "pressaoAtual");
+    
+    private final PneuRepository pneuRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public ImportacaoService(PneuRepository pneuRepository, ObjectMapper objectMapper,
+                             Validator validator, PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.pneuRepository = pneuRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * Importa pneus a partir do conteúdo enviado.
+     * Linhas válidas de blocos já gravados permanecem mesmo se uma linha posterior for rejeitada.
+     * 
+     * @param formato Formato do arquivo
+     * @param entrada Conteúdo da requisição
+     * @return Resumo com contadores e as linhas rejeitadas
+     */
+    public ImportacaoResultadoDTO importarPneus(FormatoExportacao formato, InputStream entrada) throws IOException {
+        ImportacaoResultadoDTO resultado = new ImportacaoResultadoDTO();
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        
+        long numeroLinha = 0;
+        Map<String, Integer> cabecalho = null;
+        List<LinhaImportacao> bloco = new ArrayList<>(ApiConstants.IMPORT_CHUNK_SIZE);
+        
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            
+            if (formato == FormatoExportacao.CSV && cabecalho == null) {
+                cabecalho = lerCabecalho(linha);
+                continue;
+            }
+            
+            resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+            try {
+                PneuDTO pneu = formato == FormatoExportacao.CSV ? lerLinhaCsv(linha, cabecalho) : lerLinhaNdjson(linha);
+                String erro = validar(pneu);
+                if (erro != null) {
+                    rejeitar(resultado, numeroLinha, erro);
+                    continue;
+                }
+                bloco.add(new LinhaImportacao(numeroLinha, pneu));
+            } catch (IllegalArgumentException e) {
+                rejeitar(resultado, numeroLinha, e.getMessage());
+            }
+            
+            if (bloco.size() == ApiConstants.IMPORT_CHUNK_SIZE) {
+                gravarBloco(bloco, resultado);
+                bloco.clear();
+            }
+        }
+        
+        if (!bloco.isEmpty()) {
+            gravarBloco(bloco, resultado);
+        }
+        
+        log.info("Importação de pneus concluída: {} linhas, {} importados, {} rejeitados",
+                resultado.getLinhasLidas(), resultado.getImportados(), resultado.getRejeitados());
+        return resultado;
+    }
+    
+    /**
+     * Valida a unicidade do bloco com uma consulta e grava as linhas aceitas em uma transação.
+     */
+    private void gravarBloco(List<LinhaImportacao> bloco, ImportacaoResultadoDTO resultado) {
+        Set<String> numerosFogo = bloco.stream()
+                .map(linha -> linha.pneu().getNumeroFogo())
+                .collect(Collectors.toSet());
+        Set<String> existentes = pneuRepository.findNumerosFogoExistentes(numerosFogo);
+        
+        List<LinhaImportacao> aceitas = new ArrayList<>(bloco.size());
+        Set<String> noBloco = new HashSet<>();
+        for (LinhaImportacao linha : bloco) {
+            String numeroFogo = linha.pneu().getNumeroFogo();
+            if (existentes.contains(numeroFogo)) {
+                rejeitar(resultado, linha.numero(), "Número de fogo já cadastrado: " + numeroFogo);
+            } else if (!noBloco.add(numeroFogo)) {
+                rejeitar(resultado, linha.numero(), "Número de fogo repetido no arquivo: " + numeroFogo);
+            } else {
+                aceitas.add(linha);
+            }
+        }
+        
+        while (!aceitas.isEmpty()) {
+            try {
+                salvar(aceitas);
+                resultado.setImportados(resultado.getImportados() + aceitas.size());
+                log.debug("Bloco de {} pneus importado", aceitas.size());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!ViolacoesBanco.isViolacaoUnicidade(e)) {
+                    throw e;
+                }
+                // Outro cadastro concorrente usou algum número de fogo do bloco depois da consulta:
+                // nada do bloco foi gravado, então só as linhas em conflito são rejeitadas e o resto é regravado
+                aceitas = semConflitos(aceitas, resultado, e);
+            }
+        }
+    }
+    
+    // saveAll em uma transação nova: os INSERTs saem em batch (hibernate.jdbc.batch_size)
+    // e o contexto de persistência é descartado no commit
+    private void salvar(List<LinhaImportacao> linhas) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Pneu> salvos = pneuRepository.saveAll(linhas.stream().map(linha -> criarEntidadePneu(linha.pneu())).toList());
+            eventPublisher.publishEvent(PneusAlteradosEvent.de(salvos.stream().map(Pneu::getId).toList()));
+        });
+    }
+    
+    /**
+     * Rejeita as linhas cujo número de fogo foi cadastrado por outra operação e devolve as demais.
+     * 
+     * @throws DataIntegrityViolationException a violação original, se nenhum número de fogo do bloco estiver cadastrado
+     */
+    private List<LinhaImportacao> semConflitos(List<LinhaImportacao> linhas, ImportacaoResultadoDTO resultado,
+                                               DataIntegrityViolationException violacao) {
+        Set<String> cadastrados = pneuRepository.findNumerosFogoExistentes(
+                linhas.stream().map(linha -> linha.pneu().getNumeroFogo()).toList());
+        if (cadastrados.isEmpty()) {
+            throw violacao;
+        }
+        log.warn("Conflito ao gravar bloco de importação: {} de {} pneus já cadastrados por outra operação",
+                cadastrados.size(), linhas.size());
+        
+        List<LinhaImportacao> restantes = new ArrayList<>(linhas.size());
+        for (LinhaImportacao linha : linhas) {
+            String numeroFogo = linha.pneu().getNumeroFogo();
+            if (cadastrados.contains(numeroFogo)) {
+                rejeitar(resultado, linha.numero(), "Número de fogo já cadastrado: " + numeroFogo);
+            } else {
+                restantes.add(linha);
+            }
+        }
+        return restantes;
+    }
+    
+    private void rejeitar(ImportacaoResultadoDTO resultado, long numeroLinha, String motivo) {
+        resultado.rejeitar(numeroLinha, motivo, ApiConstants.MAX_IMPORT_REJECTIONS_DETAIL);
+    }
+    
+    private String validar(PneuDTO pneu) {
+        Set<ConstraintViolation<PneuDTO>> violacoes = validator.validate(pneu);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private PneuDTO lerLinhaNdjson(String linha) {
+        try {
+            return objectMapper.readValue(linha, PneuDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+    
+    private Map<String, Integer> lerCabecalho(String linha) {
+        // Planilhas costumam gravar o BOM do UTF-8 no início do arquivo
+        List<String> colunas = separarCamposCsv(linha.startsWith("\uFEFF") ? linha.substring(1) : linha);
+        Map<String, Integer> cabecalho = new HashMap<>();
+        for (int i = 0; i < colunas.size(); i++) {
+            cabecalho.put(colunas.get(i).trim(), i);
+        }
+        for (String obrigatoria : COLUNAS_OBRIGATORIAS) {
+            if (!cabecalho.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no cabeçalho: " + obrigatoria);
+            }
+        }
+        return cabecalho;
+    }
+    
+    private PneuDTO lerLinhaCsv(String linha, Map<String, Integer> cabecalho) {
+        List<String> campos = separarCamposCsv(linha);
+        PneuDTO pneu = new PneuDTO();
+        pneu.setNumeroFogo(campo(campos, cabecalho, "numeroFogo"));
+        pneu.setMarca(campo(campos, cabecalho, "marca"));
+        
+        String pressao = campo(campos, cabecalho, "pressaoAtual");
+        if (pressao != null) {
+            try {
+                pneu.setPressaoAtual(Double.valueOf(pressao));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Pressão inválida: " + pressao);
+            }
+        }
+        
+        String status = campo(campos, cabecalho, "status");
+        if (status != null) {
+            try {
+                pneu.setStatus(StatusPneu.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Status inválido: " + status);
+            }
+        }
+        return pneu;
+    }
+    
+    private static String campo(List<String> campos, Map<String, Integer> cabecalho, String nome) {
+        Integer indice = cabecalho.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+    
+    /**
+     * Separa uma linha CSV (RFC 4180) em campos, tratando aspas e aspas duplicadas.
+     */
+    private static List<String> separarCamposCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+    
+    private Pneu criarEntidadePneu(PneuDTO pneuDTO) {
+        Pneu pneu = new Pneu();
+        pneu.setNumeroFogo(pneuDTO.getNumeroFogo());
+        pneu.setMarca(pneuDTO.getMarca());
+        pneu.setPressaoAtual(pneuDTO.getPressaoAtual());
+        pneu.setStatus(pneuDTO.getStatus() != null ? pneuDTO.getStatus() : StatusPneu.DISPONIVEL);
+        return pneu;
+    }
+    
+    /**
+     * Linha já convertida, com a posição no arquivo para o relatório de rejeições.
+     */
+    private record LinhaImportacao(long numero, PneuDTO pneu) {}
+}
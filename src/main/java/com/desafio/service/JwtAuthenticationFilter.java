@@ -1,13 +1,16 @@
 package com.desafio.service;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,9 +19,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Filtro JWT para interceptar requisições e validar tokens de autenticação.
+ * Roda dentro da cadeia do Spring Security (ver SecurityConfig), antes do filtro anônimo.
  */
 @Slf4j
 @Component
@@ -27,6 +33,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final RevogacaoTokenService revogacaoTokenService;
+    
+    /**
+     * Quando habilitado, tokens com authorities embutidas são aceitos sem carregar o usuário do banco.
+     */
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessHabilitado;
+    
+    /**
+     * No modo stateless, confere a versão do token contra o cache de revogação.
+     */
+    @Value("${jwt.stateless.verificar-versao:true}")
+    private boolean verificarVersao;
     
     @Override
     protected void doFilterInternal(
@@ -49,32 +68,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extrair o email do token
-            userEmail = jwtService.extractUsername(jwt);
+            // Validar assinatura/expiração e extrair todas as claims em um único parse
+            Claims claims = jwtService.validarEExtrairClaims(jwt);
+            userEmail = claims.getSubject();
             
             // Se temos um email e não há usuário autenticado no contexto
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // Buscar detalhes do usuário
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                List<GrantedAuthority> authorities = statelessHabilitado ? jwtService.extrairAuthorities(claims) : null;
                 
-                // Validar o token
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    
-                    // Criar token de autenticação
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
-                    
-                    // Definir detalhes da autenticação
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Definir autenticação no contexto de segurança
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (authorities != null) {
+                    // Modo stateless: autenticação montada só com as claims, sem consultar o banco
+                    if (!verificarVersao || revogacaoTokenService.isVersaoValida(userEmail, jwtService.extrairVersao(claims))) {
+                        autenticar(request, userEmail, authorities);
+                    } else {
+                        log.debug("Token revogado para usuário: {}", userEmail);
+                    }
+                } else {
+                    // Buscar detalhes do usuário
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
                     
-                    log.debug("Usuário autenticado via JWT: {}", userEmail);
+                    // Conferir se o token pertence ao usuário (sem novo parse)
+                    if (jwtService.isTokenValid(claims, userDetails)) {
+                        autenticar(request, userDetails, userDetails.getAuthorities());
+                    }
                 }
             }
         } catch (Exception e) {
@@ -84,4 +101,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continuar com o filtro
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Registra a autenticação no contexto de segurança.
+     * 
+     * @param request Requisição atual
+     * @param principal Usuário autenticado (UserDetails ou email no modo stateless)
+     * @param authorities Permissões do usuário
+     */
+    private void autenticar(HttpServletRequest request, Object principal, Collection<? extends GrantedAuthority> authorities) {
+        // Criar token de autenticação
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            authorities
+        );
+        
+        // Definir detalhes da autenticação
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        
+        // Definir autenticação no contexto de segurança
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        
+        log.debug("Usuário autenticado via JWT: {}", authToken.getName());
+    }
 } 
\ No newline at end of file
@@ -1,168 +1,277 @@
 package com.desafio.service;
 
+import com.desafio.model.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Serviço para gerenciar tokens JWT.
+ * As chaves de assinatura e o parser são montados uma única vez na inicialização;
+ * o parser é imutável e thread-safe, então é compartilhado entre todas as requisições.
  */
 @Slf4j
 @Service
 public class JwtService {
-    
+
+    /** Claim com as authorities do usuário (ex.: ROLE_USER). */
+    public static final String CLAIM_ROLES = "roles";
+
+    /** Claim com a versão dos tokens do usuário no momento da emissão. */
+    public static final String CLAIM_VERSAO = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
-    
+
+    @Value("${jwt.key-id:principal}")
+    private String keyId;
+
+    /**
+     * Chaves antigas ainda aceitas na validação, no formato "kid1:segredo1,kid2:segredo2".
+     * Permite rotacionar o segredo sem invalidar os tokens já emitidos.
+     */
+    @Value("${jwt.previous-secrets:}")
+    private String previousSecrets;
+
     @Value("${jwt.expiration:86400000}") // 24 horas em milissegundos
     private long jwtExpiration;
-    
+
+    private Map<String, Key> chavesPorKid;
+    private Key chaveAssinatura;
+    private JwtParser parser;
+
+    /**
+     * Decodifica os segredos e monta o parser compartilhado.
+     */
+    @PostConstruct
+    void inicializarChaves() {
+        Map<String, Key> chaves = new LinkedHashMap<>();
+        chaves.put(keyId, criarChave(secretKey));
+
+        if (!previousSecrets.isBlank()) {
+            for (String entrada : previousSecrets.split(",")) {
+                String[] partes = entrada.trim().split(":", 2);
+                if (partes.length != 2 || partes[0].isBlank()) {
+                    throw new IllegalStateException("Entrada inválida em jwt.previous-secrets: esperado 'kid:segredo'");
+                }
+                chaves.putIfAbsent(partes[0].trim(), criarChave(partes[1].trim()));
+            }
+        }
+
+        this.chavesPorKid = Collections.unmodifiableMap(chaves);
+        this.chaveAssinatura = chaves.get(keyId);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolverChave(header.getKeyId());
+                    }
+                })
+                .build();
+
+        log.info("Chaves JWT carregadas. Kid atual: {}, kids aceitos: {}", keyId, chavesPorKid.keySet());
+    }
+
+    /**
+     * Valida o token (assinatura e expiração) e devolve todas as claims com um único parse.
+     *
+     * @param token Token JWT
+     * @return Claims do token
+     * @throws JwtException se o token for inválido, expirado ou assinado com chave desconhecida
+     */
+    public Claims validarEExtrairClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
     /**
      * Extrai o email do token JWT.
-     * 
+     *
      * @param token Token JWT
      * @return Email do usuário
      */
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
-    
+
     /**
      * Extrai a data de expiração do token JWT.
-     * 
+     *
      * @param token Token JWT
      * @return Data de expiração
      */
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
-    
+
     /**
      * Extrai uma claim específica do token JWT.
-     * 
+     *
      * @param token Token JWT
      * @param claimsResolver Função para resolver a claim
      * @return Valor da claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = validarEExtrairClaims(token);
         return claimsResolver.apply(claims);
     }
-    
-    /**
-     * Extrai todas as claims do token JWT.
-     * 
-     * @param token Token JWT
-     * @return Claims do token
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    
+
     /**
      * Verifica se o token JWT é válido.
-     * 
+     *
      * @param token Token JWT
      * @param userDetails Detalhes do usuário
      * @return true se o token é válido, false caso contrário
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return isTokenValid(validarEExtrairClaims(token), userDetails);
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifica se claims já validadas pertencem ao usuário informado, sem novo parse.
+     * Mesmas regras do modo stateless: o usuário precisa estar ativo e a versão do token
+     * precisa ser a versão atual do usuário (tokens revogados deixam de valer).
+     *
+     * @param claims Claims obtidas por {@link #validarEExtrairClaims(String)}
+     * @param userDetails Detalhes do usuário
+     * @return true se o token pertence ao usuário ativo, não está expirado nem revogado
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        if (!userDetails.getUsername().equals(claims.getSubject()) || isTokenExpired(claims) || !userDetails.isEnabled()) {
+            return false;
+        }
+        return !(userDetails instanceof Usuario usuario) || usuario.getVersaoToken().equals(extrairVersao(claims));
+    }
+
+    /**
+     * Extrai as authorities embutidas no token.
+     *
+     * @param claims Claims do token
+     * @return Authorities do usuário, ou null se o token não as contém (emitido antes do modo stateless)
+     */
+    public List<GrantedAuthority> extrairAuthorities(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(roles instanceof Collection<?> colecao)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(colecao.size());
+        for (Object role : colecao) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+        }
+        return authorities;
+    }
+
+    /**
+     * Extrai a versão de token do usuário embutida no token.
+     *
+     * @param claims Claims do token
+     * @return Versão do token, ou null se ausente
+     */
+    public Integer extrairVersao(Claims claims) {
+        return claims.get(CLAIM_VERSAO, Integer.class);
     }
-    
+
     /**
      * Verifica se o token JWT está expirado.
-     * 
-     * @param token Token JWT
+     *
+     * @param claims Claims do token
      * @return true se o token está expirado, false caso contrário
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-    
+
     /**
      * Gera um token JWT para o usuário.
-     * 
+     *
      * @param userDetails Detalhes do usuário
      * @return Token JWT gerado
      */
     public String generateToken(UserDetails userDetails) {
-        try {
-            log.info("Gerando token para usuário: {}", userDetails.getUsername());
-            return generateToken(new HashMap<>(), userDetails);
-        } catch (Exception e) {
-            log.error("Erro ao gerar token JWT: ", e);
-            throw e;
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof Usuario usuario) {
+            claims.put(CLAIM_VERSAO, usuario.getVersaoToken());
         }
+        return generateToken(claims, userDetails);
     }
-    
+
     /**
      * Gera um token JWT para o usuário com claims extras.
-     * 
+     *
      * @param extraClaims Claims extras
      * @param userDetails Detalhes do usuário
      * @return Token JWT gerado
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        try {
-            log.info("Construindo token JWT...");
-            log.info("Username: {}", userDetails.getUsername());
-            log.info("Expiration time: {} ms", jwtExpiration);
-            
-            String token = Jwts
-                    .builder()
-                    .setClaims(extraClaims)
-                    .setSubject(userDetails.getUsername())
-                    .setIssuedAt(new Date(System.currentTimeMillis()))
-                    .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                    .signWith(getSignKey(), SignatureAlgorithm.HS256)
-                    .compact();
-                    
-            log.info("Token JWT construído com sucesso. Tamanho: {}", token.length());
-            return token;
-        } catch (Exception e) {
-            log.error("Erro ao construir token JWT: ", e);
-            throw e;
-        }
+        log.debug("Gerando token JWT para usuário: {}", userDetails.getUsername());
+
+        long agora = System.currentTimeMillis();
+        return Jwts
+                .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setClaims(extraClaims)
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(agora))
+                .setExpiration(new Date(agora + jwtExpiration))
+                .signWith(chaveAssinatura, SignatureAlgorithm.HS256)
+                .compact();
     }
-    
+
     /**
-     * Obtém a chave de assinatura para o JWT.
-     * 
+     * Resolve a chave de assinatura pelo kid do cabeçalho.
+     * Tokens sem kid (emitidos antes da rotação) usam a chave atual.
+     *
+     * @param kid Identificador da chave
      * @return Chave de assinatura
      */
-    private Key getSignKey() {
-        try {
-            log.info("Obtendo chave de assinatura JWT...");
-            log.info("Secret key length: {}", secretKey.length());
-            
-            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-            log.info("Decoded key bytes length: {}", keyBytes.length);
-            
-            Key key = Keys.hmacShaKeyFor(keyBytes);
-            log.info("Chave de assinatura criada com sucesso");
-            return key;
-        } catch (Exception e) {
-            log.error("Erro ao criar chave de assinatura: ", e);
-            throw e;
+    private Key resolverChave(String kid) {
+        if (kid == null) {
+            return chaveAssinatura;
         }
+        Key chave = chavesPorKid.get(kid);
+        if (chave == null) {
+            throw new JwtException("Chave de assinatura desconhecida: " + kid);
+        }
+        return chave;
+    }
+
+    /**
+     * Cria a chave HMAC a partir de um segredo em Base64.
+     *
+     * @param segredo Segredo codificado em Base64
+     * @return Chave de assinatura
+     */
+    private static Key criarChave(String segredo) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(segredo));
     }
-} 
\ No newline at end of file
+}
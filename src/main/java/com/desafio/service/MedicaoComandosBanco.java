@@ -0,0 +1,77 @@
+package com.desafio.service;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Conta os comandos SQL e soma o tempo de JDBC da requisição em andamento na thread.
+ * Recebe as execuções do proxy do DataSource (DataSourceProxyConfig); fora de uma medição
+ * iniciada pelo ComandosBancoFilter (jobs agendados, threads de envio SSE) elas são ignoradas.
+ * Um batch JDBC conta como um comando: é uma ida ao banco.
+ */
+@Component
+public class MedicaoComandosBanco implements QueryExecutionListener {
+
+    private final ThreadLocal<Medicao> atual = new ThreadLocal<>();
+
+    /**
+     * Inicia a medição da thread atual.
+     *
+     * @return Medição, atualizada a cada comando até encerrar
+     */
+    public Medicao iniciar() {
+        Medicao medicao = new Medicao();
+        atual.set(medicao);
+        return medicao;
+    }
+
+    /**
+     * Encerra a medição da thread atual.
+     *
+     * @return Medição encerrada, ou null se nenhuma foi iniciada
+     */
+    public Medicao encerrar() {
+        Medicao medicao = atual.get();
+        atual.remove();
+        return medicao;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Medicao medicao = atual.get();
+        if (medicao != null) {
+            medicao.inicioComando = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Medicao medicao = atual.get();
+        if (medicao != null) {
+            medicao.comandos++;
+            medicao.nanos += System.nanoTime() - medicao.inicioComando;
+        }
+    }
+
+    /**
+     * Comandos executados e tempo de JDBC acumulado. Só a thread da requisição altera.
+     */
+    public static final class Medicao {
+
+        private int comandos;
+        private long nanos;
+        private long inicioComando;
+
+        public int getComandos() {
+            return comandos;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.desafio.service;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.exception.BusinessException;
+
+/**
+ * Validações e ajustes de parâmetros comuns às consultas paginadas dos serviços.
+ */
+final class Paginacao {
+    
+    private Paginacao() {
+    }
+    
+    /**
+     * Valida o tamanho de página solicitado.
+     * 
+     * @param limit Tamanho da página
+     * @throws BusinessException se estiver fora do intervalo permitido
+     */
+    static void validarLimite(int limit) {
+        if (limit < 1 || limit > ApiConstants.MAX_PAGE_SIZE) {
+            throw new BusinessException("O limite deve estar entre 1 e " + ApiConstants.MAX_PAGE_SIZE);
+        }
+    }
+    
+    /**
+     * Escapa um filtro de busca parcial para uso em LIKE ... ESCAPE '\', de modo que
+     * '%' e '_' informados pelo usuário sejam comparados como texto e não como curingas.
+     * 
+     * @param filtro Filtro informado (pode ser nulo)
+     * @return Filtro escapado, ou null se não informado
+     */
+    static String escaparLike(String filtro) {
+        if (filtro == null) {
+            return null;
+        }
+        return filtro.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,189 @@
+package com.desafio.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Manutenção das partições mensais de tire_pressure_readings.
+ * Cria as partições dos próximos meses e remove as que passaram do prazo de retenção
+ * com DROP TABLE, sem DELETE linha a linha. Só atua no PostgreSQL (nos testes o banco é H2).
+ * A partição DEFAULT recebe leituras fora dos meses já criados; quando um desses meses ganha
+ * partição, as linhas dele são movidas da DEFAULT para ela. A retenção da DEFAULT é por DELETE em lotes.
+ */
+@Slf4j
+@Service
+public class ParticoesHistoricoPressaoService {
+    
+    private static final String TABELA = "tire_pressure_readings";
+    private static final String PREFIXO_PARTICAO = TABELA + "_p";
+    private static final String PARTICAO_DEFAULT = TABELA + "_default";
+    private static final DateTimeFormatter FORMATO_SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int LOTE_RETENCAO_DEFAULT = 10_000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int mesesFuturos;
+    private final int mesesRetencao;
+    private Boolean postgres;
+    
+    public ParticoesHistoricoPressaoService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${historico.pressao.meses-futuros:3}") int mesesFuturos,
+            @Value("${historico.pressao.retencao-meses:12}") int mesesRetencao) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mesesFuturos = mesesFuturos;
+        this.mesesRetencao = mesesRetencao;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        manterParticoes();
+    }
+    
+    /**
+     * Cria as partições futuras e remove as expiradas.
+     * Cada etapa falha sozinha: um mês que não pôde ser criado não impede os demais nem a retenção,
+     * e a falha não derruba a inicialização.
+     */
+    @Scheduled(cron = "${historico.pressao.manutencao-cron:0 0 3 * * *}")
+    public void manterParticoes() {
+        if (!isPostgres()) {
+            return;
+        }
+        YearMonth atual = YearMonth.now();
+        for (int i = 0; i <= mesesFuturos; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            try {
+                criarParticao(mes);
+            } catch (DataAccessException e) {
+                log.error("Falha ao criar a partição de histórico de pressão de {}", mes, e);
+            }
+        }
+        
+        YearMonth limite = atual.minusMonths(mesesRetencao);
+        try {
+            removerParticoesExpiradas(limite);
+        } catch (DataAccessException e) {
+            log.error("Falha ao remover partições expiradas do histórico de pressão", e);
+        }
+        try {
+            removerExpiradasDaDefault(limite);
+        } catch (DataAccessException e) {
+            log.error("Falha ao aplicar a retenção na partição {}", PARTICAO_DEFAULT, e);
+        }
+    }
+    
+    /**
+     * Cria a partição do mês. Se a DEFAULT já tem leituras desse mês, o PostgreSQL recusa o
+     * CREATE ... PARTITION OF; nesse caso a DEFAULT é desanexada, as linhas do mês passam para a
+     * partição nova e a DEFAULT é anexada de volta, tudo na mesma transação.
+     */
+    private void criarParticao(YearMonth mes) {
+        String particao = PREFIXO_PARTICAO + mes.format(FORMATO_SUFIXO);
+        if (existe(particao)) {
+            return;
+        }
+        Timestamp inicio = Timestamp.valueOf(mes.atDay(1).atStartOfDay());
+        Timestamp fim = Timestamp.valueOf(mes.plusMonths(1).atDay(1).atStartOfDay());
+        String criar = String.format("CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+            particao, TABELA, mes.atDay(1), mes.plusMonths(1).atDay(1));
+        
+        Boolean defaultTemLeituras = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM " + PARTICAO_DEFAULT + " WHERE read_at >= ? AND read_at < ?)",
+            Boolean.class, inicio, fim);
+        if (!Boolean.TRUE.equals(defaultTemLeituras)) {
+            jdbcTemplate.execute(criar);
+            return;
+        }
+        
+        Integer movidas = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + TABELA + " DETACH PARTITION " + PARTICAO_DEFAULT);
+            jdbcTemplate.execute(criar);
+            int linhas = jdbcTemplate.update(
+                "INSERT INTO " + particao + " (id, tire_id, pressao, read_at, created_at) " +
+                "SELECT id, tire_id, pressao, read_at, created_at FROM " + PARTICAO_DEFAULT +
+                " WHERE read_at >= ? AND read_at < ?", inicio, fim);
+            jdbcTemplate.update(
+                "DELETE FROM " + PARTICAO_DEFAULT + " WHERE read_at >= ? AND read_at < ?", inicio, fim);
+            jdbcTemplate.execute("ALTER TABLE " + TABELA + " ATTACH PARTITION " + PARTICAO_DEFAULT + " DEFAULT");
+            return linhas;
+        });
+        log.info("Partição {} criada com {} leituras movidas da partição {}", particao, movidas, PARTICAO_DEFAULT);
+    }
+    
+    private boolean existe(String tabela) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT to_regclass(?) IS NOT NULL", Boolean.class, tabela));
+    }
+    
+    private void removerParticoesExpiradas(YearMonth limite) {
+        List<String> particoes = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = ?", String.class, TABELA);
+        
+        for (String particao : particoes) {
+            if (!particao.startsWith(PREFIXO_PARTICAO)) {
+                continue;
+            }
+            try {
+                YearMonth mes = YearMonth.parse(particao.substring(PREFIXO_PARTICAO.length()), FORMATO_SUFIXO);
+                if (mes.isBefore(limite)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + particao);
+                    log.info("Partição de histórico de pressão removida por retenção: {}", particao);
+                }
+            } catch (DateTimeParseException e) {
+                log.warn("Partição com nome fora do padrão ignorada: {}", particao);
+            }
+        }
+    }
+    
+    /**
+     * Retenção da DEFAULT, que não pode ser removida inteira: DELETE em lotes, cada um na
+     * própria transação, para não segurar bloqueios nem gerar uma transação enorme.
+     */
+    private void removerExpiradasDaDefault(YearMonth limite) {
+        Timestamp corte = Timestamp.valueOf(limite.atDay(1).atStartOfDay());
+        long removidas = 0;
+        int lote;
+        do {
+            lote = jdbcTemplate.update(
+                "DELETE FROM " + PARTICAO_DEFAULT + " WHERE ctid IN (" +
+                "SELECT ctid FROM " + PARTICAO_DEFAULT + " WHERE read_at < ? LIMIT ?)",
+                corte, LOTE_RETENCAO_DEFAULT);
+            removidas += lote;
+        } while (lote == LOTE_RETENCAO_DEFAULT);
+        
+        if (removidas > 0) {
+            log.info("{} leituras anteriores a {} removidas da partição {}", removidas, limite, PARTICAO_DEFAULT);
+        }
+    }
+    
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String banco = jdbcTemplate.execute(
+                (ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(banco);
+        }
+        return postgres;
+    }
+}
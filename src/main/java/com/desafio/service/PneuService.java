@@ -1,17 +1,30 @@
 package com.desafio.service;
 
+import com.desafio.dto.AlertaPressaoDTO;
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.dto.PaginaDTO;
 import com.desafio.dto.PneuDTO;
+import com.desafio.dto.ResultadoUpsert;
+import com.desafio.event.PneusAlteradosEvent;
 import com.desafio.exception.BusinessException;
 import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.exception.ViolacoesBanco;
 import com.desafio.model.Pneu;
 import com.desafio.model.StatusPneu;
 import com.desafio.repository.PneuRepository;
 import com.desafio.repository.VeiculoPneuRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,6 +41,10 @@ public class PneuService {
     
     private final PneuRepository pneuRepository;
     private final VeiculoPneuRepository veiculoPneuRepository;
+    private final HistoricoPressaoService historicoPressaoService;
+    private final AlertaPressaoService alertaPressaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
     
     /**
      * Cria um novo pneu no sistema.
@@ -37,21 +54,55 @@ public class PneuService {
      * @throws BusinessException se o número de fogo já estiver cadastrado
      */
     public PneuDTO criarPneu(PneuDTO pneuDTO) {
-        log.info("Criando novo pneu com número de fogo: {}", pneuDTO.getNumeroFogo());
-        
-        // Validar se número de fogo já existe
-        validarNumeroFogoUnico(pneuDTO.getNumeroFogo());
+        log.debug("Criando novo pneu com número de fogo: {}", pneuDTO.getNumeroFogo());
         
         // Criar entidade Pneu
         Pneu pneu = criarEntidadePneu(pneuDTO);
         
-        // Salvar no banco
-        Pneu savedPneu = pneuRepository.save(pneu);
-        log.info("Pneu criado com sucesso. ID: {}", savedPneu.getId());
+        // Salvar no banco (a constraint UNIQUE valida o número de fogo)
+        Pneu savedPneu = salvarComNumeroFogoUnico(pneu);
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(savedPneu.getId()));
+        log.debug("Pneu criado com sucesso. ID: {}", savedPneu.getId());
         
         return converterParaDTO(savedPneu);
     }
     
+    /**
+     * Cria ou atualiza o pneu do número de fogo informado (upsert idempotente).
+     * O INSERT ... ON CONFLICT DO NOTHING resolve a corrida entre reenvios simultâneos no banco:
+     * só um deles cria o pneu, os demais atualizam o pneu criado.
+     * 
+     * @param numeroFogo Número de fogo do pneu
+     * @param pneuDTO Dados do pneu, com o mesmo número de fogo
+     * @return Pneu gravado e se ele foi criado agora
+     * @throws BusinessException se o número de fogo do corpo for diferente do informado
+     */
+    public ResultadoUpsert<PneuDTO> salvarPneuPorNumeroFogo(String numeroFogo, PneuDTO pneuDTO) {
+        log.debug("Gravando pneu com número de fogo: {}", numeroFogo);
+        
+        if (!numeroFogo.equals(pneuDTO.getNumeroFogo())) {
+            throw new BusinessException("Número de fogo do corpo difere do informado na URL: " + pneuDTO.getNumeroFogo());
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int inseridos = jdbcTemplate.update(
+            "INSERT INTO tires (id, numero_fogo, marca, pressao_atual, status, created_at, updated_at, version) " +
+            "VALUES (nextval('tires_seq'), ?, ?, ?, ?, ?, ?, 0) ON CONFLICT DO NOTHING",
+            numeroFogo, pneuDTO.getMarca(), pneuDTO.getPressaoAtual(),
+            (pneuDTO.getStatus() != null ? pneuDTO.getStatus() : StatusPneu.DISPONIVEL).name(), agora, agora);
+        boolean criado = inseridos == 1;
+        
+        Pneu pneu = pneuRepository.findByNumeroFogo(numeroFogo)
+            .orElseThrow(() -> new BusinessException("Pneu foi removido por outra operação, tente novamente"));
+        if (!criado) {
+            // Reenvio com os mesmos dados não gera UPDATE (nada fica sujo)
+            atualizarDadosPneu(pneu, pneuDTO);
+        }
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(pneu.getId()));
+        log.debug("Pneu {} com sucesso. ID: {}", criado ? "criado" : "atualizado", pneu.getId());
+        
+        return new ResultadoUpsert<>(converterParaDTO(pneu), criado);
+    }
+    
     /**
      * Busca um pneu por ID.
      * 
@@ -61,7 +112,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public PneuDTO buscarPneuPorId(Long id) {
-        log.info("Buscando pneu por ID: {}", id);
+        log.debug("Buscando pneu por ID: {}", id);
         
         Pneu pneu = pneuRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pneu", "ID", id));
@@ -69,6 +120,20 @@ public class PneuService {
         return converterParaDTO(pneu);
     }
     
+    /**
+     * Versão atual do pneu, para requisições condicionais (ETag).
+     * 
+     * @param id ID do pneu
+     * @return Versão opaca do pneu
+     * @throws ResourceNotFoundException se o pneu não for encontrado
+     */
+    @Transactional(readOnly = true)
+    public String buscarVersaoPneu(Long id) {
+        return pneuRepository.buscarVersao(id)
+            .map(LocalDateTime::toString)
+            .orElseThrow(() -> new ResourceNotFoundException("Pneu", "ID", id));
+    }
+    
     /**
      * Busca todos os pneus cadastrados no sistema.
      * 
@@ -76,7 +141,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public List<PneuDTO> buscarTodosPneus() {
-        log.info("Buscando todos os pneus");
+        log.debug("Buscando todos os pneus");
         
         List<Pneu> pneus = pneuRepository.findAll();
         return pneus.stream()
@@ -84,6 +149,30 @@ public class PneuService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Lista pneus paginados por cursor (keyset no id), com os filtros aplicados no banco.
+     * 
+     * @param after Id do último pneu da página anterior (null para a primeira página)
+     * @param limit Quantidade máxima de pneus na página
+     * @param status Filtro opcional de status
+     * @param marca Filtro opcional de marca (busca parcial case-insensitive)
+     * @return Página de PneuDTO com o próximo cursor
+     * @throws BusinessException se o limite estiver fora do intervalo permitido
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<PneuDTO> buscarPneusPaginados(Long after, int limit, StatusPneu status, String marca) {
+        // Guardado: o limite seria convertido em Integer a cada listagem mesmo com o DEBUG desligado
+        if (log.isDebugEnabled()) {
+            log.debug("Listando pneus após o cursor {} (limite {})", after, limit);
+        }
+        
+        Paginacao.validarLimite(limit);
+        
+        List<Pneu> pneus = pneuRepository.buscarPagina(
+            after != null ? after : 0L, status, Paginacao.escaparLike(marca), Limit.of(limit + 1));
+        return PaginaDTO.deResultados(pneus, limit, Pneu::getId, this::converterParaDTO);
+    }
+    
     /**
      * Busca pneus por marca (busca parcial case-insensitive).
      * 
@@ -92,7 +181,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public List<PneuDTO> buscarPneusPorMarca(String marca) {
-        log.info("Buscando pneus por marca: {}", marca);
+        log.debug("Buscando pneus por marca: {}", marca);
         
         List<Pneu> pneus = pneuRepository.findByMarcaContainingIgnoreCase(marca);
         return pneus.stream()
@@ -108,7 +197,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public List<PneuDTO> buscarPneusPorStatus(StatusPneu status) {
-        log.info("Buscando pneus por status: {}", status);
+        log.debug("Buscando pneus por status: {}", status);
         
         List<Pneu> pneus = pneuRepository.findByStatus(status);
         return pneus.stream()
@@ -123,7 +212,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public List<PneuDTO> buscarPneusDisponiveis() {
-        log.info("Buscando pneus disponíveis");
+        log.debug("Buscando pneus disponíveis");
         
         List<Pneu> pneus = pneuRepository.findByStatus(StatusPneu.DISPONIVEL);
         return pneus.stream()
@@ -132,18 +221,17 @@ public class PneuService {
     }
     
     /**
-     * Busca pneus com pressão baixa (menor que 30 PSI).
+     * Busca pneus com pressão baixa, segundo as regras de alerta configuradas.
+     * Lido do índice de alarmes em memória; só os pneus alterados na transação corrente
+     * (ainda fora do índice) são consultados no banco.
      * 
-     * @return Lista de PneuDTO com os pneus com pressão baixa
+     * @return Lista de alertas, da menor para a maior pressão
      */
-    @Transactional(readOnly = true)
-    public List<PneuDTO> buscarPneusComPressaoBaixa() {
-        log.info("Buscando pneus com pressão baixa");
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<AlertaPressaoDTO> buscarPneusComPressaoBaixa() {
+        log.debug("Buscando pneus com pressão baixa");
         
-        List<Pneu> pneus = pneuRepository.findByPressaoAtualLessThan(30.0);
-        return pneus.stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return alertaPressaoService.listarAlertas();
     }
     
     /**
@@ -156,23 +244,18 @@ public class PneuService {
      * @throws BusinessException se o novo número de fogo já estiver cadastrado
      */
     public PneuDTO atualizarPneu(Long id, PneuDTO pneuDTO) {
-        log.info("Atualizando pneu com ID: {}", id);
+        log.debug("Atualizando pneu com ID: {}", id);
         
         Pneu pneu = pneuRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pneu", "ID", id));
         
-        // Verificar se número de fogo mudou e se já existe
-        if (!pneu.getNumeroFogo().equals(pneuDTO.getNumeroFogo()) && 
-            pneuRepository.existsByNumeroFogo(pneuDTO.getNumeroFogo())) {
-            throw new BusinessException("Número de fogo já cadastrado: " + pneuDTO.getNumeroFogo());
-        }
-        
         // Atualizar dados
         atualizarDadosPneu(pneu, pneuDTO);
         
-        // Salvar no banco
-        Pneu savedPneu = pneuRepository.save(pneu);
-        log.info("Pneu atualizado com sucesso. ID: {}", savedPneu.getId());
+        // Salvar no banco (a constraint UNIQUE valida um novo número de fogo)
+        Pneu savedPneu = salvarComNumeroFogoUnico(pneu);
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(savedPneu.getId()));
+        log.debug("Pneu atualizado com sucesso. ID: {}", savedPneu.getId());
         
         return converterParaDTO(savedPneu);
     }
@@ -185,7 +268,7 @@ public class PneuService {
      * @throws BusinessException se o pneu estiver aplicado em um veículo
      */
     public void deletarPneu(Long id) {
-        log.info("Deletando pneu com ID: {}", id);
+        log.debug("Deletando pneu com ID: {}", id);
         
         if (!pneuRepository.existsById(id)) {
             throw new ResourceNotFoundException("Pneu", "ID", id);
@@ -197,7 +280,8 @@ public class PneuService {
         }
         
         pneuRepository.deleteById(id);
-        log.info("Pneu deletado com sucesso. ID: {}", id);
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(id));
+        log.debug("Pneu deletado com sucesso. ID: {}", id);
     }
     
     /**
@@ -209,7 +293,7 @@ public class PneuService {
      */
     @Transactional(readOnly = true)
     public PneuDTO buscarPneuPorNumeroFogo(String numeroFogo) {
-        log.info("Buscando pneu por número de fogo: {}", numeroFogo);
+        log.debug("Buscando pneu por número de fogo: {}", numeroFogo);
         
         Pneu pneu = pneuRepository.findByNumeroFogo(numeroFogo)
             .orElseThrow(() -> new ResourceNotFoundException("Pneu", "número de fogo", numeroFogo));
@@ -226,28 +310,39 @@ public class PneuService {
      * @throws ResourceNotFoundException se o pneu não for encontrado
      */
     public PneuDTO atualizarPressaoPneu(Long id, Double novaPressao) {
-        log.info("Atualizando pressão do pneu com ID: {} para {} PSI", id, novaPressao);
+        log.debug("Atualizando pressão do pneu com ID: {} para {} PSI", id, novaPressao);
         
         Pneu pneu = pneuRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pneu", "ID", id));
         
+        LocalDateTime dataLeitura = LocalDateTime.now();
         pneu.setPressaoAtual(novaPressao);
+        pneu.setDataUltimaLeitura(dataLeitura);
         
         Pneu savedPneu = pneuRepository.save(pneu);
-        log.info("Pressão do pneu atualizada com sucesso. ID: {}", savedPneu.getId());
+        historicoPressaoService.registrar(List.of(new LeituraPressaoDTO(id, novaPressao, dataLeitura)));
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(id));
+        log.debug("Pressão do pneu atualizada com sucesso. ID: {}", savedPneu.getId());
         
         return converterParaDTO(savedPneu);
     }
     
     /**
-     * Valida se o número de fogo é único no sistema.
+     * Grava o pneu com flush imediato, para a constraint UNIQUE do número de fogo ser a validação.
+     * Evita a consulta prévia e não tem janela de corrida entre verificar e inserir.
      * 
-     * @param numeroFogo Número de fogo a ser validado
+     * @param pneu Entidade a ser gravada
+     * @return Entidade gravada
      * @throws BusinessException se o número de fogo já estiver cadastrado
      */
-    private void validarNumeroFogoUnico(String numeroFogo) {
-        if (pneuRepository.existsByNumeroFogo(numeroFogo)) {
-            throw new BusinessException("Número de fogo já cadastrado: " + numeroFogo);
+    private Pneu salvarComNumeroFogoUnico(Pneu pneu) {
+        try {
+            return pneuRepository.saveAndFlush(pneu);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacoesBanco.isViolacaoUnicidade(e)) {
+                throw new BusinessException("Número de fogo já cadastrado: " + pneu.getNumeroFogo(), e);
+            }
+            throw e;
         }
     }
     
@@ -283,11 +378,12 @@ public class PneuService {
     
     /**
      * Converte uma entidade Pneu para DTO.
+     * Visível no pacote para os benchmarks JMH.
      * 
      * @param pneu Entidade a ser convertida
      * @return PneuDTO com os dados convertidos
      */
-    private PneuDTO converterParaDTO(Pneu pneu) {
+    PneuDTO converterParaDTO(Pneu pneu) {
         return new PneuDTO(
             pneu.getId(),
             pneu.getNumeroFogo(),
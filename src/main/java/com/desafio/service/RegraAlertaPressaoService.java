@@ -0,0 +1,144 @@
+package com.desafio.service;
+
+import com.desafio.dto.RegraAlertaPressaoDTO;
+import com.desafio.event.RegrasAlertaAlteradasEvent;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.model.RegraAlertaPressao;
+import com.desafio.repository.RegraAlertaPressaoRepository;
+import com.desafio.repository.VeiculoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Cadastro das regras de alerta de pressão baixa.
+ * Toda alteração recarrega as regras do motor de alertas depois do commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RegraAlertaPressaoService {
+    
+    private final RegraAlertaPressaoRepository regraRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Lista todas as regras cadastradas.
+     * 
+     * @return Lista de regras em ordem de cadastro
+     */
+    @Transactional(readOnly = true)
+    public List<RegraAlertaPressaoDTO> buscarTodas() {
+        return regraRepository.findAllByOrderById().stream()
+                .map(this::converterParaDTO)
+                .toList();
+    }
+    
+    /**
+     * Cria uma regra de alerta.
+     * 
+     * @param regraDTO Escopo e limite da regra
+     * @return Regra criada
+     * @throws ResourceNotFoundException se o veículo informado não existir
+     * @throws BusinessException se já existir regra com o mesmo escopo
+     */
+    public RegraAlertaPressaoDTO criarRegra(RegraAlertaPressaoDTO regraDTO) {
+        log.info("Criando regra de alerta de pressão: marca={}, veículo={}, posição={}",
+                regraDTO.getMarca(), regraDTO.getIdVeiculo(), regraDTO.getPosicao());
+        
+        validarEscopo(regraDTO);
+        
+        RegraAlertaPressao regra = new RegraAlertaPressao();
+        atualizarDadosRegra(regra, regraDTO);
+        RegraAlertaPressao savedRegra = regraRepository.save(regra);
+        eventPublisher.publishEvent(new RegrasAlertaAlteradasEvent());
+        
+        return converterParaDTO(savedRegra);
+    }
+    
+    /**
+     * Atualiza uma regra de alerta.
+     * 
+     * @param id ID da regra
+     * @param regraDTO Novo escopo e limite
+     * @return Regra atualizada
+     * @throws ResourceNotFoundException se a regra ou o veículo não existirem
+     * @throws BusinessException se outra regra já usar o mesmo escopo
+     */
+    public RegraAlertaPressaoDTO atualizarRegra(Long id, RegraAlertaPressaoDTO regraDTO) {
+        log.info("Atualizando regra de alerta de pressão ID: {}", id);
+        
+        RegraAlertaPressao regra = regraRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Regra de alerta", "ID", id));
+        
+        String marca = normalizar(regraDTO.getMarca());
+        boolean mesmoEscopo = (regra.getMarca() == null ? marca == null : regra.getMarca().equalsIgnoreCase(marca))
+            && Objects.equals(regra.getIdVeiculo(), regraDTO.getIdVeiculo())
+            && Objects.equals(regra.getPosicao(), normalizar(regraDTO.getPosicao()));
+        if (!mesmoEscopo) {
+            validarEscopo(regraDTO);
+        }
+        
+        atualizarDadosRegra(regra, regraDTO);
+        RegraAlertaPressao savedRegra = regraRepository.save(regra);
+        eventPublisher.publishEvent(new RegrasAlertaAlteradasEvent());
+        
+        return converterParaDTO(savedRegra);
+    }
+    
+    /**
+     * Remove uma regra de alerta.
+     * 
+     * @param id ID da regra
+     * @throws ResourceNotFoundException se a regra não existir
+     */
+    public void deletarRegra(Long id) {
+        log.info("Deletando regra de alerta de pressão ID: {}", id);
+        
+        if (!regraRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Regra de alerta", "ID", id);
+        }
+        
+        regraRepository.deleteById(id);
+        eventPublisher.publishEvent(new RegrasAlertaAlteradasEvent());
+    }
+    
+    private void validarEscopo(RegraAlertaPressaoDTO regraDTO) {
+        if (regraDTO.getIdVeiculo() != null && !veiculoRepository.existsById(regraDTO.getIdVeiculo())) {
+            throw new ResourceNotFoundException("Veículo", "ID", regraDTO.getIdVeiculo());
+        }
+        if (regraRepository.existsByMarcaIgnoreCaseAndIdVeiculoAndPosicao(
+                normalizar(regraDTO.getMarca()), regraDTO.getIdVeiculo(), normalizar(regraDTO.getPosicao()))) {
+            throw new BusinessException("Já existe regra de alerta para esta combinação de marca, veículo e posição");
+        }
+    }
+    
+    private void atualizarDadosRegra(RegraAlertaPressao regra, RegraAlertaPressaoDTO regraDTO) {
+        regra.setMarca(normalizar(regraDTO.getMarca()));
+        regra.setIdVeiculo(regraDTO.getIdVeiculo());
+        regra.setPosicao(normalizar(regraDTO.getPosicao()));
+        regra.setLimiteMinimo(regraDTO.getLimiteMinimo());
+    }
+    
+    // Texto em branco vale como filtro ausente
+    private static String normalizar(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+    
+    private RegraAlertaPressaoDTO converterParaDTO(RegraAlertaPressao regra) {
+        RegraAlertaPressaoDTO dto = new RegraAlertaPressaoDTO(
+            regra.getMarca(), regra.getIdVeiculo(), regra.getPosicao(), regra.getLimiteMinimo());
+        dto.setId(regra.getId());
+        dto.setDataCriacao(regra.getCreatedAt());
+        dto.setDataAtualizacao(regra.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.desafio.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura das contagens devolvidas pelo JdbcTemplate.batchUpdate dos serviços.
+ */
+final class ResultadosBatch {
+
+    private ResultadosBatch() {
+    }
+
+    /**
+     * Itens cujo comando alterou ao menos uma linha, na ordem do batch.
+     * Alguns drivers devolvem SUCCESS_NO_INFO (-2) em batch sem dizer quantas linhas mudaram;
+     * o item conta como alterado.
+     *
+     * @param enviados Itens na ordem em que foram enviados ao batch
+     * @param resultados Contagens por sub-lote, como devolvidas pelo batchUpdate
+     * @return Itens com contagem diferente de zero
+     */
+    static <T> List<T> afetados(List<T> enviados, int[][] resultados) {
+        List<T> afetados = new ArrayList<>(enviados.size());
+        int indice = 0;
+        for (int[] lote : resultados) {
+            for (int linhas : lote) {
+                if (linhas != 0) {
+                    afetados.add(enviados.get(indice));
+                }
+                indice++;
+            }
+        }
+        return afetados;
+    }
+}
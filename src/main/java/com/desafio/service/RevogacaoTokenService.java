@@ -0,0 +1,67 @@
+package com.desafio.service;
+
+import com.desafio.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Verifica se a versão de token de um usuário ainda é válida no modo JWT stateless.
+ * Guarda o estado do usuário (versão e ativo) em um cache pequeno com expiração,
+ * então desativar o usuário ou incrementar sua versão passa a valer em no máximo um TTL
+ * sem consultar o banco a cada requisição.
+ */
+@Slf4j
+@Service
+public class RevogacaoTokenService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, EstadoUsuario> cache;
+
+    public RevogacaoTokenService(
+            UsuarioRepository usuarioRepository,
+            @Value("${jwt.stateless.revalidacao-ttl:60s}") Duration ttl,
+            @Value("${jwt.stateless.revalidacao-max-usuarios:10000}") long maxUsuarios) {
+        this.usuarioRepository = usuarioRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxUsuarios)
+                .build();
+    }
+
+    /**
+     * Verifica se o token emitido com a versão informada ainda vale para o usuário.
+     *
+     * @param email Email do usuário
+     * @param versao Versão de token presente nas claims
+     * @return true se o usuário existe, está ativo e a versão confere
+     */
+    public boolean isVersaoValida(String email, Integer versao) {
+        EstadoUsuario estado = cache.get(email, this::carregarEstado);
+        return estado.ativo() && estado.versao() != null && estado.versao().equals(versao);
+    }
+
+    /**
+     * Remove o estado em cache do usuário, forçando nova leitura na próxima requisição.
+     *
+     * @param email Email do usuário
+     */
+    public void invalidar(String email) {
+        cache.invalidate(email);
+    }
+
+    private EstadoUsuario carregarEstado(String email) {
+        log.debug("Carregando versão de token do usuário: {}", email);
+        return usuarioRepository.findEstadoTokenByEmail(email)
+                .map(estado -> new EstadoUsuario(estado.getVersaoToken(), Boolean.TRUE.equals(estado.getAtivo())))
+                .orElse(EstadoUsuario.INEXISTENTE);
+    }
+
+    private record EstadoUsuario(Integer versao, boolean ativo) {
+        static final EstadoUsuario INEXISTENTE = new EstadoUsuario(null, false);
+    }
+}
@@ -0,0 +1,211 @@
+package com.desafio.service;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.dto.RollupPressaoDTO;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.model.GranularidadeRollup;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.RollupPressaoRepository;
+import com.desafio.repository.VeiculoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agregação incremental da pressão dos pneus em buckets de minuto, hora e dia.
+ * Cada leitura recebida atualiza acumuladores em memória (um por pneu, granularidade e bucket);
+ * periodicamente os acumuladores são somados à tabela tire_pressure_rollups com MERGE em batch.
+ * Os dashboards leem os buckets prontos em vez de varrer o histórico bruto.
+ */
+@Slf4j
+@Service
+public class RollupPressaoService {
+    
+    private static final String SQL_MERGE =
+        "MERGE INTO tire_pressure_rollups r " +
+        "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(10)), CAST(? AS TIMESTAMP), " +
+        "CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION))) " +
+        "AS v(tire_id, granularidade, bucket_start, leituras, soma, minimo, maximo) " +
+        "ON r.tire_id = v.tire_id AND r.granularidade = v.granularidade AND r.bucket_start = v.bucket_start " +
+        "WHEN MATCHED THEN UPDATE SET leituras = r.leituras + v.leituras, soma = r.soma + v.soma, " +
+        "minimo = LEAST(r.minimo, v.minimo), maximo = GREATEST(r.maximo, v.maximo), updated_at = CURRENT_TIMESTAMP " +
+        "WHEN NOT MATCHED THEN INSERT (tire_id, granularidade, bucket_start, leituras, soma, minimo, maximo, updated_at) " +
+        "VALUES (v.tire_id, v.granularidade, v.bucket_start, v.leituras, v.soma, v.minimo, v.maximo, CURRENT_TIMESTAMP)";
+    
+    private final RollupPressaoRepository rollupPressaoRepository;
+    private final PneuRepository pneuRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retencaoMinutos;
+    private final Map<Chave, Acumulador> acumuladores = new ConcurrentHashMap<>();
+    
+    public RollupPressaoService(
+            RollupPressaoRepository rollupPressaoRepository,
+            PneuRepository pneuRepository,
+            VeiculoRepository veiculoRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${rollup.pressao.retencao-minutos:7d}") Duration retencaoMinutos) {
+        this.rollupPressaoRepository = rollupPressaoRepository;
+        this.pneuRepository = pneuRepository;
+        this.veiculoRepository = veiculoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retencaoMinutos = retencaoMinutos;
+    }
+    
+    /**
+     * Soma as leituras aos acumuladores em memória.
+     * 
+     * @param leituras Leituras identificadas pelo ID do pneu e com data de leitura
+     */
+    public void acumular(Collection<LeituraPressaoDTO> leituras) {
+        for (LeituraPressaoDTO leitura : leituras) {
+            for (GranularidadeRollup granularidade : GranularidadeRollup.values()) {
+                Chave chave = new Chave(leitura.getIdPneu(), granularidade,
+                        granularidade.inicioDoBucket(leitura.getDataLeitura()));
+                acumuladores.merge(chave, Acumulador.de(leitura.getPressao()), Acumulador::combinar);
+            }
+        }
+    }
+    
+    /**
+     * Grava os acumuladores pendentes na tabela de agregados.
+     * Em caso de falha os valores voltam para a memória e entram na próxima descarga.
+     * 
+     * @return Quantidade de buckets gravados
+     */
+    @Scheduled(fixedDelayString = "${rollup.pressao.flush-intervalo-ms:10000}",
+               initialDelayString = "${rollup.pressao.flush-intervalo-ms:10000}")
+    public int descarregar() {
+        // remove() é atômico por chave: leituras que chegarem agora criam um acumulador novo
+        List<Map.Entry<Chave, Acumulador>> pendentes = new ArrayList<>();
+        for (Chave chave : acumuladores.keySet()) {
+            Acumulador acumulador = acumuladores.remove(chave);
+            if (acumulador != null) {
+                pendentes.add(Map.entry(chave, acumulador));
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                SQL_MERGE, pendentes, pendentes.size(), (ps, pendente) -> {
+                    Chave chave = pendente.getKey();
+                    Acumulador acumulador = pendente.getValue();
+                    ps.setLong(1, chave.idPneu());
+                    ps.setString(2, chave.granularidade().name());
+                    ps.setTimestamp(3, Timestamp.valueOf(chave.inicioBucket()));
+                    ps.setLong(4, acumulador.leituras());
+                    ps.setDouble(5, acumulador.soma());
+                    ps.setDouble(6, acumulador.minimo());
+                    ps.setDouble(7, acumulador.maximo());
+                }));
+            log.debug("{} buckets de pressão agregada gravados", pendentes.size());
+            return pendentes.size();
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar {} buckets de pressão agregada", pendentes.size(), e);
+            pendentes.forEach(pendente -> acumuladores.merge(pendente.getKey(), pendente.getValue(), Acumulador::combinar));
+            return 0;
+        }
+    }
+    
+    /**
+     * Remove os buckets de minuto mais antigos que a retenção; hora e dia são mantidos.
+     */
+    @Scheduled(cron = "${rollup.pressao.retencao-cron:0 30 3 * * *}")
+    public void aplicarRetencao() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencaoMinutos);
+        int removidos = jdbcTemplate.update(
+            "DELETE FROM tire_pressure_rollups WHERE granularidade = ? AND bucket_start < ?",
+            GranularidadeRollup.MINUTO.name(), Timestamp.valueOf(limite));
+        log.info("{} buckets de minuto removidos por retenção", removidos);
+    }
+    
+    @PreDestroy
+    void descarregarAoEncerrar() {
+        descarregar();
+    }
+    
+    /**
+     * Agregados de um pneu na janela informada.
+     * 
+     * @throws ResourceNotFoundException se o pneu não existir
+     * @throws BusinessException se a janela for inválida para a granularidade
+     */
+    @Transactional(readOnly = true)
+    public List<RollupPressaoDTO> buscarPorPneu(Long idPneu, GranularidadeRollup granularidade,
+                                                LocalDateTime inicio, LocalDateTime fim) {
+        if (!pneuRepository.existsById(idPneu)) {
+            throw new ResourceNotFoundException("Pneu", "ID", idPneu);
+        }
+        Janela janela = validarJanela(granularidade, inicio, fim);
+        return rollupPressaoRepository.buscarPorPneu(idPneu, granularidade, janela.inicio(), janela.fim());
+    }
+    
+    /**
+     * Agregados dos pneus montados atualmente em um veículo, combinados por bucket.
+     * 
+     * @throws ResourceNotFoundException se o veículo não existir
+     * @throws BusinessException se a janela for inválida para a granularidade
+     */
+    @Transactional(readOnly = true)
+    public List<RollupPressaoDTO> buscarPorVeiculo(Long idVeiculo, GranularidadeRollup granularidade,
+                                                   LocalDateTime inicio, LocalDateTime fim) {
+        if (!veiculoRepository.existsById(idVeiculo)) {
+            throw new ResourceNotFoundException("Veículo", "ID", idVeiculo);
+        }
+        Janela janela = validarJanela(granularidade, inicio, fim);
+        return rollupPressaoRepository.buscarPorVeiculo(idVeiculo, granularidade, janela.inicio(), janela.fim());
+    }
+    
+    /**
+     * Sem janela informada, usa a janela máxima da granularidade terminando agora.
+     */
+    private Janela validarJanela(GranularidadeRollup granularidade, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime fimJanela = fim != null ? fim : LocalDateTime.now();
+        LocalDateTime inicioJanela = inicio != null ? inicio : fimJanela.minus(granularidade.getJanelaMaxima());
+        if (!inicioJanela.isBefore(fimJanela)) {
+            throw new BusinessException("O início da janela deve ser anterior ao fim");
+        }
+        if (Duration.between(inicioJanela, fimJanela).compareTo(granularidade.getJanelaMaxima()) > 0) {
+            throw new BusinessException("A janela para a granularidade " + granularidade + " deve ter no máximo "
+                    + granularidade.getJanelaMaxima().toDays() + " dias");
+        }
+        return new Janela(inicioJanela, fimJanela);
+    }
+    
+    private record Janela(LocalDateTime inicio, LocalDateTime fim) {}
+    
+    private record Chave(Long idPneu, GranularidadeRollup granularidade, LocalDateTime inicioBucket) {}
+    
+    private record Acumulador(long leituras, double soma, double minimo, double maximo) {
+        static Acumulador de(double pressao) {
+            return new Acumulador(1, pressao, pressao, pressao);
+        }
+        
+        Acumulador combinar(Acumulador outro) {
+            return new Acumulador(leituras + outro.leituras, soma + outro.soma,
+                    Math.min(minimo, outro.minimo), Math.max(maximo, outro.maximo));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.desafio.service;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.FilaCheiaException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de ingestão de telemetria de pressão dos pneus.
+ * As leituras entram em uma fila limitada em memória e são gravadas periodicamente:
+ * cada descarga mantém só a leitura mais recente de cada pneu e aplica tudo com UPDATEs em batch.
+ * Todas as leituras, inclusive as substituídas, vão para o histórico de pressão.
+ * A pressão atual só é trocada por uma leitura mais recente que a que a definiu (last_read_at),
+ * então uma leitura atrasada, gravada em uma descarga posterior, não sobrescreve um valor mais novo.
+ * Leituras datadas depois do recebimento valem o momento do recebimento: um relógio adiantado no sensor
+ * não pode levar last_read_at para o futuro e bloquear as leituras seguintes do pneu.
+ * Quando a fila está cheia o lote é recusado inteiro (429) para o sensor reenviar depois; um lote maior que
+ * a capacidade da fila nunca caberia e é recusado como inválido (400).
+ * Se a gravação falhar, as leituras (já aceitas) voltam para a fila e são tentadas na próxima descarga,
+ * até telemetria.max-tentativas vezes; as que esgotarem as tentativas ou não couberem mais são descartadas e contadas.
+ */
+@Slf4j
+@Service
+public class TelemetriaService {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoricoPressaoService historicoPressaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<LeituraPendente> fila;
+    private final int capacidade;
+    private final int maxTentativas;
+    private final long retryAfterSegundos;
+    private final LongAdder descartadas = new LongAdder();
+    
+    public TelemetriaService(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            HistoricoPressaoService historicoPressaoService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${telemetria.fila.capacidade:100000}") int capacidade,
+            @Value("${telemetria.flush-intervalo-ms:1000}") long intervaloMs,
+            @Value("${telemetria.max-tentativas:5}") int maxTentativas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.historicoPressaoService = historicoPressaoService;
+        this.eventPublisher = eventPublisher;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.capacidade = capacidade;
+        this.maxTentativas = maxTentativas;
+        this.retryAfterSegundos = Math.max(1, intervaloMs / 1000);
+    }
+    
+    /**
+     * Enfileira um lote de leituras.
+     * 
+     * @param leituras Leituras recebidas
+     * @return Quantidade de leituras aceitas
+     * @throws BusinessException se o lote for maior que a capacidade da fila
+     * @throws FilaCheiaException se não houver espaço para o lote inteiro
+     */
+    public synchronized int receber(List<LeituraPressaoDTO> leituras) {
+        if (leituras.size() > capacidade) {
+            throw new BusinessException("O lote deve ter no máximo " + capacidade + " leituras");
+        }
+        // Só os produtores sincronizam; a descarga usa drainTo e não disputa este lock
+        if (fila.remainingCapacity() < leituras.size()) {
+            log.warn("Fila de telemetria cheia, recusando lote de {} leituras", leituras.size());
+            throw new FilaCheiaException("Fila de telemetria cheia, tente novamente em instantes", retryAfterSegundos);
+        }
+        
+        LocalDateTime recebimento = LocalDateTime.now();
+        for (LeituraPressaoDTO leitura : leituras) {
+            LocalDateTime dataLeitura = leitura.getDataLeitura();
+            fila.add(new LeituraPendente(new LeituraPressaoDTO(
+                leitura.getIdPneu(),
+                leitura.getIdPneu() == null ? leitura.getNumeroFogo() : null,
+                leitura.getPressao(),
+                dataLeitura == null || dataLeitura.isAfter(recebimento) ? recebimento : dataLeitura
+            ), 0));
+        }
+        return leituras.size();
+    }
+    
+    /**
+     * Grava as leituras acumuladas, mantendo só a mais recente de cada pneu.
+     * 
+     * @return Quantidade de pneus atualizados
+     */
+    @Scheduled(fixedDelayString = "${telemetria.flush-intervalo-ms:1000}",
+               initialDelayString = "${telemetria.flush-intervalo-ms:1000}")
+    public int descarregar() {
+        List<LeituraPendente> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            List<LeituraPressaoDTO> leituras = pendentes.stream().map(LeituraPendente::leitura).toList();
+            Integer atualizados = transactionTemplate.execute(status -> gravar(leituras));
+            log.debug("Telemetria descarregada: {} leituras, {} pneus atualizados", pendentes.size(), atualizados);
+            return atualizados != null ? atualizados : 0;
+        } catch (RuntimeException e) {
+            int perdidas = devolverParaFila(pendentes);
+            log.error("Falha ao gravar {} leituras de telemetria; {} voltam para a fila e {} foram descartadas",
+                    pendentes.size(), pendentes.size() - perdidas, perdidas, e);
+            return 0;
+        }
+    }
+    
+    /**
+     * Quantidade de leituras aceitas que foram descartadas após falhas de gravação, por esgotarem as
+     * tentativas ou por não caberem mais na fila.
+     * 
+     * @return Total desde a inicialização
+     */
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+    
+    /**
+     * Quantidade de leituras aguardando gravação.
+     * 
+     * @return Tamanho atual da fila
+     */
+    public int getPendentes() {
+        return fila.size();
+    }
+    
+    @PreDestroy
+    void descarregarAoEncerrar() {
+        descarregar();
+    }
+    
+    // Mesmo lock dos produtores: receber confere o espaço antes de enfileirar o lote
+    private synchronized int devolverParaFila(List<LeituraPendente> pendentes) {
+        int perdidas = 0;
+        for (LeituraPendente pendente : pendentes) {
+            int tentativas = pendente.tentativas() + 1;
+            if (tentativas >= maxTentativas || !fila.offer(new LeituraPendente(pendente.leitura(), tentativas))) {
+                perdidas++;
+            }
+        }
+        descartadas.add(perdidas);
+        return perdidas;
+    }
+    
+    private int gravar(List<LeituraPressaoDTO> pendentes) {
+        List<LeituraPressaoDTO> leituras = resolverIdsPneus(pendentes);
+        
+        Map<Long, LeituraPressaoDTO> maisRecentes = new HashMap<>();
+        for (LeituraPressaoDTO leitura : leituras) {
+            maisRecentes.merge(leitura.getIdPneu(), leitura, TelemetriaService::maisRecente);
+        }
+        if (maisRecentes.isEmpty()) {
+            return 0;
+        }
+        
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<LeituraPressaoDTO> atualizacoes = new ArrayList<>(maisRecentes.values());
+        int[][] resultados = jdbcTemplate.batchUpdate(
+            "UPDATE tires SET pressao_atual = ?, last_read_at = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND (last_read_at IS NULL OR last_read_at < ?)",
+            atualizacoes, atualizacoes.size(), (ps, leitura) -> {
+                Timestamp dataLeitura = Timestamp.valueOf(leitura.getDataLeitura());
+                ps.setDouble(1, leitura.getPressao());
+                ps.setTimestamp(2, dataLeitura);
+                ps.setTimestamp(3, agora);
+                ps.setLong(4, leitura.getIdPneu());
+                ps.setTimestamp(5, dataLeitura);
+            });
+        
+        historicoPressaoService.registrar(leituras);
+        // Pneus cuja pressão foi de fato trocada, na ordem do batch
+        List<Long> atualizados = ResultadosBatch.afetados(atualizacoes, resultados).stream()
+                .map(LeituraPressaoDTO::getIdPneu)
+                .toList();
+        if (!atualizados.isEmpty()) {
+            eventPublisher.publishEvent(PneusAlteradosEvent.de(atualizados));
+        }
+        return atualizados.size();
+    }
+    
+    /**
+     * Troca o número de fogo pelo ID do pneu com uma única consulta.
+     * Leituras de números de fogo desconhecidos são descartadas.
+     */
+    private List<LeituraPressaoDTO> resolverIdsPneus(List<LeituraPressaoDTO> pendentes) {
+        Set<String> numerosFogo = pendentes.stream()
+                .filter(leitura -> leitura.getIdPneu() == null)
+                .map(LeituraPressaoDTO::getNumeroFogo)
+                .collect(Collectors.toSet());
+        if (numerosFogo.isEmpty()) {
+            return pendentes;
+        }
+        
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+            "SELECT id, numero_fogo FROM tires WHERE numero_fogo IN (:numerosFogo)",
+            Map.of("numerosFogo", numerosFogo),
+            rs -> { ids.put(rs.getString("numero_fogo"), rs.getLong("id")); });
+        
+        List<LeituraPressaoDTO> resolvidas = new ArrayList<>(pendentes.size());
+        for (LeituraPressaoDTO leitura : pendentes) {
+            if (leitura.getIdPneu() != null) {
+                resolvidas.add(leitura);
+            } else if (ids.containsKey(leitura.getNumeroFogo())) {
+                leitura.setIdPneu(ids.get(leitura.getNumeroFogo()));
+                resolvidas.add(leitura);
+            } else {
+                log.debug("Leitura descartada, número de fogo desconhecido: {}", leitura.getNumeroFogo());
+            }
+        }
+        return resolvidas;
+    }
+    
+    private static LeituraPressaoDTO maisRecente(LeituraPressaoDTO atual, LeituraPressaoDTO nova) {
+        return nova.getDataLeitura().isBefore(atual.getDataLeitura()) ? atual : nova;
+    }
+    
+    /**
+     * Leitura na fila, com as descargas que já falharam ao gravá-la.
+     */
+    private record LeituraPendente(LeituraPressaoDTO leitura, int tentativas) {}
+}
@@ -0,0 +1,155 @@
+package com.desafio.service;
+
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.event.PneuDesvinculadoEvent;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.event.VeiculoAlteradoEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache limitado dos veículos já montados com os pneus (GET /api/veiculos/{id}).
+ * Cada entrada guarda a versão do veículo (a mesma do ETag) com que foi lida: só é devolvida
+ * se ainda for a versão atual, então nunca entrega um veículo desatualizado, nem dentro da
+ * transação de quem acabou de alterá-lo. As alterações também removem as entradas depois do
+ * commit (veículo alterado, pneu montado, desmontado ou com pressão/status alterados), para não
+ * ocupar memória com veículos que vão ser recarregados de qualquer forma. Os veículos afetados por
+ * uma alteração de pneus saem de um índice em memória (pneu → veículo em cache), sem consultar o banco
+ * na thread de quem alterou (ver {@link PneusAlteradosEvent}).
+ * Leituras simultâneas do mesmo veículo fazem uma única carga; as demais aguardam o resultado.
+ */
+@Slf4j
+@Service
+public class VeiculoCacheService {
+
+    private final Cache<Long, VeiculoEmCache> cache;
+    // Veículo em cache em que cada pneu aparece montado
+    private final Map<Long, Long> veiculoPorPneu = new ConcurrentHashMap<>();
+    private final LongAdder recargasPorVersao = new LongAdder();
+
+    public VeiculoCacheService(
+            @Value("${veiculos.cache.max-size:10000}") long tamanhoMaximo,
+            @Value("${veiculos.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener(this::desindexar)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devolve o veículo em cache se ele ainda estiver na versão informada; senão carrega e guarda.
+     * O DTO devolvido é compartilhado entre as requisições e não deve ser alterado.
+     *
+     * @param idVeiculo ID do veículo
+     * @param versao Versão atual do veículo com os pneus
+     * @param carregador Monta o veículo com os pneus a partir do banco
+     * @return Veículo com os pneus
+     */
+    public VeiculoDTO buscar(Long idVeiculo, String versao, Function<Long, VeiculoDTO> carregador) {
+        VeiculoEmCache emCache = cache.get(idVeiculo, id -> carregar(id, versao, carregador));
+        if (!emCache.versao().equals(versao)) {
+            // Alteração cujo evento ainda não chegou: recarrega, ainda com uma carga só por veículo
+            recargasPorVersao.increment();
+            emCache = cache.asMap().compute(idVeiculo, (id, atual) -> atual != null && atual.versao().equals(versao)
+                    ? atual
+                    : carregar(id, versao, carregador));
+        }
+        return emCache.veiculo();
+    }
+
+    /**
+     * Remove um veículo do cache.
+     *
+     * @param idVeiculo ID do veículo
+     */
+    public void invalidar(Long idVeiculo) {
+        cache.invalidate(idVeiculo);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarVeiculo(VeiculoAlteradoEvent evento) {
+        invalidar(evento.idVeiculo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoDesvincularPneu(PneuDesvinculadoEvent evento) {
+        invalidar(evento.idVeiculo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPneus(PneusAlteradosEvent evento) {
+        // Pneu montado em um veículo que não está em cache (ou em cache sem ele) não tem entrada:
+        // a versão da entrada já deixa de bater quando o pneu é montado
+        for (Long idPneu : evento.idsPneus()) {
+            Long idVeiculo = veiculoPorPneu.remove(idPneu);
+            if (idVeiculo != null) {
+                cache.invalidate(idVeiculo);
+            }
+        }
+    }
+
+    /**
+     * Estatísticas do cache (acertos, faltas, cargas e remoções) para dimensionamento.
+     *
+     * @return Estatísticas acumuladas desde a inicialização
+     */
+    public CacheStats getEstatisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Quantas vezes uma entrada encontrada estava em versão antiga e precisou ser recarregada.
+     *
+     * @return Total desde a inicialização
+     */
+    public long getRecargasPorVersao() {
+        return recargasPorVersao.sum();
+    }
+
+    /**
+     * Quantidade aproximada de veículos em cache.
+     *
+     * @return Número de entradas
+     */
+    public long getTamanho() {
+        return cache.estimatedSize();
+    }
+
+    private VeiculoEmCache carregar(Long idVeiculo, String versao, Function<Long, VeiculoDTO> carregador) {
+        VeiculoDTO veiculo = carregador.apply(idVeiculo);
+        if (veiculo.getPneusAplicados() != null) {
+            veiculo.getPneusAplicados().forEach(pneu -> veiculoPorPneu.put(pneu.getIdPneu(), idVeiculo));
+        }
+        return new VeiculoEmCache(versao, veiculo);
+    }
+
+    // Na substituição por versão nova os pneus já foram indexados pela carga; nas demais remoções,
+    // só sai do índice quem ainda aponta para este veículo
+    private void desindexar(Long idVeiculo, VeiculoEmCache removido, RemovalCause causa) {
+        if (causa == RemovalCause.REPLACED || removido == null || removido.veiculo().getPneusAplicados() == null) {
+            return;
+        }
+        for (VeiculoPneuDTO pneu : removido.veiculo().getPneusAplicados()) {
+            veiculoPorPneu.remove(pneu.getIdPneu(), idVeiculo);
+        }
+    }
+
+    private record VeiculoEmCache(String versao, VeiculoDTO veiculo) {
+    }
+}
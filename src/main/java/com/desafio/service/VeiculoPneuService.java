@@ -1,6 +1,16 @@
 package com.desafio.service;
 
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.ItemMontagemDTO;
+import com.desafio.dto.MontagemLoteDTO;
+import com.desafio.dto.MontagemLoteResultadoDTO;
+import com.desafio.dto.ResultadoMontagemDTO;
 import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.event.PneuDesvinculadoEvent;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.exception.BusinessException;
+import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.exception.ViolacoesBanco;
 import com.desafio.model.Pneu;
 import com.desafio.model.StatusPneu;
 import com.desafio.model.Veiculo;
@@ -9,13 +19,27 @@ import com.desafio.repository.PneuRepository;
 import com.desafio.repository.VeiculoRepository;
 import com.desafio.repository.VeiculoPneuRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class VeiculoPneuService {
     
     @Autowired
@@ -27,7 +51,13 @@ public class VeiculoPneuService {
     @Autowired
     private PneuRepository pneuRepository;
     
-    // Vincular pneu a um veículo
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Vincular pneu a um veículo (vínculo e status do pneu na mesma transação)
     public VeiculoPneuDTO vincularPneuAoVeiculo(VeiculoPneuDTO veiculoPneuDTO) {
         // Verificar se veículo existe
         Optional<Veiculo> veiculoOpt = veiculoRepository.findById(veiculoPneuDTO.getIdVeiculo());
@@ -35,8 +65,9 @@ public class VeiculoPneuService {
             throw new RuntimeException("Veículo não encontrado com ID: " + veiculoPneuDTO.getIdVeiculo());
         }
         
-        // Verificar se pneu existe
-        Optional<Pneu> pneuOpt = pneuRepository.findById(veiculoPneuDTO.getIdPneu());
+        // Verificar se pneu existe, travando-o: montagens e desmontagens do mesmo pneu ficam em série
+        // e as verificações abaixo valem até o commit
+        Optional<Pneu> pneuOpt = pneuRepository.findByIdParaAtualizacao(veiculoPneuDTO.getIdPneu());
         if (pneuOpt.isEmpty()) {
             throw new RuntimeException("Pneu não encontrado com ID: " + veiculoPneuDTO.getIdPneu());
         }
@@ -59,25 +90,87 @@ public class VeiculoPneuService {
             throw new RuntimeException("Pneu já está aplicado em outro veículo");
         }
         
+        // Atualizar status do pneu para "Em Uso"
+        pneu.setStatus(StatusPneu.EM_USO);
+        pneuRepository.saveAndFlush(pneu);
+        
         // Criar relacionamento
         VeiculoPneu veiculoPneu = new VeiculoPneu();
         veiculoPneu.setVeiculo(veiculo);
         veiculoPneu.setPneu(pneu);
         veiculoPneu.setPosition(veiculoPneuDTO.getPosicao());
         
-        // Salvar no banco
-        VeiculoPneu savedVeiculoPneu = veiculoPneuRepository.save(veiculoPneu);
-        
-        // Atualizar status do pneu para "Em Uso"
-        pneu.setStatus(StatusPneu.EM_USO);
-        pneuRepository.save(pneu);
+        // Salvar no banco (as constraints UNIQUE de pneu e de posição são a garantia final)
+        VeiculoPneu savedVeiculoPneu = salvarVinculo(veiculoPneu);
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(pneu.getId()));
         
         // Retornar DTO
         return converterParaDTO(savedVeiculoPneu);
     }
     
+    /**
+     * Monta vários pneus em um veículo em uma única transação.
+     * A validação usa uma consulta por conjunto (pneus, posições ocupadas, pneus já aplicados)
+     * em vez de consultas por item, e as gravações são enviadas em batch JDBC.
+     * Itens inválidos são rejeitados com o motivo; os demais são montados.
+     * 
+     * @param montagem Veículo e lista de pares (pneu, posição)
+     * @return Resultado de cada item, na ordem da requisição
+     * @throws ResourceNotFoundException se o veículo não existir
+     * @throws BusinessException se o lote exceder o limite ou houver conflito concorrente
+     */
+    @Transactional
+    public MontagemLoteResultadoDTO montarPneusEmLote(MontagemLoteDTO montagem) {
+        List<ItemMontagemDTO> itens = montagem.getItens();
+        if (itens.size() > ApiConstants.MAX_BATCH_MOUNT_SIZE) {
+            throw new BusinessException("O lote deve ter no máximo " + ApiConstants.MAX_BATCH_MOUNT_SIZE + " pneus");
+        }
+        
+        Long idVeiculo = montagem.getIdVeiculo();
+        if (!veiculoRepository.existsById(idVeiculo)) {
+            throw new ResourceNotFoundException("Veículo", "ID", idVeiculo);
+        }
+        
+        // Carregar tudo o que a validação precisa em três consultas
+        Set<Long> idsPneus = itens.stream().map(ItemMontagemDTO::getIdPneu).collect(Collectors.toSet());
+        Map<Long, Pneu> pneus = pneuRepository.findAllById(idsPneus).stream()
+                .collect(Collectors.toMap(Pneu::getId, Function.identity()));
+        Set<String> posicoesOcupadas = veiculoPneuRepository.findPosicoesOcupadas(idVeiculo);
+        Set<Long> pneusAplicados = veiculoPneuRepository.findPneuIdsAplicados(idsPneus);
+        
+        List<ItemMontagemDTO> aceitos = new ArrayList<>();
+        Map<ItemMontagemDTO, String> rejeicoes = new IdentityHashMap<>();
+        Set<Long> pneusNoLote = new HashSet<>();
+        Set<String> posicoesNoLote = new HashSet<>();
+        for (ItemMontagemDTO item : itens) {
+            String motivo = validarItemMontagem(item, pneus.get(item.getIdPneu()), posicoesOcupadas,
+                    pneusAplicados, pneusNoLote, posicoesNoLote);
+            if (motivo == null) {
+                aceitos.add(item);
+                pneusNoLote.add(item.getIdPneu());
+                posicoesNoLote.add(item.getPosicao());
+            } else {
+                rejeicoes.put(item, motivo);
+            }
+        }
+        
+        Map<String, VeiculoPneuDTO> aplicacoes = aceitos.isEmpty()
+                ? Map.of()
+                : gravarMontagem(idVeiculo, aceitos);
+        
+        List<ResultadoMontagemDTO> resultados = itens.stream()
+                .map(item -> rejeicoes.containsKey(item)
+                        ? ResultadoMontagemDTO.rejeitado(item, rejeicoes.get(item))
+                        : ResultadoMontagemDTO.montado(aplicacoes.get(item.getPosicao())))
+                .collect(Collectors.toList());
+        return new MontagemLoteResultadoDTO(idVeiculo, resultados);
+    }
+    
     // Desvincular pneu de um veículo
     public void desvincularPneuDoVeiculo(Long idVeiculo, Long idPneu) {
+        // Travar o pneu antes de ler o vínculo, como na montagem: o vínculo lido não muda até o commit
+        Optional<Pneu> pneuOpt = pneuRepository.findByIdParaAtualizacao(idPneu);
+        
         // Verificar se aplicação existe
         Optional<VeiculoPneu> veiculoPneuOpt = veiculoPneuRepository.findByVeiculoIdAndPneuId(idVeiculo, idPneu);
         if (veiculoPneuOpt.isEmpty()) {
@@ -86,8 +179,7 @@ public class VeiculoPneuService {
         
         VeiculoPneu veiculoPneu = veiculoPneuOpt.get();
         
-        // Buscar o pneu para atualizar status
-        Optional<Pneu> pneuOpt = pneuRepository.findById(idPneu);
+        // Atualizar status do pneu
         if (pneuOpt.isPresent()) {
             Pneu pneu = pneuOpt.get();
             pneu.setStatus(StatusPneu.DISPONIVEL);
@@ -96,36 +188,115 @@ public class VeiculoPneuService {
         
         // Deletar relacionamento
         veiculoPneuRepository.delete(veiculoPneu);
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(idPneu));
+        eventPublisher.publishEvent(new PneuDesvinculadoEvent(idVeiculo, idPneu, veiculoPneu.getPosition()));
     }
     
     // Buscar todos os pneus de um veículo
+    @Transactional(readOnly = true)
     public List<VeiculoPneuDTO> buscarPneusDoVeiculo(Long idVeiculo) {
-        List<VeiculoPneu> veiculoPneus = veiculoPneuRepository.findByVeiculoId(idVeiculo);
-        return veiculoPneus.stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return veiculoPneuRepository.findDTOsByVeiculoId(idVeiculo);
     }
     
     // Buscar pneu em uma posição específica
+    @Transactional(readOnly = true)
     public VeiculoPneuDTO buscarPneuNaPosicao(Long idVeiculo, String posicao) {
-        Optional<VeiculoPneu> veiculoPneu = veiculoPneuRepository.findByVeiculoIdAndPosition(idVeiculo, posicao);
+        Optional<VeiculoPneuDTO> veiculoPneu = veiculoPneuRepository.findDTOByVeiculoIdAndPosition(idVeiculo, posicao);
         if (veiculoPneu.isPresent()) {
-            return converterParaDTO(veiculoPneu.get());
+            return veiculoPneu.get();
         }
         throw new RuntimeException("Nenhum pneu encontrado na posição " + posicao + " do veículo");
     }
     
     // Verificar se uma posição está ocupada
+    @Transactional(readOnly = true)
     public boolean verificarPosicaoOcupada(Long idVeiculo, String posicao) {
         return veiculoPneuRepository.existsByVeiculoIdAndPosition(idVeiculo, posicao);
     }
     
     // Buscar veículos onde um pneu está aplicado
+    @Transactional(readOnly = true)
     public List<VeiculoPneuDTO> buscarVeiculosDoPneu(Long idPneu) {
-        List<VeiculoPneu> veiculoPneus = veiculoPneuRepository.findByPneuId(idPneu);
-        return veiculoPneus.stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return veiculoPneuRepository.findDTOsByPneuId(idPneu);
+    }
+    
+    // Valida um item da montagem em lote; retorna o motivo da rejeição ou null se puder ser montado
+    private String validarItemMontagem(ItemMontagemDTO item, Pneu pneu, Set<String> posicoesOcupadas,
+                                       Set<Long> pneusAplicados, Set<Long> pneusNoLote, Set<String> posicoesNoLote) {
+        if (pneu == null) {
+            return "Pneu não encontrado com ID: " + item.getIdPneu();
+        }
+        if (pneusNoLote.contains(item.getIdPneu())) {
+            return "Pneu informado mais de uma vez no lote";
+        }
+        if (posicoesNoLote.contains(item.getPosicao())) {
+            return "Posição " + item.getPosicao() + " informada mais de uma vez no lote";
+        }
+        if (posicoesOcupadas.contains(item.getPosicao())) {
+            return "Posição " + item.getPosicao() + " já está ocupada no veículo";
+        }
+        if (pneusAplicados.contains(item.getIdPneu())) {
+            return "Pneu já está aplicado em outro veículo";
+        }
+        if (pneu.getStatus() != StatusPneu.DISPONIVEL) {
+            return "Pneu não está disponível para aplicação";
+        }
+        return null;
+    }
+    
+    // Grava os vínculos e o novo status dos pneus em batch JDBC e devolve as aplicações criadas por posição
+    private Map<String, VeiculoPneuDTO> gravarMontagem(Long idVeiculo, List<ItemMontagemDTO> itens) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        
+        // O filtro por status protege contra outra montagem concorrente do mesmo pneu
+        int[] atualizados = jdbcTemplate.batchUpdate(
+                "UPDATE tires SET status = ?, updated_at = ?, version = version + 1 WHERE id = ? AND status = ?",
+                itens, itens.size(), (ps, item) -> {
+                    ps.setString(1, StatusPneu.EM_USO.name());
+                    ps.setTimestamp(2, agora);
+                    ps.setLong(3, item.getIdPneu());
+                    ps.setString(4, StatusPneu.DISPONIVEL.name());
+                })[0];
+        for (int linhas : atualizados) {
+            if (linhas == 0) {
+                throw new BusinessException("Pneus do lote foram alterados por outra operação, tente novamente");
+            }
+        }
+        
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO vehicle_tires (id, vehicle_id, tire_id, position, created_at, updated_at) " +
+                    "VALUES (nextval('vehicle_tires_seq'), ?, ?, ?, ?, ?)",
+                    itens, itens.size(), (ps, item) -> {
+                        ps.setLong(1, idVeiculo);
+                        ps.setLong(2, item.getIdPneu());
+                        ps.setString(3, item.getPosicao());
+                        ps.setTimestamp(4, agora);
+                        ps.setTimestamp(5, agora);
+                    });
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("Posições do lote foram ocupadas por outra operação, tente novamente");
+        }
+        
+        eventPublisher.publishEvent(PneusAlteradosEvent.de(itens.stream().map(ItemMontagemDTO::getIdPneu).toList()));
+        
+        return veiculoPneuRepository.findDTOsByVeiculoId(idVeiculo).stream()
+                .collect(Collectors.toMap(VeiculoPneuDTO::getPosicao, Function.identity()));
+    }
+    
+    // Grava o vínculo com flush imediato, traduzindo as constraints UNIQUE para a mesma mensagem das verificações
+    private VeiculoPneu salvarVinculo(VeiculoPneu veiculoPneu) {
+        try {
+            return veiculoPneuRepository.saveAndFlush(veiculoPneu);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacoesBanco.isViolacaoUnicidade(e, "uk_vehicle_tires_tire")) {
+                throw new BusinessException("Pneu já está aplicado em outro veículo", e);
+            }
+            if (ViolacoesBanco.isViolacaoUnicidade(e)) {
+                throw new BusinessException("Posição " + veiculoPneu.getPosition() + " já está ocupada no veículo", e);
+            }
+            throw e;
+        }
     }
     
     // Método auxiliar para converter VeiculoPneu para VeiculoPneuDTO
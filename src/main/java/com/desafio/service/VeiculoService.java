@@ -1,18 +1,28 @@
 package com.desafio.service;
 
+import com.desafio.dto.PaginaDTO;
+import com.desafio.dto.ResultadoUpsert;
 import com.desafio.dto.VeiculoDTO;
 import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.event.VeiculoAlteradoEvent;
 import com.desafio.exception.BusinessException;
 import com.desafio.exception.ResourceNotFoundException;
+import com.desafio.exception.ViolacoesBanco;
+import com.desafio.model.StatusVeiculo;
 import com.desafio.model.Veiculo;
-import com.desafio.model.VeiculoPneu;
 import com.desafio.repository.VeiculoRepository;
 import com.desafio.repository.VeiculoPneuRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,6 +39,9 @@ public class VeiculoService {
     
     private final VeiculoRepository veiculoRepository;
     private final VeiculoPneuRepository veiculoPneuRepository;
+    private final VeiculoCacheService veiculoCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
     
     /**
      * Cria um veículo novo.
@@ -38,21 +51,54 @@ public class VeiculoService {
      * @throws BusinessException se a placa já existe
      */
     public VeiculoDTO criarVeiculo(VeiculoDTO veiculoDTO) {
-        log.info("Criando veículo placa: {}", veiculoDTO.getPlaca());
-        
-        // Verificar se placa já existe
-        validarPlacaUnica(veiculoDTO.getPlaca());
+        log.debug("Criando veículo placa: {}", veiculoDTO.getPlaca());
         
         // Criar veículo
         Veiculo veiculo = criarEntidadeVeiculo(veiculoDTO);
         
-        // Salvar no banco
-        Veiculo savedVeiculo = veiculoRepository.save(veiculo);
-        log.info("Veículo criado! ID: {}", savedVeiculo.getId());
+        // Salvar no banco (a constraint UNIQUE valida a placa)
+        Veiculo savedVeiculo = salvarComPlacaUnica(veiculo);
+        log.debug("Veículo criado! ID: {}", savedVeiculo.getId());
         
         return converterParaDTO(savedVeiculo);
     }
     
+    /**
+     * Cria ou atualiza o veículo da placa informada (upsert idempotente).
+     * O INSERT ... ON CONFLICT DO NOTHING resolve a corrida entre reenvios simultâneos no banco:
+     * só um deles cria o veículo, os demais atualizam o veículo criado.
+     * 
+     * @param placa Placa do veículo
+     * @param veiculoDTO Dados do veículo, com a mesma placa
+     * @return Veículo gravado e se ele foi criado agora
+     * @throws BusinessException se a placa do corpo for diferente da informada
+     */
+    public ResultadoUpsert<VeiculoDTO> salvarVeiculoPorPlaca(String placa, VeiculoDTO veiculoDTO) {
+        log.debug("Gravando veículo placa: {}", placa);
+        
+        if (!placa.equals(veiculoDTO.getPlaca())) {
+            throw new BusinessException("Placa do corpo difere da informada na URL: " + veiculoDTO.getPlaca());
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        int inseridos = jdbcTemplate.update(
+            "INSERT INTO vehicles (id, placa, marca, quilometragem, status, created_at, updated_at) " +
+            "VALUES (nextval('vehicles_seq'), ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+            placa, veiculoDTO.getMarca(), veiculoDTO.getQuilometragem(),
+            (veiculoDTO.getStatus() != null ? veiculoDTO.getStatus() : StatusVeiculo.ATIVO).name(), agora, agora);
+        boolean criado = inseridos == 1;
+        
+        Veiculo veiculo = veiculoRepository.findByPlaca(placa)
+            .orElseThrow(() -> new BusinessException("Veículo foi removido por outra operação, tente novamente"));
+        if (!criado) {
+            // Reenvio com os mesmos dados não gera UPDATE (nada fica sujo)
+            atualizarDadosVeiculo(veiculo, veiculoDTO);
+            eventPublisher.publishEvent(new VeiculoAlteradoEvent(veiculo.getId()));
+        }
+        log.debug("Veículo {} com sucesso. ID: {}", criado ? "criado" : "atualizado", veiculo.getId());
+        
+        return new ResultadoUpsert<>(converterParaDTO(veiculo), criado);
+    }
+    
     /**
      * Busca um veículo pelo ID.
      * 
@@ -62,7 +108,7 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public VeiculoDTO buscarVeiculoPorId(Long id) {
-        log.info("Buscando veículo ID: {}", id);
+        log.debug("Buscando veículo ID: {}", id);
         
         Veiculo veiculo = veiculoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Veículo", "ID", id));
@@ -79,21 +125,38 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public VeiculoDTO buscarVeiculoComPneusPorId(Long id) {
-        log.info("Buscando veículo com pneus ID: {}", id);
+        return buscarVeiculoComPneusPorId(id, buscarVersaoVeiculoComPneus(id));
+    }
+    
+    /**
+     * Busca um veículo com seus pneus, já sabendo a versão atual (lida para o ETag).
+     * Passa pelo cache de veículos: só consulta o banco se o veículo não estiver em cache nessa versão.
+     * 
+     * @param id ID do veículo
+     * @param versao Versão atual, de {@link #buscarVersaoVeiculoComPneus(Long)}
+     * @return Veículo com pneus (compartilhado pelo cache, não deve ser alterado)
+     * @throws ResourceNotFoundException se não encontrar
+     */
+    @Transactional(readOnly = true)
+    public VeiculoDTO buscarVeiculoComPneusPorId(Long id, String versao) {
+        log.debug("Buscando veículo com pneus ID: {}", id);
         
-        Veiculo veiculo = veiculoRepository.findById(id)
+        return veiculoCacheService.buscar(id, versao, this::carregarVeiculoComPneus);
+    }
+    
+    /**
+     * Versão atual do veículo com seus pneus, para requisições condicionais (ETag).
+     * Muda sempre que o veículo, uma aplicação ou um pneu montado é alterado, ou quando um pneu é desmontado.
+     * 
+     * @param id ID do veículo
+     * @return Versão opaca do veículo com os pneus
+     * @throws ResourceNotFoundException se não encontrar
+     */
+    @Transactional(readOnly = true)
+    public String buscarVersaoVeiculoComPneus(Long id) {
+        return veiculoRepository.buscarVersaoComPneus(id)
+            .map(VeiculoRepository.VersaoVeiculo::getVersao)
             .orElseThrow(() -> new ResourceNotFoundException("Veículo", "ID", id));
-        
-        VeiculoDTO veiculoDTO = converterParaDTO(veiculo);
-        
-        // Buscar pneus do veículo
-        List<VeiculoPneu> veiculoPneus = veiculoPneuRepository.findByVeiculoId(id);
-        List<VeiculoPneuDTO> pneusAplicados = veiculoPneus.stream()
-                .map(this::converterVeiculoPneuParaDTO)
-                .collect(Collectors.toList());
-        
-        veiculoDTO.setPneusAplicados(pneusAplicados);
-        return veiculoDTO;
     }
     
     /**
@@ -103,7 +166,7 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public List<VeiculoDTO> buscarTodosVeiculos() {
-        log.info("Buscando todos os veículos");
+        log.debug("Buscando todos os veículos");
         
         List<Veiculo> veiculos = veiculoRepository.findAll();
         return veiculos.stream()
@@ -111,6 +174,30 @@ public class VeiculoService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Lista veículos paginados por cursor (keyset no id), com os filtros aplicados no banco.
+     * 
+     * @param after Id do último veículo da página anterior (null para a primeira página)
+     * @param limit Quantidade máxima de veículos na página
+     * @param status Filtro opcional de status
+     * @param marca Filtro opcional de marca (busca parcial case-insensitive)
+     * @return Página de VeiculoDTO com o próximo cursor
+     * @throws BusinessException se o limite estiver fora do intervalo permitido
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<VeiculoDTO> buscarVeiculosPaginados(Long after, int limit, StatusVeiculo status, String marca) {
+        // Guardado: o limite seria convertido em Integer a cada listagem mesmo com o DEBUG desligado
+        if (log.isDebugEnabled()) {
+            log.debug("Listando veículos após o cursor {} (limite {})", after, limit);
+        }
+        
+        Paginacao.validarLimite(limit);
+        
+        List<Veiculo> veiculos = veiculoRepository.buscarPagina(
+            after != null ? after : 0L, status, Paginacao.escaparLike(marca), Limit.of(limit + 1));
+        return PaginaDTO.deResultados(veiculos, limit, Veiculo::getId, this::converterParaDTO);
+    }
+    
     /**
      * Busca veículos por marca (busca parcial case-insensitive).
      * 
@@ -119,7 +206,7 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public List<VeiculoDTO> buscarVeiculosPorMarca(String marca) {
-        log.info("Buscando veículos por marca: {}", marca);
+        log.debug("Buscando veículos por marca: {}", marca);
         
         List<Veiculo> veiculos = veiculoRepository.findByMarcaContainingIgnoreCase(marca);
         return veiculos.stream()
@@ -135,7 +222,7 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public List<VeiculoDTO> buscarVeiculosPorStatus(com.desafio.model.StatusVeiculo status) {
-        log.info("Buscando veículos por status: {}", status);
+        log.debug("Buscando veículos por status: {}", status);
         
         List<Veiculo> veiculos = veiculoRepository.findByStatus(status);
         return veiculos.stream()
@@ -153,23 +240,18 @@ public class VeiculoService {
      * @throws BusinessException se a nova placa já estiver cadastrada
      */
     public VeiculoDTO atualizarVeiculo(Long id, VeiculoDTO veiculoDTO) {
-        log.info("Atualizando veículo com ID: {}", id);
+        log.debug("Atualizando veículo com ID: {}", id);
         
         Veiculo veiculo = veiculoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Veículo", "ID", id));
         
-        // Verificar se placa mudou e se já existe
-        if (!veiculo.getPlaca().equals(veiculoDTO.getPlaca()) && 
-            veiculoRepository.existsByPlaca(veiculoDTO.getPlaca())) {
-            throw new BusinessException("Placa já cadastrada: " + veiculoDTO.getPlaca());
-        }
-        
         // Atualizar dados
         atualizarDadosVeiculo(veiculo, veiculoDTO);
         
-        // Salvar no banco
-        Veiculo savedVeiculo = veiculoRepository.save(veiculo);
-        log.info("Veículo atualizado com sucesso. ID: {}", savedVeiculo.getId());
+        // Salvar no banco (a constraint UNIQUE valida uma nova placa)
+        Veiculo savedVeiculo = salvarComPlacaUnica(veiculo);
+        eventPublisher.publishEvent(new VeiculoAlteradoEvent(id));
+        log.debug("Veículo atualizado com sucesso. ID: {}", savedVeiculo.getId());
         
         return converterParaDTO(savedVeiculo);
     }
@@ -182,20 +264,20 @@ public class VeiculoService {
      * @throws BusinessException se o veículo tiver pneus aplicados
      */
     public void deletarVeiculo(Long id) {
-        log.info("Deletando veículo com ID: {}", id);
+        log.debug("Deletando veículo com ID: {}", id);
         
         if (!veiculoRepository.existsById(id)) {
             throw new ResourceNotFoundException("Veículo", "ID", id);
         }
         
         // Verificar se tem pneus aplicados
-        List<VeiculoPneu> veiculoPneus = veiculoPneuRepository.findByVeiculoId(id);
-        if (!veiculoPneus.isEmpty()) {
+        if (veiculoPneuRepository.existsByVeiculoId(id)) {
             throw new BusinessException("Não é possível deletar veículo com pneus aplicados");
         }
         
         veiculoRepository.deleteById(id);
-        log.info("Veículo deletado com sucesso. ID: {}", id);
+        eventPublisher.publishEvent(new VeiculoAlteradoEvent(id));
+        log.debug("Veículo deletado com sucesso. ID: {}", id);
     }
     
     /**
@@ -207,7 +289,7 @@ public class VeiculoService {
      */
     @Transactional(readOnly = true)
     public VeiculoDTO buscarVeiculoPorPlaca(String placa) {
-        log.info("Buscando veículo por placa: {}", placa);
+        log.debug("Buscando veículo por placa: {}", placa);
         
         Veiculo veiculo = veiculoRepository.findByPlaca(placa)
             .orElseThrow(() -> new ResourceNotFoundException("Veículo", "placa", placa));
@@ -216,17 +298,44 @@ public class VeiculoService {
     }
     
     /**
-     * Valida se a placa é única no sistema.
+     * Grava o veículo com flush imediato, para a constraint UNIQUE da placa ser a validação.
+     * Evita a consulta prévia e não tem janela de corrida entre verificar e inserir.
      * 
-     * @param placa Placa a ser validada
+     * @param veiculo Entidade a ser gravada
+     * @return Entidade gravada
      * @throws BusinessException se a placa já estiver cadastrada
      */
-    private void validarPlacaUnica(String placa) {
-        if (veiculoRepository.existsByPlaca(placa)) {
-            throw new BusinessException("Placa já cadastrada: " + placa);
+    private Veiculo salvarComPlacaUnica(Veiculo veiculo) {
+        try {
+            return veiculoRepository.saveAndFlush(veiculo);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacoesBanco.isViolacaoUnicidade(e)) {
+                throw new BusinessException("Placa já cadastrada: " + veiculo.getPlaca(), e);
+            }
+            throw e;
         }
     }
     
+    /**
+     * Monta o veículo com os pneus a partir do banco (carga do cache de veículos).
+     * 
+     * @param id ID do veículo
+     * @return Veículo com pneus
+     * @throws ResourceNotFoundException se não encontrar
+     */
+    private VeiculoDTO carregarVeiculoComPneus(Long id) {
+        Veiculo veiculo = veiculoRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Veículo", "ID", id));
+        
+        VeiculoDTO veiculoDTO = converterParaDTO(veiculo);
+        
+        // Buscar pneus do veículo (projeção única, já com os dados de cada pneu)
+        List<VeiculoPneuDTO> pneusAplicados = veiculoPneuRepository.findDTOsByVeiculoId(id);
+        
+        veiculoDTO.setPneusAplicados(List.copyOf(pneusAplicados));
+        return veiculoDTO;
+    }
+    
     /**
      * Atualiza os dados de um veículo existente.
      * 
@@ -259,11 +368,12 @@ public class VeiculoService {
     
     /**
      * Converte uma entidade Veiculo para DTO.
+     * Visível no pacote para os benchmarks JMH.
      * 
      * @param veiculo Entidade a ser convertida
      * @return VeiculoDTO com os dados convertidos
      */
-    private VeiculoDTO converterParaDTO(Veiculo veiculo) {
+    VeiculoDTO converterParaDTO(Veiculo veiculo) {
         return new VeiculoDTO(
             veiculo.getId(),
             veiculo.getPlaca(),
@@ -274,24 +384,4 @@ public class VeiculoService {
             veiculo.getUpdatedAt()
         );
     }
-    
-    /**
-     * Converte uma entidade VeiculoPneu para DTO.
-     * 
-     * @param veiculoPneu Entidade a ser convertida
-     * @return VeiculoPneuDTO com os dados convertidos
-     */
-    private VeiculoPneuDTO converterVeiculoPneuParaDTO(VeiculoPneu veiculoPneu) {
-        return new VeiculoPneuDTO(
-            veiculoPneu.getId(),
-            veiculoPneu.getVeiculo().getId(),
-            veiculoPneu.getPneu().getId(),
-            veiculoPneu.getPosition(),
-            veiculoPneu.getPneu().getNumeroFogo(),
-            veiculoPneu.getPneu().getMarca(),
-            veiculoPneu.getPneu().getPressaoAtual(),
-            veiculoPneu.getCreatedAt(),
-            veiculoPneu.getUpdatedAt()
-        );
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+-- Respostas guardadas por Idempotency-Key (armazenamento em banco, idempotencia.armazenamento=banco)
+-- Linhas com status nulo estão em processamento; as expiradas são removidas periodicamente.
+
+CREATE TABLE idempotency_keys (
+    chave VARCHAR(400) PRIMARY KEY,
+    impressao VARCHAR(64) NOT NULL,
+    status INTEGER,
+    headers VARCHAR(2000),
+    corpo BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
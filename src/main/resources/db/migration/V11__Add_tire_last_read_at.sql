@@ -0,0 +1,2 @@
+-- Data da leitura que definiu a pressão atual: leituras atrasadas não sobrescrevem uma mais recente
+ALTER TABLE tires ADD COLUMN last_read_at TIMESTAMP;
@@ -0,0 +1,4 @@
+-- Versão dos tokens e flag de ativo para autenticação JWT sem consulta ao banco
+
+ALTER TABLE usuarios ADD COLUMN versao_token INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE usuarios ADD COLUMN ativo BOOLEAN NOT NULL DEFAULT TRUE;
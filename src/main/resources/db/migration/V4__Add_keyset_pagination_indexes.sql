@@ -0,0 +1,8 @@
+-- Índices para paginação por cursor (keyset em id) filtrando por status
+
+-- Substituem os índices simples de status: o prefixo (status) continua atendendo as buscas por status
+CREATE INDEX idx_vehicles_status_id ON vehicles(status, id);
+CREATE INDEX idx_tires_status_id ON tires(status, id);
+
+DROP INDEX IF EXISTS idx_vehicles_status;
+DROP INDEX IF EXISTS idx_tires_status;
@@ -0,0 +1,24 @@
+-- Sequências com incremento 50 para geração de ids em bloco (otimizador pooled-lo do Hibernate)
+-- Com IDENTITY o Hibernate executa cada INSERT na hora e não consegue agrupar em batch.
+-- O default da coluna também passa a usar a nova sequência, então INSERTs fora do Hibernate
+-- continuam funcionando: cada nextval reserva um bloco que não colide com os do Hibernate.
+
+CREATE SEQUENCE vehicles_seq INCREMENT BY 50 OWNED BY vehicles.id;
+SELECT setval('vehicles_seq', COALESCE(MAX(id), 0) + 1, false) FROM vehicles;
+ALTER TABLE vehicles ALTER COLUMN id SET DEFAULT nextval('vehicles_seq');
+DROP SEQUENCE IF EXISTS vehicles_id_seq;
+
+CREATE SEQUENCE tires_seq INCREMENT BY 50 OWNED BY tires.id;
+SELECT setval('tires_seq', COALESCE(MAX(id), 0) + 1, false) FROM tires;
+ALTER TABLE tires ALTER COLUMN id SET DEFAULT nextval('tires_seq');
+DROP SEQUENCE IF EXISTS tires_id_seq;
+
+CREATE SEQUENCE vehicle_tires_seq INCREMENT BY 50 OWNED BY vehicle_tires.id;
+SELECT setval('vehicle_tires_seq', COALESCE(MAX(id), 0) + 1, false) FROM vehicle_tires;
+ALTER TABLE vehicle_tires ALTER COLUMN id SET DEFAULT nextval('vehicle_tires_seq');
+DROP SEQUENCE IF EXISTS vehicle_tires_id_seq;
+
+CREATE SEQUENCE usuarios_seq INCREMENT BY 50 OWNED BY usuarios.id;
+SELECT setval('usuarios_seq', COALESCE(MAX(id), 0) + 1, false) FROM usuarios;
+ALTER TABLE usuarios ALTER COLUMN id SET DEFAULT nextval('usuarios_seq');
+DROP SEQUENCE IF EXISTS usuarios_id_seq;
@@ -0,0 +1,35 @@
+-- Histórico de leituras de pressão dos pneus (série temporal, somente inserção)
+-- Particionado por mês em read_at: consultas por janela de tempo leem só as partições
+-- envolvidas e a retenção remove partições inteiras em vez de executar DELETEs.
+-- Sem FK para tires: remover um pneu não deve varrer o histórico inteiro.
+
+CREATE SEQUENCE tire_pressure_readings_seq INCREMENT BY 50;
+
+CREATE TABLE tire_pressure_readings (
+    id BIGINT NOT NULL DEFAULT nextval('tire_pressure_readings_seq'),
+    tire_id BIGINT NOT NULL,
+    pressao DOUBLE PRECISION NOT NULL,
+    read_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, read_at)
+) PARTITION BY RANGE (read_at);
+
+CREATE INDEX idx_tire_pressure_readings_tire_read_at ON tire_pressure_readings(tire_id, read_at);
+
+-- Recebe leituras fora das partições mensais (relógio de sensor muito atrasado ou adiantado)
+CREATE TABLE tire_pressure_readings_default PARTITION OF tire_pressure_readings DEFAULT;
+
+-- Partições do mês atual e dos próximos; as seguintes são criadas pelo job de manutenção
+DO $$
+DECLARE
+    inicio DATE := date_trunc('month', CURRENT_DATE);
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF tire_pressure_readings FOR VALUES FROM (%L) TO (%L)',
+            'tire_pressure_readings_p' || to_char(inicio + make_interval(months => i), 'YYYYMM'),
+            inicio + make_interval(months => i),
+            inicio + make_interval(months => i + 1)
+        );
+    END LOOP;
+END $$;
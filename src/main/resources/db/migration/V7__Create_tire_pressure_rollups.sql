@@ -0,0 +1,18 @@
+-- Agregados de pressão por pneu em buckets de minuto, hora e dia
+-- Atualizados de forma incremental (MERGE) a partir das leituras recebidas;
+-- soma e quantidade permitem recompor a média ao combinar buckets ou pneus.
+
+CREATE TABLE tire_pressure_rollups (
+    tire_id BIGINT NOT NULL,
+    granularidade VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    leituras BIGINT NOT NULL,
+    soma DOUBLE PRECISION NOT NULL,
+    minimo DOUBLE PRECISION NOT NULL,
+    maximo DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tire_id, granularidade, bucket_start)
+);
+
+-- Consultas por veículo filtram granularidade e janela e juntam pelos pneus montados
+CREATE INDEX idx_tire_pressure_rollups_granularidade_bucket ON tire_pressure_rollups(granularidade, bucket_start);
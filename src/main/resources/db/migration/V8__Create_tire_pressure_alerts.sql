@@ -0,0 +1,30 @@
+-- Regras de alerta de pressão baixa e transições de alarme dos pneus
+-- Uma regra pode restringir marca, veículo e posição; campos nulos valem para qualquer valor.
+-- Vale a regra mais específica que casar com o pneu; sem regra, o limite padrão da aplicação.
+
+CREATE SEQUENCE tire_pressure_alert_rules_seq INCREMENT BY 50;
+
+CREATE TABLE tire_pressure_alert_rules (
+    id BIGINT PRIMARY KEY DEFAULT nextval('tire_pressure_alert_rules_seq'),
+    marca VARCHAR(100),
+    vehicle_id BIGINT REFERENCES vehicles(id) ON DELETE CASCADE,
+    position VARCHAR(20),
+    limite_minimo DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Entrada e saída de alarme (somente inserção); sem FK para tires, como o histórico de leituras
+CREATE SEQUENCE tire_pressure_alert_transitions_seq INCREMENT BY 50;
+
+CREATE TABLE tire_pressure_alert_transitions (
+    id BIGINT PRIMARY KEY DEFAULT nextval('tire_pressure_alert_transitions_seq'),
+    tire_id BIGINT NOT NULL,
+    tipo VARCHAR(10) NOT NULL,
+    pressao DOUBLE PRECISION NOT NULL,
+    limite_minimo DOUBLE PRECISION NOT NULL,
+    rule_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_tire_pressure_alert_transitions_tire ON tire_pressure_alert_transitions(tire_id, created_at);
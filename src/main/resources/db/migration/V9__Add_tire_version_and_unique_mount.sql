@@ -0,0 +1,25 @@
+-- Um pneu só pode estar montado em um veículo, garantido pelo banco (corrida entre montagens simultâneas)
+-- Vínculos duplicados antigos são removidos antes, mantendo a montagem mais antiga de cada pneu.
+DELETE FROM vehicle_tires vt
+WHERE EXISTS (
+    SELECT 1 FROM vehicle_tires anterior
+    WHERE anterior.tire_id = vt.tire_id AND anterior.id < vt.id
+);
+
+-- O status dos pneus é recalculado a partir dos vínculos que sobraram: em uso se e somente se montado.
+-- Cobre também status já divergentes antes desta migração (perdidos na mesma corrida).
+UPDATE tires t
+SET status = CASE
+        WHEN EXISTS (SELECT 1 FROM vehicle_tires vt WHERE vt.tire_id = t.id) THEN 'EM_USO'
+        ELSE 'DISPONIVEL'
+    END,
+    updated_at = CURRENT_TIMESTAMP
+WHERE t.status <> CASE
+        WHEN EXISTS (SELECT 1 FROM vehicle_tires vt WHERE vt.tire_id = t.id) THEN 'EM_USO'
+        ELSE 'DISPONIVEL'
+    END;
+
+ALTER TABLE vehicle_tires ADD CONSTRAINT uk_vehicle_tires_tire UNIQUE (tire_id);
+
+-- Versão para lock otimista dos pneus; UPDATEs fora do Hibernate também incrementam a versão
+ALTER TABLE tires ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,236 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.AlertaPressaoDTO;
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.dto.PneuDTO;
+import com.desafio.dto.RegraAlertaPressaoDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.RegraAlertaPressaoRepository;
+import com.desafio.repository.TransicaoAlertaPressaoRepository;
+import com.desafio.service.AlertaPressaoService;
+import com.desafio.service.PneuService;
+import com.desafio.service.RegraAlertaPressaoService;
+import com.desafio.service.TelemetriaService;
+import com.desafio.service.VeiculoPneuService;
+import com.desafio.repository.VeiculoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * O índice de alarmes é atualizado depois do commit.
+ */
+@DadosCommitadosE2E
+class AlertaPressaoE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PneuService pneuService;
+
+    @Autowired
+    private VeiculoPneuService veiculoPneuService;
+
+    @Autowired
+    private RegraAlertaPressaoService regraAlertaPressaoService;
+
+    @Autowired
+    private TelemetriaService telemetriaService;
+
+    @Autowired
+    private AlertaPressaoService alertaPressaoService;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private RegraAlertaPressaoRepository regraRepository;
+
+    @Autowired
+    private TransicaoAlertaPressaoRepository transicaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Veiculo veiculo;
+    private final List<Long> pneus = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        veiculo = veiculoRepository.save(new Veiculo("ALR1A01", "Volvo", 1000));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (VeiculoPneuDTO aplicacao : veiculoPneuService.buscarPneusDoVeiculo(veiculo.getId())) {
+            veiculoPneuService.desvincularPneuDoVeiculo(veiculo.getId(), aplicacao.getIdPneu());
+        }
+        pneus.forEach(pneuService::deletarPneu);
+        regraAlertaPressaoService.buscarTodas().forEach(regra -> regraAlertaPressaoService.deletarRegra(regra.getId()));
+        veiculoRepository.delete(veiculo);
+        aguardarReavaliacao(alertaPressaoService);
+        jdbcTemplate.update("DELETE FROM tire_pressure_alert_transitions");
+        jdbcTemplate.update("DELETE FROM tire_pressure_readings");
+    }
+
+    // A reavaliação roda na thread de alertas, depois da resposta
+    private static void aguardarReavaliacao(AlertaPressaoService servico) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (servico.getPendentes() > 0) {
+            assertTrue(System.currentTimeMillis() < limite, "Reavaliação de alertas não terminou");
+            Thread.sleep(10);
+        }
+    }
+
+    private Long criarPneu(String numeroFogo, double pressao) throws Exception {
+        String resposta = mockMvc.perform(post("/api/pneus")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PneuDTO(numeroFogo, "Alerta", pressao))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(resposta, PneuDTO.class).getId();
+        pneus.add(id);
+        return id;
+    }
+
+    private Long criarRegra(RegraAlertaPressaoDTO regra) throws Exception {
+        String resposta = mockMvc.perform(post("/api/regras-alerta-pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(regra)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(resposta, RegraAlertaPressaoDTO.class).getId();
+    }
+
+    @Test
+    void testRegraMaisEspecificaDefineOAlarme() throws Exception {
+        Long regraMarca = criarRegra(new RegraAlertaPressaoDTO("alerta", null, null, 100.0));
+        Long regraPosicao = criarRegra(new RegraAlertaPressaoDTO(null, veiculo.getId(), "DE", 80.0));
+
+        Long livre = criarPneu("ALR-001", 90.0);
+        Long montado = criarPneu("ALR-002", 90.0);
+        Long semAlarme = criarPneu("ALR-003", 105.0);
+
+        // Sem vínculo vale a regra da marca (100 PSI): os dois pneus a 90 PSI entram em alarme
+        aguardarReavaliacao(alertaPressaoService);
+        mockMvc.perform(get("/api/pneus/pressao-baixa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.idPneu == " + livre + ")].idRegra").value(contains(regraMarca.intValue())))
+                .andExpect(jsonPath("$[?(@.idPneu == " + montado + ")].limiteMinimo").value(contains(100.0)))
+                .andExpect(jsonPath("$[?(@.idPneu == " + semAlarme + ")]").value(empty()));
+
+        // Montado na posição DE do veículo vale a regra do veículo (80 PSI), mais específica
+        mockMvc.perform(post("/api/veiculos-pneus")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new VeiculoPneuDTO(veiculo.getId(), montado, "DE"))))
+                .andExpect(status().isCreated());
+
+        aguardarReavaliacao(alertaPressaoService);
+        mockMvc.perform(get("/api/pneus/pressao-baixa"))
+                .andExpect(jsonPath("$[?(@.idPneu == " + livre + ")]").value(hasSize(1)))
+                .andExpect(jsonPath("$[?(@.idPneu == " + montado + ")]").value(empty()));
+
+        mockMvc.perform(get("/api/pneus/" + montado + "/alertas-pressao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tipo").value("SAIDA"))
+                .andExpect(jsonPath("$[0].idRegra").value(regraPosicao))
+                .andExpect(jsonPath("$[1].tipo").value("ENTRADA"))
+                .andExpect(jsonPath("$[1].idRegra").value(regraMarca));
+    }
+
+    @Test
+    void testTelemetriaEAlteracaoDeRegraReavaliamAlarmes() throws Exception {
+        Long pneu = criarPneu("ALR-010", 25.0);
+
+        // Sem regras vale o limite padrão de 30 PSI
+        aguardarReavaliacao(alertaPressaoService);
+        mockMvc.perform(get("/api/pneus/pressao-baixa"))
+                .andExpect(jsonPath("$[?(@.idPneu == " + pneu + ")].limiteMinimo").value(contains(30.0)));
+
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu, 32.0, LocalDateTime.now())));
+        telemetriaService.descarregar();
+
+        aguardarReavaliacao(alertaPressaoService);
+        mockMvc.perform(get("/api/pneus/pressao-baixa"))
+                .andExpect(jsonPath("$[?(@.idPneu == " + pneu + ")]").value(empty()));
+
+        // Uma regra nova com limite maior coloca o pneu de volta em alarme sem nova leitura
+        criarRegra(new RegraAlertaPressaoDTO("Alerta", null, null, 35.0));
+
+        aguardarReavaliacao(alertaPressaoService);
+        mockMvc.perform(get("/api/pneus/pressao-baixa"))
+                .andExpect(jsonPath("$[?(@.idPneu == " + pneu + ")].pressaoAtual").value(contains(32.0)));
+
+        mockMvc.perform(get("/api/pneus/" + pneu + "/alertas-pressao"))
+                .andExpect(jsonPath("$[*].tipo").value(contains("ENTRADA", "SAIDA", "ENTRADA")));
+    }
+
+    @Test
+    void testReinicioPreservaAlarmesAbertosSemNovaTransicao() throws Exception {
+        Long pneu = criarPneu("ALR-020", 25.0);
+        aguardarReavaliacao(alertaPressaoService);
+        LocalDateTime entrada = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM tire_pressure_alert_transitions WHERE tire_id = ?", LocalDateTime.class, pneu);
+
+        // Outra instância (ou a mesma reiniciada) parte da última transição gravada
+        AlertaPressaoService reiniciado = new AlertaPressaoService(
+                pneuRepository, regraRepository, transicaoRepository, transactionManager);
+        reiniciado.inicializar();
+        aguardarReavaliacao(reiniciado);
+
+        AlertaPressaoDTO alerta = reiniciado.listarAlertas().stream()
+                .filter(a -> a.getIdPneu().equals(pneu)).findFirst().orElseThrow();
+        assertEquals(entrada, alerta.getEmAlarmeDesde());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tire_pressure_alert_transitions WHERE tire_id = ?", Integer.class, pneu));
+    }
+
+    @Test
+    void testRegraComEscopoRepetidoERejeitada() throws Exception {
+        criarRegra(new RegraAlertaPressaoDTO("Alerta", null, null, 35.0));
+
+        mockMvc.perform(post("/api/regras-alerta-pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegraAlertaPressaoDTO("ALERTA", null, null, 40.0))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/regras-alerta-pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegraAlertaPressaoDTO(null, 999999L, null, 40.0))))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,112 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.TelemetriaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * O cache de segundo nível só é preenchido com dados commitados.
+ */
+@DadosCommitadosE2E
+class CacheSegundoNivelE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private TelemetriaService telemetriaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Veiculo veiculo;
+    private Pneu pneu;
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        veiculo = veiculoRepository.save(new Veiculo("CSN1A01", "Volvo", 1000));
+        pneu = pneuRepository.save(new Pneu("CSN-001", "Michelin", 110.0));
+
+        entityManagerFactory.getCache().evictAll();
+        estatisticas = EstatisticasHibernate.estatisticasZeradas(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pneuRepository.deleteById(pneu.getId());
+        veiculoRepository.deleteById(veiculo.getId());
+        jdbcTemplate.update("DELETE FROM tire_pressure_readings");
+    }
+
+    @Test
+    void testBuscasRepetidasPorNaturalIdNaoConsultamOBanco() throws Exception {
+        // Primeira busca carrega o que ainda não estiver em cache
+        assertTrue(veiculoRepository.findByPlaca("CSN1A01").isPresent());
+        long consultasIniciais = estatisticas.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(veiculo.getId(), veiculoRepository.findByPlaca("CSN1A01").orElseThrow().getId());
+            assertTrue(veiculoRepository.existsByPlaca("CSN1A01"));
+        }
+        assertEquals(consultasIniciais, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getNaturalIdCacheHitCount() >= 10);
+
+        // As estatísticas do endpoint são acumuladas desde a inicialização
+        mockMvc.perform(get("/api/cache/segundo-nivel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['veiculos-placa'].acertos").value(greaterThanOrEqualTo(10)))
+                .andExpect(jsonPath("$.veiculos.tamanho").value(1))
+                .andExpect(jsonPath("$.pneus").doesNotExist());
+    }
+
+    @Test
+    void testPneuAlteradoViaJdbcEhLidoDoBanco() throws Exception {
+        assertEquals(110.0, pneuRepository.findById(pneu.getId()).orElseThrow().getPressaoAtual());
+        String etag = mockMvc.perform(get("/api/pneus/{id}", pneu.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // A telemetria grava a pressão com UPDATE JDBC, fora do Hibernate
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu.getId(), 87.0, LocalDateTime.now())));
+        telemetriaService.descarregar();
+
+        assertEquals(87.0, pneuRepository.findById(pneu.getId()).orElseThrow().getPressaoAtual());
+        assertEquals(0, estatisticas.getSecondLevelCacheHitCount());
+        mockMvc.perform(get("/api/pneus/{id}", pneu.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pressaoAtual").value(87.0));
+    }
+}
@@ -0,0 +1,155 @@
+package com.desafio.e2e;
+
+import com.desafio.constant.ApiConstants;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.ComandosBancoFilter;
+import com.desafio.service.MedicaoComandosBanco;
+import com.desafio.service.VeiculoPneuService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Com o ComandosBancoFilter na cadeia, qualquer requisição acima do orçamento de comandos
+ * do perfil de teste (instrumentacao.db.max-comandos) falha o teste.
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+class ComandosBancoE2ETest {
+
+    private static final List<String> POSICOES = List.of("DE", "DD", "TE1", "TD1", "TEI1", "TDI1");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ComandosBancoFilter comandosBancoFilter;
+
+    @Autowired
+    private MedicaoComandosBanco medicaoComandosBanco;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private VeiculoPneuService veiculoPneuService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(comandosBancoFilter)
+                .build();
+    }
+
+    @Test
+    void testHeadersComComandosETempoDeBanco() throws Exception {
+        Veiculo veiculo = veiculoComPneus("CMD1A01", 2);
+
+        MockHttpServletResponse resposta = mockMvc.perform(get("/api/veiculos/" + veiculo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ApiConstants.DB_STATEMENTS_HEADER))
+                .andExpect(header().exists(ApiConstants.DB_TIME_HEADER))
+                .andReturn().getResponse();
+
+        assertTrue(comandos(resposta) > 0);
+        assertTrue(Double.parseDouble(resposta.getHeader(ApiConstants.DB_TIME_HEADER)) >= 0);
+
+        // Resposta de erro também é medida
+        mockMvc.perform(get("/api/pneus/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(ApiConstants.DB_STATEMENTS_HEADER));
+    }
+
+    @Test
+    void testComandosNaoCrescemComOsPneusDoVeiculo() throws Exception {
+        Veiculo comUmPneu = veiculoComPneus("CMD1A02", 1);
+        Veiculo comSeisPneus = veiculoComPneus("CMD1A03", POSICOES.size());
+
+        int comandosUmPneu = comandos(mockMvc.perform(get("/api/veiculos/" + comUmPneu.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse());
+        int comandosSeisPneus = comandos(mockMvc.perform(get("/api/veiculos/" + comSeisPneus.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pneusAplicados.length()").value(POSICOES.size()))
+                .andReturn().getResponse());
+
+        assertEquals(comandosUmPneu, comandosSeisPneus);
+    }
+
+    @Test
+    void testListagensDentroDoOrcamento() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            veiculoComPneus("CMD2A0" + i, 2);
+        }
+
+        // Acima do orçamento o próprio filtro faz a requisição falhar
+        mockMvc.perform(get("/api/veiculos").param("limit", "100"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/pneus").param("limit", "100"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRequisicaoAcimaDoOrcamentoFalha() throws Exception {
+        // Veículos diferentes: a segunda leitura do mesmo veículo viria do cache
+        Veiculo veiculo = veiculoComPneus("CMD1A04", 1);
+        Veiculo outro = veiculoComPneus("CMD1A05", 1);
+        ComandosBancoFilter orcamentoZero = new ComandosBancoFilter(
+                medicaoComandosBanco, new SimpleMeterRegistry(), true, 0, true);
+        ComandosBancoFilter orcamentoUm = new ComandosBancoFilter(
+                medicaoComandosBanco, new SimpleMeterRegistry(), true, 1, true);
+
+        MockMvc semOrcamento = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(orcamentoZero)
+                .build();
+        int comandos = comandos(semOrcamento.perform(get("/api/veiculos/" + veiculo.getId()))
+                .andReturn().getResponse());
+        assertTrue(comandos > 1);
+
+        MockMvc comOrcamento = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(orcamentoUm)
+                .build();
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> comOrcamento.perform(get("/api/veiculos/" + outro.getId())));
+        assertTrue(erro.getMessage().contains("/api/veiculos/{id}"));
+    }
+
+    private Veiculo veiculoComPneus(String placa, int pneus) {
+        Veiculo veiculo = veiculoRepository.saveAndFlush(new Veiculo(placa, "Volvo", 1000));
+        for (int i = 0; i < pneus; i++) {
+            Pneu pneu = pneuRepository.saveAndFlush(new Pneu(placa + "-" + i, "Michelin", 110.0));
+            veiculoPneuService.vincularPneuAoVeiculo(new VeiculoPneuDTO(veiculo.getId(), pneu.getId(), POSICOES.get(i)));
+        }
+        return veiculo;
+    }
+
+    private static int comandos(MockHttpServletResponse resposta) {
+        return Integer.parseInt(resposta.getHeader(ApiConstants.DB_STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,23 @@
+package com.desafio.e2e;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Testes E2E cujo comportamento só aparece depois do commit (listeners pós-commit, outras threads,
+ * transações próprias). Não usam @Transactional: os dados são commitados de verdade e cada teste
+ * remove o que criou no @AfterEach.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@interface DadosCommitadosE2E {
+}
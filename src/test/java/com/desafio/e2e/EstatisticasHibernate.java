@@ -0,0 +1,27 @@
+package com.desafio.e2e;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Estatísticas do Hibernate para os testes que contam consultas.
+ */
+final class EstatisticasHibernate {
+
+    private EstatisticasHibernate() {
+    }
+
+    /**
+     * Liga as estatísticas do Hibernate e zera as contagens acumuladas.
+     *
+     * @param entityManagerFactory Fábrica da aplicação
+     * @return Estatísticas contando a partir de agora
+     */
+    static Statistics estatisticasZeradas(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        return estatisticas;
+    }
+}
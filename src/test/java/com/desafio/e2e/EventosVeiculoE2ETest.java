@@ -0,0 +1,118 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.PneuDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.EventosVeiculoService;
+import com.desafio.service.PneuService;
+import com.desafio.service.VeiculoPneuService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Os eventos saem depois do commit e são enviados por outra thread, então o conteúdo é aguardado.
+ */
+@DadosCommitadosE2E
+class EventosVeiculoE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PneuService pneuService;
+
+    @Autowired
+    private VeiculoPneuService veiculoPneuService;
+
+    @Autowired
+    private EventosVeiculoService eventosVeiculoService;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private Veiculo veiculo;
+    private PneuDTO pneu;
+    private MvcResult assinatura;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        veiculo = veiculoRepository.save(new Veiculo("SSE1A23", "Scania", 5000));
+        pneu = pneuService.criarPneu(new PneuDTO("SSE-001", "Pirelli", 110.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (assinatura != null) {
+            assinatura.getRequest().getAsyncContext().complete();
+        }
+        if (veiculoPneuService.verificarPosicaoOcupada(veiculo.getId(), "DE")) {
+            veiculoPneuService.desvincularPneuDoVeiculo(veiculo.getId(), pneu.getId());
+        }
+        pneuService.deletarPneu(pneu.getId());
+        veiculoRepository.delete(veiculo);
+        jdbcTemplate.update("DELETE FROM tire_pressure_readings");
+    }
+
+    private String aguardarConteudo(String esperado) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String conteudo = assinatura.getResponse().getContentAsString();
+        while (!conteudo.contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = assinatura.getResponse().getContentAsString();
+        }
+        assertTrue(conteudo.contains(esperado), "Evento não recebido: " + esperado + "\n" + conteudo);
+        return conteudo;
+    }
+
+    @Test
+    void testAssinanteRecebeVeiculoEAlteracoesDosPneus() throws Exception {
+        veiculoPneuService.vincularPneuAoVeiculo(new VeiculoPneuDTO(veiculo.getId(), pneu.getId(), "DE"));
+
+        assinatura = mockMvc.perform(get("/api/veiculos/" + veiculo.getId() + "/eventos")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, eventosVeiculoService.getAssinantes());
+
+        // Estado inicial: o veículo com os pneus
+        aguardarConteudo("event:veiculo\ndata:{\"id\":" + veiculo.getId());
+
+        pneuService.atualizarPressaoPneu(pneu.getId(), 87.5);
+        aguardarConteudo("\"pressaoAtual\":87.5");
+
+        veiculoPneuService.desvincularPneuDoVeiculo(veiculo.getId(), pneu.getId());
+        aguardarConteudo("event:pneu-removido");
+
+        eventosVeiculoService.enviarHeartbeat();
+        aguardarConteudo(":heartbeat");
+
+        assinatura.getRequest().getAsyncContext().complete();
+        assinatura = null;
+        assertEquals(0, eventosVeiculoService.getAssinantes());
+    }
+
+    @Test
+    void testAssinarVeiculoInexistente() throws Exception {
+        mockMvc.perform(get("/api/veiculos/999999/eventos").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+        assertEquals(0, eventosVeiculoService.getAssinantes());
+    }
+}
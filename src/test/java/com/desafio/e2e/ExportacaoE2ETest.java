@@ -0,0 +1,116 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.model.Pneu;
+import com.desafio.repository.PneuRepository;
+import com.desafio.service.ExportacaoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A exportação lê por cursor em uma transação própria, depois que a requisição já retornou.
+ */
+@DadosCommitadosE2E
+class ExportacaoE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    private MockMvc mockMvc;
+    private List<Pneu> pneus;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        pneus = pneuRepository.saveAll(List.of(
+            new Pneu("EXP-001", "Michelin", 32.0),
+            new Pneu("EXP-002", "Marca, \"Especial\"", 30.5)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pneuRepository.deleteAll(pneus);
+    }
+
+    @Test
+    void testExportarPneusEmNdjson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/exportacao/pneus"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("pneus.ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(pneuRepository.count(), linhas.length);
+        assertTrue(corpo.contains("\"numeroFogo\":\"EXP-001\""));
+        for (String linha : linhas) {
+            assertTrue(linha.startsWith("{") && linha.endsWith("}"));
+        }
+    }
+
+    @Test
+    void testNdjsonNaoFazFlushPorLinha() throws Exception {
+        int[] flushes = {0};
+        ByteArrayOutputStream saida = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        long total = exportacaoService.exportarPneus(FormatoExportacao.NDJSON, saida);
+
+        // Menos de LINHAS_POR_FLUSH linhas: só o flush final
+        assertEquals(pneuRepository.count(), total);
+        assertEquals(1, flushes[0]);
+    }
+
+    @Test
+    void testExportarPneusEmCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/exportacao/pneus").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("pneus.csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\r\n");
+        assertEquals("id,numeroFogo,marca,pressaoAtual,status,dataCriacao,dataAtualizacao", linhas[0]);
+        assertEquals(pneuRepository.count() + 1, linhas.length);
+        assertTrue(corpo.contains(",EXP-002,\"Marca, \"\"Especial\"\"\",30.5,DISPONIVEL,"));
+    }
+
+    @Test
+    void testExportarComFormatoInvalido() throws Exception {
+        mockMvc.perform(get("/api/exportacao/pneus").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,253 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.PneuDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.StatusPneu;
+import com.desafio.model.Usuario;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.UsuarioRepository;
+import com.desafio.repository.VeiculoPneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.ArmazenamentoIdempotencia;
+import com.desafio.service.ArmazenamentoIdempotenciaBanco;
+import com.desafio.service.ArmazenamentoIdempotenciaMemoria;
+import com.desafio.service.IdempotenciaFilter;
+import com.desafio.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+class IdempotenciaE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private IdempotenciaFilter idempotenciaFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private VeiculoPneuRepository veiculoPneuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Mesma ordem da aplicação: cadeia do Spring Security (com o JWT) e depois a idempotência
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .addFilters(idempotenciaFilter)
+                .build();
+    }
+
+    @Test
+    void testRepeticaoDeCriacaoDePneuDevolveRespostaGuardada() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        String corpo = objectMapper.writeValueAsString(novoPneu("IDEM-001"));
+        long pneusAntes = pneuRepository.count();
+
+        String primeira = mockMvc.perform(post("/api/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.HEADER_REPETIDA))
+                .andReturn().getResponse().getContentAsString();
+
+        // Sem a chave, a repetição chegaria ao serviço e falharia com número de fogo duplicado
+        String repetida = mockMvc.perform(post("/api/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(primeira, repetida);
+        assertEquals(pneusAntes + 1, pneuRepository.count());
+    }
+
+    @Test
+    void testRepeticaoDeMontagemNaoRetornaErroDeValidacao() throws Exception {
+        Veiculo veiculo = veiculoRepository.save(new Veiculo("IDM1A01", "Volvo", 1000));
+        Pneu pneu = pneuRepository.save(new Pneu("IDEM-002", "Michelin", 110.0));
+        String chave = UUID.randomUUID().toString();
+        String corpo = objectMapper.writeValueAsString(new VeiculoPneuDTO(veiculo.getId(), pneu.getId(), "DE"));
+
+        for (int tentativa = 0; tentativa < 3; tentativa++) {
+            mockMvc.perform(post("/api/veiculos-pneus")
+                    .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(corpo))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.idPneu").value(pneu.getId()));
+        }
+        assertEquals(1, veiculoPneuRepository.findByVeiculoId(veiculo.getId()).size());
+    }
+
+    @Test
+    void testMesmaChaveComOutroCorpoERejeitada() throws Exception {
+        String chave = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPneu("IDEM-003"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPneu("IDEM-004"))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+        assertTrue(pneuRepository.findByNumeroFogo("IDEM-004").isEmpty());
+    }
+
+    @Test
+    void testMesmaChaveDeUsuariosDiferentesNaoSeMistura() throws Exception {
+        String tokenA = "Bearer " + jwtService.generateToken(novoUsuario("idem-a@teste.com"));
+        String tokenB = "Bearer " + jwtService.generateToken(novoUsuario("idem-b@teste.com"));
+        String chave = UUID.randomUUID().toString();
+        String corpoA = objectMapper.writeValueAsString(novoPneu("IDEM-006"));
+
+        String respostaA = mockMvc.perform(post("/api/pneus")
+                .header("Authorization", tokenA)
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpoA))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // Com a chave de escopo anônimo, o usuário B receberia 422 por corpo diferente
+        mockMvc.perform(post("/api/pneus")
+                .header("Authorization", tokenB)
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPneu("IDEM-007"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.HEADER_REPETIDA))
+                .andExpect(jsonPath("$.numeroFogo").value("IDEM-007"));
+
+        mockMvc.perform(post("/api/pneus")
+                .header("Authorization", tokenA)
+                .header(IdempotenciaFilter.HEADER_CHAVE, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpoA))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.HEADER_REPETIDA, "true"))
+                .andExpect(content().string(respostaA));
+
+        assertTrue(pneuRepository.findByNumeroFogo("IDEM-006").isPresent());
+        assertTrue(pneuRepository.findByNumeroFogo("IDEM-007").isPresent());
+    }
+
+    @Test
+    void testImportacaoComChaveNaoEhLidaParaOBuffer() throws Exception {
+        // Filtro com limite menor que o arquivo: se lesse o corpo, responderia 413
+        IdempotenciaFilter limitePequeno = new IdempotenciaFilter(
+                new ArmazenamentoIdempotenciaMemoria(100, Duration.ofHours(1)), objectMapper, DataSize.ofBytes(16));
+        MockMvc importacao = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(limitePequeno)
+                .build();
+
+        importacao.perform(post("/api/importacao/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, UUID.randomUUID().toString())
+                .param("formato", "csv")
+                .contentType("text/csv")
+                .content("numeroFogo,marca,pressaoAtual\r\nIDEM-IMP-1,Michelin,110\r\nIDEM-IMP-2,Pirelli,105\r\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(2));
+    }
+
+    @Test
+    void testChaveVaziaERejeitada() throws Exception {
+        mockMvc.perform(post("/api/pneus")
+                .header(IdempotenciaFilter.HEADER_CHAVE, " ")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(novoPneu("IDEM-005"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testArmazenamentoEmBancoReservaConcluiELibera() {
+        ArmazenamentoIdempotencia banco = new ArmazenamentoIdempotenciaBanco(jdbcTemplate, Duration.ofHours(1));
+
+        assertNull(banco.reservar("usuario:chave-1", "abc"));
+        assertTrue(banco.reservar("usuario:chave-1", "abc").isEmProcessamento());
+
+        banco.concluir("usuario:chave-1", "abc", new ArmazenamentoIdempotencia.Resposta(
+                201, Map.of("Content-Type", "application/json"), "{\"id\":1}".getBytes()));
+        ArmazenamentoIdempotencia.Registro registro = banco.reservar("usuario:chave-1", "abc");
+        assertEquals(201, registro.resposta().status());
+        assertEquals("application/json", registro.resposta().headers().get("Content-Type"));
+        assertEquals("{\"id\":1}", new String(registro.resposta().corpo()));
+
+        // Só reservas em processamento são liberadas
+        banco.liberar("usuario:chave-1");
+        assertFalse(banco.reservar("usuario:chave-1", "abc").isEmProcessamento());
+        assertNull(banco.reservar("usuario:chave-2", "def"));
+        banco.liberar("usuario:chave-2");
+        assertNull(banco.reservar("usuario:chave-2", "def"));
+    }
+
+    private Usuario novoUsuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail(email);
+        usuario.setNome(email);
+        usuario.setSenha("senha-codificada");
+        return usuarioRepository.save(usuario);
+    }
+
+    private static PneuDTO novoPneu(String numeroFogo) {
+        PneuDTO pneu = new PneuDTO();
+        pneu.setNumeroFogo(numeroFogo);
+        pneu.setMarca("Michelin");
+        pneu.setPressaoAtual(35.0);
+        pneu.setStatus(StatusPneu.DISPONIVEL);
+        return pneu;
+    }
+}
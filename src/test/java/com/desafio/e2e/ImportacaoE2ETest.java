@@ -0,0 +1,93 @@
+package com.desafio.e2e;
+
+import com.desafio.model.Pneu;
+import com.desafio.repository.PneuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+class ImportacaoE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void testImportarPneusCsv() throws Exception {
+        pneuRepository.save(new Pneu("IMP-EXISTENTE", "Michelin", 110.0));
+
+        String csv = "numeroFogo,marca,pressaoAtual,status\r\n" +
+                "IMP-001,Michelin,110.5,DISPONIVEL\r\n" +
+                "IMP-002,\"Marca, Especial\",105\r\n" +
+                "IMP-EXISTENTE,Michelin,110\r\n" +
+                "IMP-001,Pirelli,110\r\n" +
+                "IMP-003,Pirelli,abc\r\n" +
+                "IMP-004,Pirelli,-5\r\n";
+
+        mockMvc.perform(post("/api/importacao/pneus")
+                .param("formato", "csv")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(6))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(4))
+                .andExpect(jsonPath("$.rejeicoes[?(@.linha == 4)].motivo").value("Número de fogo já cadastrado: IMP-EXISTENTE"))
+                .andExpect(jsonPath("$.rejeicoes[?(@.linha == 5)].motivo").value("Número de fogo repetido no arquivo: IMP-001"))
+                .andExpect(jsonPath("$.rejeicoes[?(@.linha == 6)].motivo").value("Pressão inválida: abc"))
+                .andExpect(jsonPath("$.rejeicoes[?(@.linha == 7)].motivo").value("Pressão deve ser positiva"));
+
+        assertTrue(pneuRepository.findByNumeroFogo("IMP-002")
+                .filter(pneu -> pneu.getMarca().equals("Marca, Especial")).isPresent());
+    }
+
+    @Test
+    void testImportarPneusNdjson() throws Exception {
+        String ndjson = "{\"numeroFogo\":\"IMP-N1\",\"marca\":\"Goodyear\",\"pressaoAtual\":100.0}\n" +
+                "{\"numeroFogo\":\"IMP-N2\",\"marca\":\"Goodyear\"}\n" +
+                "{invalido\n";
+
+        mockMvc.perform(post("/api/importacao/pneus")
+                .param("formato", "ndjson")
+                .contentType("application/x-ndjson")
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(1))
+                .andExpect(jsonPath("$.rejeitados").value(2))
+                .andExpect(jsonPath("$.rejeicoes[0].motivo").value("Pressão atual é obrigatória"));
+
+        assertTrue(pneuRepository.existsByNumeroFogo("IMP-N1"));
+    }
+
+    @Test
+    void testImportarCsvSemColunaObrigatoria() throws Exception {
+        mockMvc.perform(post("/api/importacao/pneus")
+                .contentType("text/csv")
+                .content("numeroFogo,marca\r\nIMP-X,Pirelli\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
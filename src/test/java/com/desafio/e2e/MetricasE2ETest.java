@@ -0,0 +1,72 @@
+package com.desafio.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Sem @AutoConfigureObservability os testes usam um registro em memória e não expõem o Prometheus.
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class MetricasE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void testPrometheusExpoeTimersDeControllersERepositorios() throws Exception {
+        mockMvc.perform(get("/api/veiculos"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/pneus/999999"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                // Timer por método de controller, com histograma e os buckets de SLO
+                .andExpect(content().string(containsString(
+                        "api_requisicoes_seconds_bucket{application=\"desafio-java-pleno\",class=\"com.desafio.controller.VeiculoController\"")))
+                .andExpect(content().string(containsString("method=\"buscarTodosVeiculos\"")))
+                .andExpect(content().string(containsString("le=\"0.1\"")))
+                .andExpect(content().string(containsString("method=\"buscarPneuPorId\"")))
+                // Timer por método de repositório
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("repository=\"VeiculoRepository\"")))
+                // Cache de usuários do CustomUserDetailsService
+                .andExpect(content().string(containsString("cache_gets_total{")))
+                .andExpect(content().string(containsString("cache=\"usuarios\"")))
+                // Pool de conexões e JVM
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("jvm_memory_used_bytes{")))
+                .andExpect(content().string(containsString("jvm_gc_")));
+    }
+
+    @Test
+    void testHealth() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.StatusPneu;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.VeiculoPneuService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Montagens e desmontagens disparadas em paralelo, cada uma na sua transação.
+ */
+@DadosCommitadosE2E
+class MontagemConcorrenteE2ETest {
+
+    // Cada montagem usa uma conexão, e as threads dos alertas e dos eventos usam mais uma cada:
+    // com o pool padrão de 10 conexões, 8 threads disputam as linhas sem esgotar o pool
+    private static final int THREADS = 8;
+    private static final List<String> POSICOES = List.of("DE", "DD", "TE", "TD", "TEI", "TDI", "EST");
+
+    @Autowired
+    private VeiculoPneuService veiculoPneuService;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Veiculo> veiculos;
+    private List<Pneu> pneus;
+
+    @BeforeEach
+    void setUp() {
+        veiculos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            veiculos.add(veiculoRepository.save(new Veiculo("MCC1A0" + i, "Volvo", 1000)));
+        }
+        pneus = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            pneus.add(pneuRepository.save(new Pneu(String.format("MCC-%03d", i), "Michelin", 110.0)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        MapSqlParameterSource ids = new MapSqlParameterSource()
+                .addValue("veiculos", veiculos.stream().map(Veiculo::getId).toList())
+                .addValue("pneus", pneus.stream().map(Pneu::getId).toList());
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        jdbc.update("DELETE FROM vehicle_tires WHERE vehicle_id IN (:veiculos) OR tire_id IN (:pneus)", ids);
+        jdbc.update("DELETE FROM tires WHERE id IN (:pneus)", ids);
+        jdbc.update("DELETE FROM vehicles WHERE id IN (:veiculos)", ids);
+    }
+
+    @Test
+    void testMontagensSimultaneasDoMesmoPneuMontamUmaVez() throws Exception {
+        Long idPneu = pneus.get(0).getId();
+        List<Callable<Boolean>> montagens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Veiculo veiculo = veiculos.get(i % veiculos.size());
+            String posicao = POSICOES.get(i % POSICOES.size());
+            montagens.add(() -> tentar(() -> veiculoPneuService.vincularPneuAoVeiculo(
+                    new VeiculoPneuDTO(veiculo.getId(), idPneu, posicao))));
+        }
+
+        assertEquals(1, executarEmParalelo(montagens));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicle_tires WHERE tire_id = ?", Integer.class, idPneu));
+        assertEquals(StatusPneu.EM_USO, pneuRepository.findById(idPneu).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testMontagensEDesmontagensEmParaleloMantemVinculosEStatusConsistentes() throws Exception {
+        Random random = new Random(42);
+        List<Callable<Boolean>> operacoes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Veiculo veiculo = veiculos.get(random.nextInt(veiculos.size()));
+            Pneu pneu = pneus.get(random.nextInt(pneus.size()));
+            String posicao = POSICOES.get(random.nextInt(POSICOES.size()));
+            if (random.nextInt(4) == 0) {
+                operacoes.add(() -> tentar(() -> veiculoPneuService.desvincularPneuDoVeiculo(
+                        veiculo.getId(), pneu.getId())));
+            } else {
+                operacoes.add(() -> tentar(() -> veiculoPneuService.vincularPneuAoVeiculo(
+                        new VeiculoPneuDTO(veiculo.getId(), pneu.getId(), posicao))));
+            }
+        }
+
+        assertTrue(executarEmParalelo(operacoes) > 0);
+
+        // Nenhum pneu em dois veículos e nenhuma posição com dois pneus
+        List<Long> idsPneus = pneus.stream().map(Pneu::getId).toList();
+        List<Long> idsVeiculos = veiculos.stream().map(Veiculo::getId).toList();
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource parametros = new MapSqlParameterSource("veiculos", idsVeiculos);
+        assertEquals(0, jdbc.queryForList("SELECT tire_id FROM vehicle_tires WHERE vehicle_id IN (:veiculos) " +
+                "GROUP BY tire_id HAVING COUNT(*) > 1", parametros).size());
+        assertEquals(0, jdbc.queryForList("SELECT vehicle_id, position FROM vehicle_tires " +
+                "WHERE vehicle_id IN (:veiculos) GROUP BY vehicle_id, position HAVING COUNT(*) > 1", parametros).size());
+
+        // Nenhuma atualização de status perdida: em uso se e somente se montado
+        List<Long> montados = jdbc.queryForList("SELECT tire_id FROM vehicle_tires WHERE vehicle_id IN (:veiculos)",
+                parametros, Long.class);
+        Map<Long, StatusPneu> status = pneuRepository.findAllById(idsPneus).stream()
+                .collect(Collectors.toMap(Pneu::getId, Pneu::getStatus));
+        for (Long idPneu : idsPneus) {
+            StatusPneu esperado = montados.contains(idPneu) ? StatusPneu.EM_USO : StatusPneu.DISPONIVEL;
+            assertEquals(esperado, status.get(idPneu), "Status do pneu " + idPneu);
+        }
+    }
+
+    // Executa as operações ao mesmo tempo e devolve quantas tiveram sucesso
+    private int executarEmParalelo(List<Callable<Boolean>> operacoes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (Callable<Boolean> operacao : operacoes) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return operacao.call();
+                }));
+            }
+            largada.countDown();
+
+            int sucessos = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(60, TimeUnit.SECONDS)) {
+                    sucessos++;
+                }
+            }
+            return sucessos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Regras de negócio, conflitos de versão e de constraint são resultados esperados aqui
+    private static boolean tentar(Runnable operacao) {
+        try {
+            operacao.run();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.desafio.e2e;
 
 import com.desafio.dto.PneuDTO;
+import com.desafio.model.Pneu;
 import com.desafio.model.StatusPneu;
+import com.desafio.repository.PneuRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +19,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +39,12 @@ class PneuE2ETest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -95,6 +110,28 @@ class PneuE2ETest {
                 .andExpect(jsonPath("$.marca").value("Goodyear"));
     }
 
+    @Test
+    void testBuscarPneuComETag() throws Exception {
+        Pneu pneu = pneuRepository.save(new Pneu("ETG-100", "Goodyear", 32.0));
+        entityManager.flush();
+
+        String etag = mockMvc.perform(get("/api/pneus/" + pneu.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/pneus/" + pneu.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        pneu.setPressaoAtual(28.0);
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/pneus/" + pneu.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pressaoAtual").value(28.0));
+    }
+
     @Test
     void testBuscarPneuInexistente() throws Exception {
         mockMvc.perform(get("/api/pneus/999"))
@@ -342,6 +379,52 @@ class PneuE2ETest {
                 .andExpect(jsonPath("$.marca").value("Pirelli"));
     }
 
+    @Test
+    void testCriarPneuComNumeroFogoDuplicado() throws Exception {
+        pneuRepository.saveAndFlush(new Pneu("12370", "Michelin", 110.0));
+
+        // Sem consulta prévia: a constraint UNIQUE do banco vira o mesmo 400 de antes
+        mockMvc.perform(post("/api/pneus")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PneuDTO("12370", "Pirelli", 100.0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Número de fogo já cadastrado: 12370"));
+    }
+
+    @Test
+    void testSalvarPneuPorNumeroFogoEIdempotente() throws Exception {
+        PneuDTO pneu = new PneuDTO("12371", "Goodyear", 110.0);
+
+        String criado = mockMvc.perform(put("/api/pneus/numero-fogo/12371")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pneu)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("DISPONIVEL"))
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(criado, PneuDTO.class).getId();
+
+        // Reenvio: mesmo pneu, nada duplicado
+        mockMvc.perform(put("/api/pneus/numero-fogo/12371")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pneu)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+
+        // Reenvio com dados novos atualiza o pneu existente
+        pneu.setPressaoAtual(98.0);
+        mockMvc.perform(put("/api/pneus/numero-fogo/12371")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pneu)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.pressaoAtual").value(98.0));
+
+        mockMvc.perform(put("/api/pneus/numero-fogo/OUTRO")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pneu)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testAtualizarPressaoPneu() throws Exception {
         // Criar um pneu
@@ -365,4 +448,22 @@ class PneuE2ETest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.pressaoAtual").value(35.0));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testCadastroEmMassaUsaBatchDeInsercao() {
+        List<Pneu> pneus = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            pneus.add(new Pneu("BATCH-" + i, "Continental", 110.0));
+        }
+
+        Statistics estatisticas = EstatisticasHibernate.estatisticasZeradas(entityManager.getEntityManagerFactory());
+
+        pneuRepository.saveAll(pneus);
+        entityManager.flush();
+
+        // Ids em blocos de 50 e INSERTs agrupados: poucas idas ao banco em vez de uma por pneu
+        assertEquals(120, estatisticas.getEntityInsertCount());
+        long statements = estatisticas.getPrepareStatementCount();
+        assertTrue(statements <= 10, "Statements preparados: " + statements);
+    }
+}
@@ -0,0 +1,257 @@
+package com.desafio.e2e;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.dto.LoteTelemetriaDTO;
+import com.desafio.model.Pneu;
+import com.desafio.model.Veiculo;
+import com.desafio.model.VeiculoPneu;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoPneuRepository;
+import com.desafio.repository.VeiculoRepository;
+import com.desafio.service.RollupPressaoService;
+import com.desafio.service.TelemetriaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@Transactional
+class TelemetriaE2ETest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private TelemetriaService telemetriaService;
+
+    @Autowired
+    private RollupPressaoService rollupPressaoService;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private VeiculoPneuRepository veiculoPneuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void testReceberLeiturasEGravarSomenteAMaisRecente() throws Exception {
+        Pneu pneu1 = pneuRepository.save(new Pneu("TPMS-1", "Michelin", 110.0));
+        Pneu pneu2 = pneuRepository.save(new Pneu("TPMS-2", "Michelin", 110.0));
+        pneuRepository.flush();
+
+        LocalDateTime agora = LocalDateTime.now();
+        LoteTelemetriaDTO lote = new LoteTelemetriaDTO(List.of(
+            new LeituraPressaoDTO(pneu1.getId(), null, 95.0, agora),
+            new LeituraPressaoDTO(pneu1.getId(), null, 90.0, agora.minusSeconds(5)),
+            new LeituraPressaoDTO(null, "TPMS-2", 101.5, agora)
+        ));
+
+        mockMvc.perform(post("/api/telemetria/pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.aceitas").value(3));
+
+        // Duas leituras do mesmo pneu viram um único UPDATE com a leitura mais recente
+        assertEquals(2, telemetriaService.descarregar());
+        assertEquals(0, telemetriaService.getPendentes());
+
+        String sql = "SELECT pressao_atual FROM tires WHERE id = ?";
+        assertEquals(95.0, jdbcTemplate.queryForObject(sql, Double.class, pneu1.getId()));
+        assertEquals(101.5, jdbcTemplate.queryForObject(sql, Double.class, pneu2.getId()));
+
+        // O histórico guarda todas as leituras, em ordem cronológica
+        mockMvc.perform(get("/api/pneus/" + pneu1.getId() + "/historico-pressao")
+                .param("inicio", agora.minusHours(1).toString())
+                .param("fim", agora.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].pressao").value(90.0))
+                .andExpect(jsonPath("$[1].pressao").value(95.0));
+    }
+
+    @Test
+    void testLeituraAtrasadaNaoSobrescrevePressaoMaisRecente() {
+        Pneu pneu = pneuRepository.saveAndFlush(new Pneu("TPMS-5", "Michelin", 110.0));
+        LocalDateTime agora = LocalDateTime.now();
+
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu.getId(), null, 95.0, agora)));
+        assertEquals(1, telemetriaService.descarregar());
+
+        // Leitura de antes, chegando só na descarga seguinte: vai para o histórico, mas não muda a pressão
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu.getId(), null, 80.0, agora.minusSeconds(10))));
+        assertEquals(0, telemetriaService.descarregar());
+
+        assertEquals(95.0, jdbcTemplate.queryForObject(
+                "SELECT pressao_atual FROM tires WHERE id = ?", Double.class, pneu.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tire_pressure_readings WHERE tire_id = ?", Integer.class, pneu.getId()));
+    }
+
+    @Test
+    void testHistoricoComJanelaMaiorQueOPermitido() throws Exception {
+        Pneu pneu = pneuRepository.save(new Pneu("TPMS-3", "Michelin", 110.0));
+        LocalDateTime agora = LocalDateTime.now();
+
+        mockMvc.perform(get("/api/pneus/" + pneu.getId() + "/historico-pressao")
+                .param("inicio", agora.minusDays(60).toString())
+                .param("fim", agora.toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/pneus/999999/historico-pressao"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFilaCheiaRetorna429() throws Exception {
+        // Capacidade da fila no perfil de teste é 10: com 6 pendentes, um lote de 5 não cabe
+        telemetriaService.receber(leituras(6, null));
+
+        mockMvc.perform(post("/api/telemetria/pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoteTelemetriaDTO(leituras(5, null)))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        assertEquals(6, telemetriaService.getPendentes());
+        telemetriaService.descarregar();
+    }
+
+    @Test
+    void testLoteMaiorQueAFilaRetorna400() throws Exception {
+        // Nunca caberia na fila: 429 com Retry-After faria o sensor reenviar para sempre
+        mockMvc.perform(post("/api/telemetria/pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoteTelemetriaDTO(leituras(11, null)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O lote deve ter no máximo 10 leituras"));
+
+        assertEquals(0, telemetriaService.getPendentes());
+    }
+
+    @Test
+    void testLeituraDatadaNoFuturoNaoBloqueiaAsSeguintes() {
+        Pneu pneu = pneuRepository.saveAndFlush(new Pneu("TPMS-6", "Michelin", 110.0));
+
+        // Relógio do sensor adiantado: a leitura vale o momento do recebimento
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu.getId(), null, 95.0, LocalDateTime.now().plusDays(30))));
+        assertEquals(1, telemetriaService.descarregar());
+
+        telemetriaService.receber(List.of(new LeituraPressaoDTO(pneu.getId(), null, 90.0, LocalDateTime.now().plusSeconds(1))));
+        assertEquals(1, telemetriaService.descarregar());
+
+        assertEquals(90.0, jdbcTemplate.queryForObject(
+                "SELECT pressao_atual FROM tires WHERE id = ?", Double.class, pneu.getId()));
+    }
+
+    private static List<LeituraPressaoDTO> leituras(int quantidade, LocalDateTime dataLeitura) {
+        List<LeituraPressaoDTO> leituras = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            leituras.add(new LeituraPressaoDTO(1L, null, 100.0, dataLeitura));
+        }
+        return leituras;
+    }
+
+    @Test
+    void testLeituraSemIdentificacaoDoPneu() throws Exception {
+        LoteTelemetriaDTO lote = new LoteTelemetriaDTO(List.of(new LeituraPressaoDTO(null, null, 100.0, null)));
+
+        mockMvc.perform(post("/api/telemetria/pressao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAgregadosDePressaoPorPneuEVeiculo() throws Exception {
+        Veiculo veiculo = veiculoRepository.save(new Veiculo("ROL1U23", "Volvo", 1000));
+        Pneu pneu1 = pneuRepository.save(new Pneu("ROLL-1", "Michelin", 110.0));
+        Pneu pneu2 = pneuRepository.save(new Pneu("ROLL-2", "Michelin", 110.0));
+        veiculoPneuRepository.save(new VeiculoPneu(veiculo, pneu1, "1E"));
+        veiculoPneuRepository.save(new VeiculoPneu(veiculo, pneu2, "1D"));
+        veiculoPneuRepository.flush();
+
+        LocalDateTime hora = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        rollupPressaoService.acumular(List.of(
+            new LeituraPressaoDTO(pneu1.getId(), 100.0, hora.plusMinutes(1)),
+            new LeituraPressaoDTO(pneu1.getId(), 110.0, hora.plusMinutes(2)),
+            new LeituraPressaoDTO(pneu2.getId(), 90.0, hora.plusMinutes(2))
+        ));
+        rollupPressaoService.descarregar();
+
+        // Segunda descarga no mesmo bucket soma ao que já está gravado
+        rollupPressaoService.acumular(List.of(new LeituraPressaoDTO(pneu1.getId(), 120.0, hora.plusMinutes(30))));
+        rollupPressaoService.descarregar();
+
+        mockMvc.perform(get("/api/pneus/" + pneu1.getId() + "/pressao-agregada")
+                .param("granularidade", "HORA")
+                .param("inicio", hora.minusHours(1).toString())
+                .param("fim", hora.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].leituras").value(3))
+                .andExpect(jsonPath("$[0].minimo").value(100.0))
+                .andExpect(jsonPath("$[0].media").value(110.0))
+                .andExpect(jsonPath("$[0].maximo").value(120.0));
+
+        mockMvc.perform(get("/api/pneus/" + pneu1.getId() + "/pressao-agregada")
+                .param("granularidade", "MINUTO")
+                .param("inicio", hora.toString())
+                .param("fim", hora.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/api/veiculos/" + veiculo.getId() + "/pressao-agregada")
+                .param("granularidade", "HORA")
+                .param("inicio", hora.minusHours(1).toString())
+                .param("fim", hora.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].leituras").value(4))
+                .andExpect(jsonPath("$[0].minimo").value(90.0))
+                .andExpect(jsonPath("$[0].maximo").value(120.0));
+
+        mockMvc.perform(get("/api/pneus/" + pneu1.getId() + "/pressao-agregada")
+                .param("granularidade", "MINUTO")
+                .param("inicio", hora.minusDays(2).toString())
+                .param("fim", hora.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
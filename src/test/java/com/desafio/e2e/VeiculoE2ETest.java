@@ -1,8 +1,16 @@
 package com.desafio.e2e;
 
 import com.desafio.dto.VeiculoDTO;
+import com.desafio.model.Pneu;
 import com.desafio.model.StatusVeiculo;
+import com.desafio.model.Veiculo;
+import com.desafio.model.VeiculoPneu;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoPneuRepository;
+import com.desafio.repository.VeiculoRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +23,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +39,18 @@ class VeiculoE2ETest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private VeiculoPneuRepository veiculoPneuRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -276,4 +297,176 @@ class VeiculoE2ETest {
                 .andExpect(jsonPath("$.placa").value("DEF4G57"))
                 .andExpect(jsonPath("$.marca").value("Nissan"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testSalvarVeiculoPorPlacaEIdempotente() throws Exception {
+        VeiculoDTO veiculo = new VeiculoDTO();
+        veiculo.setPlaca("UPS1A23");
+        veiculo.setMarca("Volvo");
+        veiculo.setQuilometragem(1000);
+
+        String criado = mockMvc.perform(put("/api/veiculos/placa/UPS1A23")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(veiculo)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("ATIVO"))
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(criado, VeiculoDTO.class).getId();
+
+        veiculo.setQuilometragem(1500);
+        mockMvc.perform(put("/api/veiculos/placa/UPS1A23")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(veiculo)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.quilometragem").value(1500));
+
+        // A placa repetida no POST continua sendo rejeitada, agora pela constraint UNIQUE
+        mockMvc.perform(post("/api/veiculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(veiculo)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Placa já cadastrada: UPS1A23"));
+    }
+
+    @Test
+    void testListarVeiculosPaginadoPorCursor() throws Exception {
+        String[] placas = {"PAG1A11", "PAG2B22", "PAG3C33"};
+        for (String placa : placas) {
+            VeiculoDTO veiculo = new VeiculoDTO();
+            veiculo.setPlaca(placa);
+            veiculo.setMarca("Mercedes");
+            veiculo.setQuilometragem(10000);
+            veiculo.setStatus(StatusVeiculo.ATIVO);
+
+            mockMvc.perform(post("/api/veiculos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(veiculo)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Primeira página com 2 itens deve indicar o próximo cursor
+        String cursor = mockMvc.perform(get("/api/veiculos")
+                .param("limit", "2")
+                .param("marca", "mercedes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].placa").value("PAG1A11"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(header().exists("Link"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        // Segunda página traz o restante e não tem próximo cursor
+        mockMvc.perform(get("/api/veiculos")
+                .param("limit", "2")
+                .param("marca", "mercedes")
+                .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].placa").value("PAG3C33"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        // Filtro de status aplicado no banco
+        mockMvc.perform(get("/api/veiculos")
+                .param("status", "INATIVO")
+                .param("marca", "mercedes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testFiltroDeMarcaTrataCuringasComoTexto() throws Exception {
+        VeiculoDTO veiculo = new VeiculoDTO();
+        veiculo.setPlaca("ESC1A11");
+        veiculo.setMarca("Marca_100%");
+        veiculo.setQuilometragem(10000);
+        veiculo.setStatus(StatusVeiculo.ATIVO);
+
+        mockMvc.perform(post("/api/veiculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(veiculo)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/veiculos").param("marca", "a_100%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].placa").value("ESC1A11"));
+
+        // '_' e '%' não casam com qualquer caractere
+        mockMvc.perform(get("/api/veiculos").param("marca", "Marca__"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/veiculos").param("marca", "%100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testListarVeiculosComLimiteInvalido() throws Exception {
+        mockMvc.perform(get("/api/veiculos").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBuscarVeiculoComPneusSemConsultaPorPneu() throws Exception {
+        Veiculo veiculo = veiculoRepository.save(new Veiculo("NMU1A18", "Scania", 200000));
+        for (int i = 1; i <= 18; i++) {
+            Pneu pneu = pneuRepository.save(new Pneu("NMU-" + i, "Pirelli", 110.0));
+            veiculoPneuRepository.save(new VeiculoPneu(veiculo, pneu, "P" + i));
+        }
+        // Nada pode vir do contexto de persistência do teste
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estatisticas = EstatisticasHibernate.estatisticasZeradas(entityManager.getEntityManagerFactory());
+
+        mockMvc.perform(get("/api/veiculos/" + veiculo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pneusAplicados.length()").value(18))
+                .andExpect(jsonPath("$.pneusAplicados[0].numeroFogo").value("NMU-1"))
+                .andExpect(jsonPath("$.pneusAplicados[0].marcaPneu").value("Pirelli"));
+
+        // Versão (ETag), veículo e projeção com os pneus, independente da quantidade
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void testBuscarVeiculoComETag() throws Exception {
+        Veiculo veiculo = veiculoRepository.save(new Veiculo("ETG1A23", "Scania", 200000));
+        Pneu pneu = pneuRepository.save(new Pneu("ETG-1", "Pirelli", 110.0));
+        Pneu outroPneu = pneuRepository.save(new Pneu("ETG-2", "Pirelli", 110.0));
+        veiculoPneuRepository.save(new VeiculoPneu(veiculo, pneu, "DE"));
+        VeiculoPneu aplicacao = veiculoPneuRepository.save(new VeiculoPneu(veiculo, outroPneu, "DD"));
+        entityManager.flush();
+        entityManager.clear();
+
+        String etag = mockMvc.perform(get("/api/veiculos/" + veiculo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics estatisticas = EstatisticasHibernate.estatisticasZeradas(entityManager.getEntityManagerFactory());
+
+        // Nada mudou: 304 sem corpo, com uma única consulta
+        mockMvc.perform(get("/api/veiculos/" + veiculo.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+
+        // Pressão de um pneu montado mudou: o ETag do veículo muda
+        pneuRepository.findById(pneu.getId()).orElseThrow().setPressaoAtual(95.0);
+        entityManager.flush();
+        String etagPressao = mockMvc.perform(get("/api/veiculos/" + veiculo.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pneusAplicados[0].pressaoAtual").value(95.0))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Pneu desmontado: nenhuma data muda, mas o ETag muda
+        veiculoPneuRepository.delete(aplicacao);
+        entityManager.flush();
+        mockMvc.perform(get("/api/veiculos/" + veiculo.getId()).header("If-None-Match", etagPressao))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pneusAplicados.length()").value(1));
+    }
+}
@@ -2,9 +2,15 @@ package com.desafio.e2e;
 
 import com.desafio.dto.PneuDTO;
 import com.desafio.dto.VeiculoDTO;
+import com.desafio.dto.ItemMontagemDTO;
+import com.desafio.dto.MontagemLoteDTO;
 import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.model.Pneu;
 import com.desafio.model.StatusPneu;
 import com.desafio.model.StatusVeiculo;
+import com.desafio.model.Veiculo;
+import com.desafio.repository.PneuRepository;
+import com.desafio.repository.VeiculoRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +18,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +43,15 @@ class VeiculoPneuE2ETest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PneuRepository pneuRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -495,4 +514,60 @@ class VeiculoPneuE2ETest {
                 .andExpect(jsonPath("$.pneusAplicados.length()").value(1))
                 .andExpect(jsonPath("$.pneusAplicados[0].posicao").value("A"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testMontarPneusEmLote() throws Exception {
+        Veiculo veiculo = veiculoRepository.save(new Veiculo("LOT1E23", "Volvo", 1000));
+        Pneu pneu1 = pneuRepository.save(new Pneu("LOTE-1", "Michelin", 110.0));
+        Pneu pneu2 = pneuRepository.save(new Pneu("LOTE-2", "Michelin", 110.0));
+        Pneu pneu3 = pneuRepository.save(new Pneu("LOTE-3", "Michelin", 110.0));
+
+        MontagemLoteDTO montagem = new MontagemLoteDTO(veiculo.getId(), List.of(
+            new ItemMontagemDTO(pneu1.getId(), "1E"),
+            new ItemMontagemDTO(pneu2.getId(), "1D"),
+            new ItemMontagemDTO(pneu3.getId(), "1D"),
+            new ItemMontagemDTO(999999L, "2E")
+        ));
+
+        mockMvc.perform(post("/api/veiculos-pneus/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(montagem)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.montados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(2))
+                .andExpect(jsonPath("$.resultados[0].montado").value(true))
+                .andExpect(jsonPath("$.resultados[0].aplicacao.id").exists())
+                .andExpect(jsonPath("$.resultados[0].aplicacao.numeroFogo").value("LOTE-1"))
+                .andExpect(jsonPath("$.resultados[1].montado").value(true))
+                .andExpect(jsonPath("$.resultados[2].montado").value(false))
+                .andExpect(jsonPath("$.resultados[2].motivo").value("Posição 1D informada mais de uma vez no lote"))
+                .andExpect(jsonPath("$.resultados[3].montado").value(false));
+
+        // O status foi gravado via JDBC, então é lido direto da tabela
+        String sql = "SELECT status FROM tires WHERE id = ?";
+        assertEquals("EM_USO", jdbcTemplate.queryForObject(sql, String.class, pneu1.getId()));
+        assertEquals("DISPONIVEL", jdbcTemplate.queryForObject(sql, String.class, pneu3.getId()));
+
+        // Uma segunda montagem na mesma posição é rejeitada pela consulta de posições ocupadas
+        MontagemLoteDTO repetida = new MontagemLoteDTO(veiculo.getId(), List.of(
+            new ItemMontagemDTO(pneu3.getId(), "1E")
+        ));
+
+        mockMvc.perform(post("/api/veiculos-pneus/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(repetida)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.montados").value(0))
+                .andExpect(jsonPath("$.resultados[0].motivo").value("Posição 1E já está ocupada no veículo"));
+    }
+
+    @Test
+    void testMontarPneusEmLoteVeiculoInexistente() throws Exception {
+        MontagemLoteDTO montagem = new MontagemLoteDTO(999999L, List.of(new ItemMontagemDTO(1L, "1E")));
+
+        mockMvc.perform(post("/api/veiculos-pneus/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(montagem)))
+                .andExpect(status().isNotFound());
+    }
+}
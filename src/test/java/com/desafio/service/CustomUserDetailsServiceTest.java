@@ -0,0 +1,59 @@
+package com.desafio.service;
+
+import com.desafio.model.Usuario;
+import com.desafio.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private UsuarioRepository usuarioRepository;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        service = new CustomUserDetailsService(usuarioRepository, 100, Duration.ofMinutes(5));
+
+        Usuario usuario = new Usuario();
+        usuario.setEmail("cache@teste.com");
+        when(usuarioRepository.findByEmail("cache@teste.com")).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findByEmail("inexistente@teste.com")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testUsuarioEmCacheNaoConsultaBancoNovamente() {
+        service.loadUserByUsername("cache@teste.com");
+        service.loadUserByUsername("cache@teste.com");
+        service.loadUserByUsername("cache@teste.com");
+
+        verify(usuarioRepository, times(1)).findByEmail("cache@teste.com");
+        assertEquals(2, service.getEstatisticas().hitCount());
+        assertEquals(1, service.getEstatisticas().missCount());
+    }
+
+    @Test
+    void testInvalidarForcaNovaConsulta() {
+        service.loadUserByUsername("cache@teste.com");
+        service.invalidar("cache@teste.com");
+        service.loadUserByUsername("cache@teste.com");
+
+        verify(usuarioRepository, times(2)).findByEmail("cache@teste.com");
+    }
+
+    @Test
+    void testUsuarioInexistenteNaoFicaEmCache() {
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("inexistente@teste.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("inexistente@teste.com"));
+
+        verify(usuarioRepository, times(2)).findByEmail("inexistente@teste.com");
+        assertEquals(0, service.getTamanho());
+    }
+}
@@ -0,0 +1,47 @@
+package com.desafio.service;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import com.desafio.repository.LeituraPressaoRepository;
+import com.desafio.repository.PneuRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HistoricoPressaoServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RollupPressaoService rollupPressaoService = mock(RollupPressaoService.class);
+    private final HistoricoPressaoService service = new HistoricoPressaoService(
+            mock(LeituraPressaoRepository.class), mock(PneuRepository.class), jdbcTemplate, rollupPressaoService);
+
+    @Test
+    void testAgregadosRecebemSoAsLeiturasGravadas() {
+        LeituraPressaoDTO conhecido = new LeituraPressaoDTO(1L, 100.0, LocalDateTime.now());
+        LeituraPressaoDTO inexistente = new LeituraPressaoDTO(999L, 90.0, LocalDateTime.now());
+        LeituraPressaoDTO semInformacao = new LeituraPressaoDTO(2L, 95.0, LocalDateTime.now());
+        // O INSERT ... SELECT não grava nada para o pneu inexistente
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<LeituraPressaoDTO>>any()))
+                .thenReturn(new int[][]{{1, 0, -2}});
+
+        service.registrar(List.of(conhecido, inexistente, semInformacao));
+
+        verify(rollupPressaoService).acumular(List.of(conhecido, semInformacao));
+    }
+
+    @Test
+    void testNenhumaLeituraGravadaNaoAlimentaAgregados() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<LeituraPressaoDTO>>any()))
+                .thenReturn(new int[][]{{0}});
+
+        service.registrar(List.of(new LeituraPressaoDTO(999L, 90.0, LocalDateTime.now())));
+
+        verifyNoInteractions(rollupPressaoService);
+    }
+}
@@ -0,0 +1,83 @@
+package com.desafio.service;
+
+import com.desafio.dto.FormatoExportacao;
+import com.desafio.dto.ImportacaoResultadoDTO;
+import com.desafio.model.Pneu;
+import com.desafio.repository.PneuRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportacaoServiceTest {
+
+    private static final String CSV = "numeroFogo,marca,pressaoAtual\n" +
+            "IMP-001,Michelin,110\n" +
+            "IMP-002,Michelin,110\n" +
+            "IMP-003,Michelin,110\n";
+
+    private final PneuRepository pneuRepository = mock(PneuRepository.class);
+    private final ImportacaoService service = new ImportacaoService(pneuRepository, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), mock(PlatformTransactionManager.class),
+            mock(ApplicationEventPublisher.class));
+
+    private ImportacaoResultadoDTO importar() throws Exception {
+        return service.importarPneus(FormatoExportacao.CSV, new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static DataIntegrityViolationException violacao(String sqlState) {
+        return new DataIntegrityViolationException("violação", new SQLException("violação", sqlState));
+    }
+
+    @Test
+    void testConflitoConcorrenteRejeitaSoAsLinhasEmConflito() throws Exception {
+        // A consulta do bloco não vê o IMP-002, que outro cadastro grava antes do INSERT
+        when(pneuRepository.findNumerosFogoExistentes(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("IMP-002"));
+        List<List<String>> gravacoes = new ArrayList<>();
+        AtomicLong ids = new AtomicLong();
+        when(pneuRepository.saveAll(anyIterable())).thenAnswer(invocacao -> {
+            List<Pneu> pneus = new ArrayList<>();
+            invocacao.<Iterable<Pneu>>getArgument(0).forEach(pneus::add);
+            gravacoes.add(pneus.stream().map(Pneu::getNumeroFogo).toList());
+            if (gravacoes.size() == 1) {
+                throw violacao("23505");
+            }
+            pneus.forEach(pneu -> pneu.setId(ids.incrementAndGet()));
+            return pneus;
+        });
+
+        ImportacaoResultadoDTO resultado = importar();
+
+        assertEquals(List.of(List.of("IMP-001", "IMP-002", "IMP-003"), List.of("IMP-001", "IMP-003")), gravacoes);
+        assertEquals(2, resultado.getImportados());
+        assertEquals(1, resultado.getRejeitados());
+        assertEquals(3, resultado.getRejeicoes().get(0).getLinha());
+        assertEquals("Número de fogo já cadastrado: IMP-002", resultado.getRejeicoes().get(0).getMotivo());
+    }
+
+    @Test
+    void testViolacaoQueNaoEhDeUnicidadeNaoRejeitaOBloco() {
+        when(pneuRepository.findNumerosFogoExistentes(anyCollection())).thenReturn(Set.of());
+        // 23502: not_null_violation
+        when(pneuRepository.saveAll(anyIterable())).thenThrow(violacao("23502"));
+
+        assertThrows(DataIntegrityViolationException.class, this::importar);
+        verify(pneuRepository, times(1)).findNumerosFogoExistentes(anyCollection());
+    }
+}
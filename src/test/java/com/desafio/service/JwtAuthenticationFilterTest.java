@@ -0,0 +1,119 @@
+package com.desafio.service;
+
+import com.desafio.model.Usuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private RevogacaoTokenService revogacaoTokenService;
+    private JwtAuthenticationFilter filter;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "keyId", "principal");
+        ReflectionTestUtils.setField(jwtService, "previousSecrets", "");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        jwtService.inicializarChaves();
+
+        userDetailsService = mock(UserDetailsService.class);
+        revogacaoTokenService = mock(RevogacaoTokenService.class);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, revogacaoTokenService);
+        ReflectionTestUtils.setField(filter, "statelessHabilitado", true);
+        ReflectionTestUtils.setField(filter, "verificarVersao", true);
+
+        usuario = new Usuario();
+        usuario.setEmail("stateless@teste.com");
+        usuario.setRole(Usuario.Role.ADMIN);
+        usuario.setVersaoToken(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requisicaoComToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/veiculos");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(usuario));
+        return request;
+    }
+
+    @Test
+    void testAutenticaPelasClaimsSemConsultarUsuario() throws Exception {
+        when(revogacaoTokenService.isVersaoValida("stateless@teste.com", 3)).thenReturn(true);
+
+        filter.doFilter(requisicaoComToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(autenticacao);
+        assertEquals("stateless@teste.com", autenticacao.getName());
+        assertEquals("ROLE_ADMIN", autenticacao.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testTokenComVersaoRevogadaNaoAutentica() throws Exception {
+        when(revogacaoTokenService.isVersaoValida(anyString(), any())).thenReturn(false);
+
+        filter.doFilter(requisicaoComToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testModoStatelessDesabilitadoConsultaUsuario() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessHabilitado", false);
+        when(userDetailsService.loadUserByUsername(eq("stateless@teste.com"))).thenReturn(usuario);
+
+        filter.doFilter(requisicaoComToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("stateless@teste.com");
+        verifyNoInteractions(revogacaoTokenService);
+    }
+
+    @Test
+    void testModoStatelessDesabilitadoNaoAutenticaUsuarioInativo() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessHabilitado", false);
+        MockHttpServletRequest request = requisicaoComToken();
+        usuario.setAtivo(false);
+        when(userDetailsService.loadUserByUsername(eq("stateless@teste.com"))).thenReturn(usuario);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testModoStatelessDesabilitadoNaoAutenticaTokenRevogado() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessHabilitado", false);
+        MockHttpServletRequest request = requisicaoComToken();
+        usuario.setVersaoToken(4);
+        when(userDetailsService.loadUserByUsername(eq("stateless@teste.com"))).thenReturn(usuario);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,66 @@
+package com.desafio.service;
+
+import com.desafio.model.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SEGREDO_ATUAL = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String SEGREDO_ANTIGO = "bXlfc2VjcmV0X2tleV9mb3JfaW50ZWdyYXRpb25fdGVzdF9hbmRfZGV2ZWxvcG1lbnQ=";
+
+    private JwtService criarServico(String segredo, String kid, String anteriores) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", segredo);
+        ReflectionTestUtils.setField(service, "keyId", kid);
+        ReflectionTestUtils.setField(service, "previousSecrets", anteriores);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3600000L);
+        service.inicializarChaves();
+        return service;
+    }
+
+    private Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("jwt@teste.com");
+        usuario.setRole(Usuario.Role.USER);
+        return usuario;
+    }
+
+    @Test
+    void testValidarTokenComUmUnicoParse() {
+        JwtService service = criarServico(SEGREDO_ATUAL, "k2", "");
+        Usuario usuario = usuario();
+
+        String token = service.generateToken(usuario);
+        Claims claims = service.validarEExtrairClaims(token);
+
+        assertEquals("jwt@teste.com", claims.getSubject());
+        assertTrue(service.isTokenValid(claims, usuario));
+        assertTrue(service.validateToken(token, usuario));
+    }
+
+    @Test
+    void testTokenAssinadoComChaveAnteriorContinuaValidoAposRotacao() {
+        JwtService antigo = criarServico(SEGREDO_ANTIGO, "k1", "");
+        String token = antigo.generateToken(usuario());
+
+        JwtService rotacionado = criarServico(SEGREDO_ATUAL, "k2", "k1:" + SEGREDO_ANTIGO);
+
+        assertEquals("jwt@teste.com", rotacionado.extractUsername(token));
+    }
+
+    @Test
+    void testTokenComKidDesconhecidoEhRejeitado() {
+        JwtService antigo = criarServico(SEGREDO_ANTIGO, "k1", "");
+        String token = antigo.generateToken(usuario());
+
+        JwtService semChaveAntiga = criarServico(SEGREDO_ATUAL, "k2", "");
+
+        assertThrows(JwtException.class, () -> semChaveAntiga.validarEExtrairClaims(token));
+        assertFalse(semChaveAntiga.validateToken(token, usuario()));
+    }
+}
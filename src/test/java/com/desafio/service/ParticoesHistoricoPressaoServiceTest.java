@@ -0,0 +1,88 @@
+package com.desafio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ParticoesHistoricoPressaoServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ParticoesHistoricoPressaoService service = new ParticoesHistoricoPressaoService(
+            jdbcTemplate, mock(PlatformTransactionManager.class), 3, 12);
+
+    private final String particaoAtual = "tire_pressure_readings_p"
+            + YearMonth.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
+
+    @BeforeEach
+    void configurarBanco() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+    }
+
+    @Test
+    void testFalhaAoCriarUmMesNaoImpedeOsDemaisNemARetencao() {
+        doThrow(new DataIntegrityViolationException("partition constraint violated")).when(jdbcTemplate)
+                .execute(contains(particaoAtual + " PARTITION OF"));
+
+        assertDoesNotThrow(service::manterParticoes);
+
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TABLE"));
+        verify(jdbcTemplate).queryForList(contains("pg_inherits"), eq(String.class), any(Object[].class));
+        verify(jdbcTemplate).update(contains("FROM tire_pressure_readings_default WHERE ctid"), any(Object[].class));
+    }
+
+    @Test
+    void testLeiturasDoMesNaDefaultSaoMovidasParaAParticaoNova() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(true, false);
+
+        service.manterParticoes();
+
+        InOrder ordem = inOrder(jdbcTemplate);
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE tire_pressure_readings DETACH PARTITION tire_pressure_readings_default");
+        ordem.verify(jdbcTemplate).execute(startsWith("CREATE TABLE " + particaoAtual + " PARTITION OF"));
+        ordem.verify(jdbcTemplate).update(startsWith("INSERT INTO " + particaoAtual), any(Object[].class));
+        ordem.verify(jdbcTemplate).update(startsWith("DELETE FROM tire_pressure_readings_default WHERE read_at >="),
+                any(Object[].class));
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE tire_pressure_readings ATTACH PARTITION tire_pressure_readings_default DEFAULT");
+        verify(jdbcTemplate, times(1)).execute(contains("DETACH PARTITION"));
+    }
+
+    @Test
+    void testParticaoExistenteNaoEhRecriada() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT to_regclass"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(true);
+
+        service.manterParticoes();
+
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    void testRetencaoDaDefaultApagaEmLotesAteEsvaziar() {
+        when(jdbcTemplate.update(contains("FROM tire_pressure_readings_default WHERE ctid"), any(Object[].class)))
+                .thenReturn(10_000, 10_000, 3);
+
+        service.manterParticoes();
+
+        verify(jdbcTemplate, times(3)).update(contains("FROM tire_pressure_readings_default WHERE ctid"),
+                any(Object[].class));
+    }
+}
@@ -0,0 +1,82 @@
+package com.desafio.service;
+
+import com.desafio.dto.LeituraPressaoDTO;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TelemetriaServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private TelemetriaService criarServico(int capacidade) {
+        return new TelemetriaService(jdbcTemplate, mock(NamedParameterJdbcTemplate.class),
+                mock(PlatformTransactionManager.class), mock(HistoricoPressaoService.class),
+                mock(ApplicationEventPublisher.class), capacidade, 1000, 3);
+    }
+
+    private static List<LeituraPressaoDTO> leituras(int quantidade) {
+        List<LeituraPressaoDTO> leituras = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            leituras.add(new LeituraPressaoDTO((long) i + 1, null, 100.0, LocalDateTime.now()));
+        }
+        return leituras;
+    }
+
+    @Test
+    void testFalhaNaGravacaoDevolveLeiturasParaFila() {
+        TelemetriaService service = criarServico(10);
+        doThrow(new DataAccessResourceFailureException("banco indisponível")).when(jdbcTemplate)
+                .batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<LeituraPressaoDTO>>any());
+        service.receber(leituras(3));
+
+        assertEquals(0, service.descarregar());
+        assertEquals(3, service.getPendentes());
+        assertEquals(0, service.getDescartadas());
+    }
+
+    @Test
+    void testLeiturasQueNaoCabemMaisSaoDescartadasEContadas() {
+        TelemetriaService service = criarServico(4);
+        // Enquanto a descarga falha, chegam leituras novas e ocupam parte da fila
+        doAnswer(invocacao -> {
+            service.receber(leituras(2));
+            throw new DataAccessResourceFailureException("banco indisponível");
+        }).when(jdbcTemplate)
+                .batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<LeituraPressaoDTO>>any());
+        service.receber(leituras(3));
+
+        assertEquals(0, service.descarregar());
+        assertEquals(4, service.getPendentes());
+        assertEquals(1, service.getDescartadas());
+    }
+
+    @Test
+    void testLeiturasSaoDescartadasAoEsgotarAsTentativas() {
+        TelemetriaService service = criarServico(10);
+        doThrow(new DataAccessResourceFailureException("banco indisponível")).when(jdbcTemplate)
+                .batchUpdate(anyString(), anyCollection(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<LeituraPressaoDTO>>any());
+        service.receber(leituras(3));
+
+        // max-tentativas = 3: as duas primeiras falhas devolvem as leituras, a terceira as descarta
+        service.descarregar();
+        service.descarregar();
+        assertEquals(3, service.getPendentes());
+        service.descarregar();
+        assertEquals(0, service.getPendentes());
+        assertEquals(3, service.getDescartadas());
+    }
+}
@@ -0,0 +1,125 @@
+package com.desafio.service;
+
+import com.desafio.dto.VeiculoDTO;
+import com.desafio.dto.VeiculoPneuDTO;
+import com.desafio.event.PneuDesvinculadoEvent;
+import com.desafio.event.PneusAlteradosEvent;
+import com.desafio.event.VeiculoAlteradoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VeiculoCacheServiceTest {
+
+    private VeiculoCacheService service;
+    private AtomicInteger cargas;
+    private Function<Long, VeiculoDTO> carregador;
+
+    @BeforeEach
+    void setUp() {
+        service = new VeiculoCacheService(100, Duration.ofMinutes(10));
+        cargas = new AtomicInteger();
+        // Veículo N com o pneu N * 10 montado
+        carregador = id -> {
+            cargas.incrementAndGet();
+            VeiculoDTO veiculo = new VeiculoDTO();
+            veiculo.setId(id);
+            veiculo.setPneusAplicados(List.of(new VeiculoPneuDTO(id, id * 10, "DE")));
+            return veiculo;
+        };
+    }
+
+    @Test
+    void testMesmaVersaoNaoCarregaNovamente() {
+        VeiculoDTO primeiro = service.buscar(1L, "v1", carregador);
+        VeiculoDTO segundo = service.buscar(1L, "v1", carregador);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, cargas.get());
+        assertEquals(1, service.getEstatisticas().hitCount());
+        assertEquals(1, service.getEstatisticas().missCount());
+    }
+
+    @Test
+    void testVersaoNovaRecarregaSemEvento() {
+        VeiculoDTO antigo = service.buscar(1L, "v1", carregador);
+        VeiculoDTO novo = service.buscar(1L, "v2", carregador);
+
+        assertNotSame(antigo, novo);
+        assertEquals(2, cargas.get());
+        assertEquals(1, service.getRecargasPorVersao());
+        assertSame(novo, service.buscar(1L, "v2", carregador));
+    }
+
+    @Test
+    void testEventosInvalidamOsVeiculosAfetados() {
+        service.buscar(1L, "v1", carregador);
+        service.buscar(2L, "v1", carregador);
+        service.buscar(3L, "v1", carregador);
+        service.buscar(4L, "v1", carregador);
+
+        service.aoAlterarVeiculo(new VeiculoAlteradoEvent(1L));
+        service.aoAlterarPneus(PneusAlteradosEvent.de(20L));
+        service.aoDesvincularPneu(new PneuDesvinculadoEvent(3L, 30L, "DE"));
+        assertEquals(1, service.getTamanho());
+        assertEquals(0, service.getEstatisticas().evictionCount());
+    }
+
+    @Test
+    void testPneuForaDoCacheNaoInvalidaNada() {
+        service.buscar(1L, "v1", carregador);
+
+        // Pneu de outro veículo e pneu de veículo já invalidado (índice limpo na remoção)
+        service.aoAlterarPneus(PneusAlteradosEvent.de(99L));
+        service.aoAlterarVeiculo(new VeiculoAlteradoEvent(1L));
+        service.buscar(2L, "v1", carregador);
+        service.aoAlterarPneus(PneusAlteradosEvent.de(10L));
+
+        assertEquals(1, service.getTamanho());
+        assertSame(service.buscar(2L, "v1", carregador), service.buscar(2L, "v1", carregador));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void testLeiturasSimultaneasFazemUmaCargaSo() throws Exception {
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        Function<Long, VeiculoDTO> cargaLenta = id -> {
+            try {
+                liberarCarga.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return carregador.apply(id);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<VeiculoDTO>> leituras = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                leituras.add(executor.submit(() -> service.buscar(1L, "v1", cargaLenta)));
+            }
+            Thread.sleep(100);
+            liberarCarga.countDown();
+
+            VeiculoDTO primeiro = leituras.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<VeiculoDTO> leitura : leituras) {
+                assertSame(primeiro, leitura.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cargas.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}